@@ -0,0 +1,3 @@
+#!/bin/bash
+# Roda uma vez, na criação do volume da primária: libera conexões de replicação pela rede
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,15 @@
+#!/bin/bash
+# Réplica por streaming: copia a primária com pg_basebackup (-R grava o primary_conninfo)
+# na primeira subida e, a partir daí, só inicia o postgres em modo standby
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until pg_basebackup -h db -U bruno -D "$PGDATA" -R -X stream; do
+    echo "Aguardando a primária..."
+    rm -rf "${PGDATA:?}"/*
+    sleep 2
+  done
+  chmod 0700 "$PGDATA"
+fi
+
+exec postgres
@@ -0,0 +1,85 @@
+package fiap.testesnobackend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import fiap.testesnobackend.model.Mensagem;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Cache em memória das mensagens buscadas por id, limitado por quantidade e por tempo.
+ * Guarda e devolve cópias para que nenhum chamador altere a instância compartilhada.
+ */
+@Component
+public class MensagemCache implements MeterBinder {
+
+    private final Cache<UUID, Mensagem> cache;
+
+    public MensagemCache(
+            @Value("${mensagem.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${mensagem.cache.expiracao:5m}") Duration expiracao) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Read-through: em caso de miss consulta o carregador uma única vez, mesmo com
+     * várias requisições concorrentes para o mesmo id. Ids inexistentes não são guardados.
+     */
+    public Optional<Mensagem> buscar(UUID id, Function<UUID, Optional<Mensagem>> carregador) {
+        var mensagem = cache.get(id, chave -> carregador.apply(chave)
+                .map(MensagemCache::copiar)
+                .orElse(null));
+
+        return Optional.ofNullable(mensagem).map(MensagemCache::copiar);
+    }
+
+    /**
+     * Consulta apenas o cache, sem ir ao banco em caso de miss.
+     */
+    public Optional<Mensagem> obter(UUID id) {
+        return Optional.ofNullable(cache.getIfPresent(id)).map(MensagemCache::copiar);
+    }
+
+    public void atualizar(Mensagem mensagem) {
+        cache.put(mensagem.getId(), copiar(mensagem));
+    }
+
+    public void invalidar(UUID id) {
+        cache.invalidate(id);
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    /**
+     * Acertos, faltas, despejos e tamanho do cache, com base no {@code recordStats()}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "mensagem");
+    }
+
+    private static Mensagem copiar(Mensagem mensagem) {
+        return mensagem.toBuilder().build();
+    }
+}
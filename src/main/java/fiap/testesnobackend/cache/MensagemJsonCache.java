@@ -0,0 +1,161 @@
+package fiap.testesnobackend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fiap.testesnobackend.model.Mensagem;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Corpo JSON (UTF-8) já renderizado de cada mensagem, para o GET /mensagens/{id} escrever
+ * os bytes direto na resposta sem passar de novo pelo Jackson. A entrada vale para a versão
+ * e o gostei com que foi renderizada, os mesmos campos da ETag: qualquer outro estado é
+ * renderizado de novo. O limite é em bytes, não em quantidade de mensagens.
+ * <p>
+ * Com {@code fora-do-heap} os bytes ficam em buffers diretos: um conjunto quente grande não
+ * ocupa a geração velha e o GC não o percorre. Os acertos são escritos do próprio buffer na
+ * resposta pelo {@link fiap.testesnobackend.config.ByteBufferHttpMessageConverter}, sem
+ * voltar para um array no heap.
+ */
+@Component
+public class MensagemJsonCache implements MeterBinder {
+
+    /**
+     * Custo aproximado da entrada além do corpo (chave, registro e nó do Caffeine).
+     */
+    private static final int SOBRECARGA_ENTRADA = 96;
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean foraDoHeap;
+
+    private final Cache<UUID, Renderizada> cache;
+
+    private final LongAdder acertos = new LongAdder();
+
+    private final LongAdder faltas = new LongAdder();
+
+    public MensagemJsonCache(
+            ObjectMapper objectMapper,
+            @Value("${mensagem.cache-json.tamanho-maximo-bytes:67108864}") long tamanhoMaximoBytes,
+            @Value("${mensagem.cache-json.expiracao:5m}") Duration expiracao,
+            @Value("${mensagem.cache-json.fora-do-heap:false}") boolean foraDoHeap) {
+        this.objectMapper = objectMapper;
+        this.foraDoHeap = foraDoHeap;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(tamanhoMaximoBytes)
+                .weigher((UUID id, Renderizada renderizada) -> renderizada.tamanho() + SOBRECARGA_ENTRADA)
+                .expireAfterAccess(expiracao)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Corpo da resposta, da posição atual até o limite do buffer. O buffer é uma visão
+     * própria de quem chama (posição e limite independentes), mas os bytes podem ser os
+     * guardados no cache: só podem ser lidos.
+     */
+    public ByteBuffer renderizar(Mensagem mensagem) {
+        if (mensagem.getId() == null) {
+            return ByteBuffer.wrap(serializar(mensagem));
+        }
+
+        var renderizada = cache.getIfPresent(mensagem.getId());
+        if (renderizada != null && renderizada.corresponde(mensagem)) {
+            acertos.increment();
+            return renderizada.corpo();
+        }
+
+        faltas.increment();
+        var json = serializar(mensagem);
+        cache.put(mensagem.getId(), foraDoHeap
+                ? Renderizada.emBufferDireto(mensagem, json)
+                : Renderizada.emArray(mensagem, json));
+        return ByteBuffer.wrap(json);
+    }
+
+    public void invalidar(UUID id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Mesmos nomes do CaffeineCacheMetrics (cache.gets, cache.evictions, cache.size) com
+     * {@code cache=mensagem.json}; o acerto só conta quando versão e gostei batem, por isso
+     * não vem das estatísticas do Caffeine. O total em bytes sai em cache.json.bytes.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", acertos, LongAdder::sum)
+                .tags("cache", "mensagem.json", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", faltas, LongAdder::sum)
+                .tags("cache", "mensagem.json", "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, valor -> valor.stats().evictionCount())
+                .tags("cache", "mensagem.json")
+                .register(registry);
+        Gauge.builder("cache.size", cache, Cache::estimatedSize)
+                .tags("cache", "mensagem.json")
+                .register(registry);
+        Gauge.builder("cache.json.bytes", cache, valor -> valor.policy().eviction()
+                        .map(despejo -> despejo.weightedSize().orElse(0))
+                        .orElse(0L))
+                .tags("cache", "mensagem.json", "fora.do.heap", Boolean.toString(foraDoHeap))
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private byte[] serializar(Mensagem mensagem) {
+        try {
+            return objectMapper.writeValueAsBytes(mensagem);
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new IllegalStateException("Falha ao serializar a mensagem " + mensagem.getId(), jsonProcessingException);
+        }
+    }
+
+    private record Renderizada(Long versao, int gostei, byte[] array, ByteBuffer bufferDireto) {
+
+        static Renderizada emArray(Mensagem mensagem, byte[] json) {
+            return new Renderizada(mensagem.getVersao(), mensagem.getGostei(), json, null);
+        }
+
+        static Renderizada emBufferDireto(Mensagem mensagem, byte[] json) {
+            var buffer = ByteBuffer.allocateDirect(json.length).put(json).flip();
+            return new Renderizada(mensagem.getVersao(), mensagem.getGostei(), null, buffer.asReadOnlyBuffer());
+        }
+
+        boolean corresponde(Mensagem mensagem) {
+            return gostei == mensagem.getGostei() && Objects.equals(versao, mensagem.getVersao());
+        }
+
+        int tamanho() {
+            return array != null ? array.length : bufferDireto.capacity();
+        }
+
+        /**
+         * O array vai embrulhado sem cópia; o buffer direto, duplicado: posição própria, para
+         * que respostas concorrentes não interfiram entre si.
+         */
+        ByteBuffer corpo() {
+            return array != null ? ByteBuffer.wrap(array) : bufferDireto.duplicate();
+        }
+    }
+}
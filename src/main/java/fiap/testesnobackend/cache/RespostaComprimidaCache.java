@@ -0,0 +1,53 @@
+package fiap.testesnobackend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Corpos já comprimidos das respostas mais pedidas (a primeira página do feed, por
+ * exemplo), para não comprimir os mesmos bytes a cada requisição. A chave inclui a ETag:
+ * página que mudou é outra entrada, e a antiga sai por tamanho ou expiração. Pequeno de
+ * propósito; o Caffeine mantém as chaves mais frequentes.
+ */
+@Component
+public class RespostaComprimidaCache implements MeterBinder {
+
+    private final Cache<String, byte[]> cache;
+
+    public RespostaComprimidaCache(
+            @Value("${mensagem.compressao.cache.tamanho-maximo:256}") long tamanhoMaximo,
+            @Value("${mensagem.compressao.cache.expiracao:1m}") Duration expiracao) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Em caso de miss comprime uma única vez, mesmo com várias requisições concorrentes
+     * para a mesma chave.
+     */
+    public byte[] comprimida(String chave, Supplier<byte[]> compressor) {
+        return cache.get(chave, ignorada -> compressor.get());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "mensagem.comprimida");
+    }
+}
@@ -2,6 +2,7 @@ package fiap.testesnobackend.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.filter.CharacterEncodingFilter;
 
 /**
@@ -11,6 +12,7 @@ import org.springframework.web.filter.CharacterEncodingFilter;
  */
 
 @Configuration
+@EnableScheduling
 public class ApplicationConfig {
 
     @Bean
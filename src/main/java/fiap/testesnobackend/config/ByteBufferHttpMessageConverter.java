@@ -0,0 +1,74 @@
+package fiap.testesnobackend.config;
+
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Escreve corpos já prontos em {@link ByteBuffer}, como os do MensagemJsonCache, sem
+ * copiá-los para um array. No Tomcat o buffer vai direto para o buffer de saída do
+ * conector; atrás de um wrapper (compressão, MockMvc) um buffer em array é escrito do
+ * próprio array e um direto passa por um canal sobre o stream. Só escreve: o tipo vem do
+ * ResponseEntity, e a posição do buffer recebido não é alterada.
+ */
+@Component
+@Profile("!reactive")
+public class ByteBufferHttpMessageConverter extends AbstractHttpMessageConverter<ByteBuffer> {
+
+    public ByteBufferHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ByteBuffer.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Inalcançável pelo Spring, que consulta o {@link #canRead} antes; uma chamada direta
+     * recebe a exceção que o Spring traduz em 400, e não um 500.
+     */
+    @Override
+    protected ByteBuffer readInternal(Class<? extends ByteBuffer> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ByteBuffer só é usado como corpo de resposta", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(ByteBuffer corpo, MediaType contentType) {
+        return (long) corpo.remaining();
+    }
+
+    @Override
+    protected void writeInternal(ByteBuffer corpo, HttpOutputMessage outputMessage) throws IOException {
+        var buffer = corpo.duplicate();
+        var saida = outputMessage.getBody();
+
+        if (saida instanceof CoyoteOutputStream tomcat) {
+            tomcat.write(buffer);
+        } else if (buffer.hasArray()) {
+            saida.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            Channels.newChannel(saida).write(buffer);
+        }
+    }
+}
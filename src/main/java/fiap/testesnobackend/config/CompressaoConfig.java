@@ -0,0 +1,39 @@
+package fiap.testesnobackend.config;
+
+import fiap.testesnobackend.cache.RespostaComprimidaCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Compressão das respostas de /mensagens. Fica logo depois do limite de conexões, para
+ * que nenhum outro filtro escreva no corpo depois de comprimido.
+ */
+@Configuration
+@Profile("!reactive")
+public class CompressaoConfig {
+
+    @Bean
+    public FilterRegistrationBean<CompressaoRespostaFilter> compressaoRespostaFilter(
+            RespostaComprimidaCache respostaComprimidaCache,
+            @Value("${mensagem.compressao.habilitada:true}") boolean habilitada,
+            @Value("${mensagem.compressao.tamanho-minimo:1KB}") DataSize tamanhoMinimo,
+            @Value("${mensagem.compressao.nivel:6}") int nivel) {
+        var registro = new FilterRegistrationBean<>(
+                new CompressaoRespostaFilter((int) tamanhoMinimo.toBytes(), nivel, respostaComprimidaCache));
+        registro.setEnabled(habilitada);
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registro.addUrlPatterns("/mensagens/*", "/mensagens");
+        return registro;
+    }
+}
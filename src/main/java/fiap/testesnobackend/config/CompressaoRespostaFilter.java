@@ -0,0 +1,282 @@
+package fiap.testesnobackend.config;
+
+import fiap.testesnobackend.cache.RespostaComprimidaCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Comprime as respostas de /mensagens em gzip ou deflate, conforme o Accept-Encoding,
+ * quando o corpo passa do tamanho mínimo; abaixo dele o custo de CPU não compensa os
+ * bytes economizados. Respostas de GET com ETag são comprimidas uma vez e servidas do
+ * {@link RespostaComprimidaCache} enquanto a ETag não muda.
+ * <p>
+ * O corpo comprimido é outra representação, com bytes próprios: a ETag ganha a
+ * codificação como sufixo ({@code "2-7-gzip"}). No If-None-Match o sufixo da codificação
+ * escolhida é retirado antes do controller comparar, e o 304 devolve a tag como veio.
+ * <p>
+ * O corpo é acumulado antes de comprimir, por isso a exportação, que é escrita em
+ * streaming, fica de fora.
+ */
+public class CompressaoRespostaFilter extends OncePerRequestFilter {
+
+    static final String GZIP = "gzip";
+
+    static final String DEFLATE = "deflate";
+
+    private static final List<MediaType> TIPOS_COMPRIMIVEIS = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            MediaType.valueOf("application/x-jackson-smile"),
+            MediaType.TEXT_PLAIN);
+
+    private final int tamanhoMinimo;
+
+    private final int nivel;
+
+    private final RespostaComprimidaCache respostaComprimidaCache;
+
+    public CompressaoRespostaFilter(int tamanhoMinimo, int nivel, RespostaComprimidaCache respostaComprimidaCache) {
+        this.tamanhoMinimo = tamanhoMinimo;
+        this.nivel = nivel;
+        this.respostaComprimidaCache = respostaComprimidaCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/mensagens/export");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        var codificacao = escolherCodificacao(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (codificacao == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var respostaAcumulada = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(new RequisicaoSemCodificacaoNaETag(request, codificacao), respostaAcumulada);
+
+        var etag = respostaAcumulada.getHeader(HttpHeaders.ETAG);
+        var corpo = respostaAcumulada.getContentAsByteArray();
+        if (!comprimivel(respostaAcumulada, corpo.length)) {
+            if (respostaAcumulada.getStatus() == HttpServletResponse.SC_NOT_MODIFIED
+                    && validadaComprimida(request, etag, codificacao)) {
+                response.setHeader(HttpHeaders.ETAG, etagComprimida(etag, codificacao));
+            }
+            respostaAcumulada.copyBodyToResponse();
+            return;
+        }
+
+        var chave = chaveDoCache(request, respostaAcumulada, codificacao);
+        var comprimido = chave == null
+                ? comprimir(codificacao, corpo, nivel)
+                : respostaComprimidaCache.comprimida(chave, () -> comprimir(codificacao, corpo, nivel));
+
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, etagComprimida(etag, codificacao));
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, codificacao);
+        response.setContentLength(comprimido.length);
+        response.getOutputStream().write(comprimido);
+    }
+
+    /**
+     * gzip ou deflate, o de maior qualidade no Accept-Encoding; no empate, gzip. O curinga
+     * vale para a codificação que não aparece nominalmente. {@code null} quando nenhuma
+     * das duas é aceita.
+     */
+    static String escolherCodificacao(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+
+        Double qualidadeGzip = null;
+        Double qualidadeDeflate = null;
+        var qualidadeCuringa = 0.0;
+        for (var item : acceptEncoding.split(",")) {
+            var partes = item.split(";");
+            var qualidade = qualidade(partes);
+            switch (partes[0].trim().toLowerCase(Locale.ROOT)) {
+                case GZIP -> qualidadeGzip = qualidade;
+                case DEFLATE -> qualidadeDeflate = qualidade;
+                case "*" -> qualidadeCuringa = qualidade;
+                default -> {
+                    // identity, br e outras: não produzidas aqui
+                }
+            }
+        }
+
+        var gzip = qualidadeGzip != null ? qualidadeGzip : qualidadeCuringa;
+        var deflate = qualidadeDeflate != null ? qualidadeDeflate : qualidadeCuringa;
+        if (gzip <= 0 && deflate <= 0) {
+            return null;
+        }
+
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    /**
+     * {@code "2-7"} comprimida em gzip vira {@code "2-7-gzip"}; o W/ de uma tag fraca fica.
+     */
+    static String etagComprimida(String etag, String codificacao) {
+        if (!etag.endsWith("\"")) {
+            return etag;
+        }
+
+        return etag.substring(0, etag.length() - 1) + "-" + codificacao + "\"";
+    }
+
+    static byte[] comprimir(String codificacao, byte[] corpo, int nivel) {
+        var saida = new ByteArrayOutputStream(corpo.length / 4 + 64);
+
+        try {
+            if (GZIP.equals(codificacao)) {
+                try (var gzip = new GzipComNivel(saida, nivel)) {
+                    gzip.write(corpo);
+                }
+            } else {
+                // Com Deflater próprio o DeflaterOutputStream não o encerra no close()
+                var deflater = new Deflater(nivel);
+                try (var deflate = new DeflaterOutputStream(saida, deflater)) {
+                    deflate.write(corpo);
+                } finally {
+                    deflater.end();
+                }
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+
+        return saida.toByteArray();
+    }
+
+    private boolean comprimivel(ContentCachingResponseWrapper resposta, int tamanho) {
+        if (tamanho < tamanhoMinimo
+                || resposta.getStatus() < 200 || resposta.getStatus() >= 300
+                || resposta.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || resposta.getContentType() == null) {
+            return false;
+        }
+
+        var tipo = MediaType.parseMediaType(resposta.getContentType());
+        return TIPOS_COMPRIMIVEIS.stream().anyMatch(tipo::isCompatibleWith);
+    }
+
+    /**
+     * O 304 confirma a representação que o cliente tem: se o If-None-Match trazia a tag
+     * comprimida, é ela que volta.
+     */
+    private static boolean validadaComprimida(HttpServletRequest request, String etag, String codificacao) {
+        var ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return etag != null && ifNoneMatch != null && ifNoneMatch.contains(etagComprimida(etag, codificacao));
+    }
+
+    /**
+     * Só GET com ETag: a tag comprimida identifica conteúdo, formato (JSON, CBOR e Smile
+     * têm tags próprias) e codificação; o Content-Type na chave separa respostas que não
+     * seguem essa regra.
+     */
+    private static String chaveDoCache(HttpServletRequest request,
+                                       ContentCachingResponseWrapper resposta,
+                                       String codificacao) {
+        var etag = resposta.getHeader(HttpHeaders.ETAG);
+        if (etag == null || !HttpMethod.GET.matches(request.getMethod())) {
+            return null;
+        }
+
+        return String.join(" ", resposta.getContentType(), etagComprimida(etag, codificacao),
+                request.getRequestURI() + (request.getQueryString() == null ? "" : "?" + request.getQueryString()));
+    }
+
+    private static double qualidade(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            var parametro = partes[i].trim();
+            if (parametro.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parametro.substring(2));
+                } catch (NumberFormatException numberFormatException) {
+                    return 0;
+                }
+            }
+        }
+
+        return 1;
+    }
+
+    /**
+     * Entrega ao controller o If-None-Match com as tags da codificação escolhida sem o
+     * sufixo, para que a comparação seja com a ETag do corpo sem compressão. Tags de outra
+     * codificação continuam diferentes e não validam esta resposta.
+     */
+    private static final class RequisicaoSemCodificacaoNaETag extends HttpServletRequestWrapper {
+
+        private final String sufixo;
+
+        RequisicaoSemCodificacaoNaETag(HttpServletRequest request, String codificacao) {
+            super(request);
+            this.sufixo = "-" + codificacao + "\"";
+        }
+
+        @Override
+        public String getHeader(String name) {
+            var valor = super.getHeader(name);
+            return valor != null && HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) ? semSufixo(valor) : valor;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            var valores = super.getHeaders(name);
+            if (valores == null || !HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return valores;
+            }
+
+            return Collections.enumeration(Collections.list(valores).stream().map(this::semSufixo).toList());
+        }
+
+        private String semSufixo(String valor) {
+            return valor.replace(sufixo, "\"");
+        }
+    }
+
+    /**
+     * O construtor do GZIPOutputStream não recebe o nível; o Deflater interno ainda não
+     * recebeu dados quando o nível é trocado.
+     */
+    private static final class GzipComNivel extends GZIPOutputStream {
+
+        GzipComNivel(ByteArrayOutputStream saida, int nivel) throws IOException {
+            super(saida);
+            def.setLevel(nivel);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package fiap.testesnobackend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Leitura após escrita com réplicas: toda escrita devolve um cookie com o instante até o
+ * qual o cliente lê da primária, e as requisições que o trazem dentro da janela ficam
+ * fixadas nela ({@link RoteamentoDataSource#fixarNaPrimaria()}). O próprio request de
+ * escrita também fica na primária, para a releitura depois do UPDATE não vir atrasada.
+ * O estado vai no cookie, então vale para qualquer instância da aplicação.
+ */
+public class LeituraAposEscritaFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "primaria-ate";
+
+    private static final Set<String> METODOS_DE_LEITURA = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final Duration janela;
+
+    public LeituraAposEscritaFilter(Duration janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        var agora = System.currentTimeMillis();
+        var escrita = !METODOS_DE_LEITURA.contains(request.getMethod());
+
+        if (escrita) {
+            // Antes da cadeia: depois dela a resposta pode já ter sido enviada
+            var ate = Long.toString(agora + janela.toMillis());
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, ate)
+                    .maxAge(janela)
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        } else if (!dentroDaJanela(request, agora)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RoteamentoDataSource.fixarNaPrimaria();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoteamentoDataSource.liberar();
+        }
+    }
+
+    private static boolean dentroDaJanela(HttpServletRequest request, long agora) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+
+        for (var cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > agora;
+                } catch (NumberFormatException numberFormatException) {
+                    return false;
+                }
+            }
+        }
+
+        return false;
+    }
+}
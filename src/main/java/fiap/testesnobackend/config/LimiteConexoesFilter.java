@@ -0,0 +1,73 @@
+package fiap.testesnobackend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Limita as requisições simultâneas ao tamanho do pool de conexões. Com threads virtuais
+ * não há mais o teto do pool do Tomcat: sem este limite, milhares de requisições ficariam
+ * na fila do HikariCP até estourar o connectionTimeout. Quem não consegue vaga dentro da
+ * espera máxima recebe 503 na hora.
+ */
+public class LimiteConexoesFilter extends OncePerRequestFilter {
+
+    private final Semaphore permissoes;
+
+    private final Duration esperaMaxima;
+
+    public LimiteConexoesFilter(int requisicoesSimultaneas, Duration esperaMaxima) {
+        this.permissoes = new Semaphore(requisicoesSimultaneas, true);
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!adquirir()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Servidor ocupado, tente novamente");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permissoes.release();
+        }
+    }
+
+    int permissoesDisponiveis() {
+        return permissoes.availablePermits();
+    }
+
+    private boolean adquirir() {
+        try {
+            return permissoes.tryAcquire(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package fiap.testesnobackend.config;
+
+import fiap.testesnobackend.exception.MensagemNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Conta as {@link MensagemNotFoundException} lançadas pelos serviços de mensagem, por método.
+ * Um aumento costuma indicar clientes repetindo ids já removidos.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MensagemNaoEncontradaAspect {
+
+    static final String METRICA = "mensagem.nao.encontrada";
+
+    private final MeterRegistry meterRegistry;
+
+    @AfterThrowing(
+            pointcut = "execution(* fiap.testesnobackend.service.MensagemService.*(..))",
+            throwing = "excecao")
+    public void contar(JoinPoint joinPoint, MensagemNotFoundException excecao) {
+        Counter.builder(METRICA)
+                .description("Operações sobre mensagens inexistentes")
+                .tag("metodo", joinPoint.getSignature().getName())
+                .register(meterRegistry)
+                .increment();
+    }
+}
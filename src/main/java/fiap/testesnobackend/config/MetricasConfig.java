@@ -0,0 +1,36 @@
+package fiap.testesnobackend.config;
+
+import fiap.testesnobackend.service.FilaIngestao;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Métricas da aplicação, expostas em /actuator/prometheus. HTTP, HikariCP, Hibernate e JVM
+ * (GC, alocação, memória) vêm da auto-configuração do Actuator; aqui ficam os timers do
+ * {@code @Timed} do serviço e os medidores dos componentes próprios.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder filaIngestaoMetricas(FilaIngestao filaIngestao) {
+        return registry -> Gauge.builder("mensagem.ingestao.pendentes", filaIngestao, FilaIngestao::quantidadePendente)
+                .description("Mensagens aceitas pela ingestão assíncrona e ainda não gravadas")
+                .register(registry);
+    }
+}
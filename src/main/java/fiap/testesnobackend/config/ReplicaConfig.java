@@ -0,0 +1,111 @@
+package fiap.testesnobackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Perfil {@code replica}: a primária continua sendo o {@code spring.datasource}, e cada URL
+ * de {@code mensagem.replica.urls} ganha um pool somente leitura. O DataSource usado pelo
+ * JPA e pelo JdbcTemplate passa a ser o {@link RoteamentoDataSource}, atrás de um
+ * LazyConnectionDataSourceProxy.
+ */
+@Configuration
+@Profile("replica")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties dataSourceProperties) {
+        var primaria = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaria.setPoolName(RoteamentoDataSource.PRIMARIA);
+        return primaria;
+    }
+
+    @Bean
+    public RoteamentoDataSource roteamentoDataSource(
+            HikariDataSource dataSourcePrimaria,
+            DataSourceProperties dataSourceProperties,
+            @Value("${mensagem.replica.urls}") List<String> urls,
+            @Value("${mensagem.replica.tamanho-pool:10}") int tamanhoPool,
+            @Value("${mensagem.replica.timeout-conexao:2s}") Duration timeoutConexao,
+            @Value("${mensagem.replica.atraso-maximo:5s}") Duration atrasoMaximo) {
+        var replicas = new LinkedHashMap<String, DataSource>();
+        for (var url : urls) {
+            var replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(dataSourceProperties.determineUsername());
+            replica.setPassword(dataSourceProperties.determinePassword());
+            replica.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            replica.setMaximumPoolSize(tamanhoPool);
+            replica.setReadOnly(true);
+            // Réplica fora do ar não pode segurar a requisição nem impedir a subida
+            replica.setConnectionTimeout(timeoutConexao.toMillis());
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        return new RoteamentoDataSource(dataSourcePrimaria, replicas, atrasoMaximo);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoDataSource roteamentoDataSource) {
+        return new LazyConnectionDataSourceProxy(roteamentoDataSource);
+    }
+
+    /**
+     * Mesmas métricas de pool da primária (hikaricp_connections{pool="replica-1"}, ...).
+     * Os pools das réplicas só abrem na primeira verificação, depois do registro.
+     */
+    @Bean
+    public MeterBinder replicasMetricas(RoteamentoDataSource roteamentoDataSource) {
+        return registry -> roteamentoDataSource.replicas().values().forEach(replica -> {
+            if (replica instanceof HikariDataSource hikari && !hikari.isRunning()) {
+                hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        });
+    }
+
+    /**
+     * Réplica fora do rodízio não derruba a aplicação, que lê da primária: o indicador
+     * fica UP e mostra a situação de cada uma.
+     */
+    @Bean
+    public HealthIndicator replicasHealthIndicator(RoteamentoDataSource roteamentoDataSource) {
+        return () -> Health.up().withDetails(roteamentoDataSource.situacao()).build();
+    }
+
+    @Bean
+    public FilterRegistrationBean<LeituraAposEscritaFilter> leituraAposEscritaFilter(
+            @Value("${mensagem.replica.leitura-apos-escrita:5s}") Duration janela) {
+        var registro = new FilterRegistrationBean<>(new LeituraAposEscritaFilter(janela));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        registro.addUrlPatterns("/mensagens/*", "/mensagens");
+        return registro;
+    }
+}
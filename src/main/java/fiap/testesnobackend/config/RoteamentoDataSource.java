@@ -0,0 +1,150 @@
+package fiap.testesnobackend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Transações somente leitura vão para uma réplica saudável, em rodízio; escritas, acessos
+ * fora de transação e requisições fixadas na primária (leitura após escrita) vão para a
+ * primária. Sem réplica saudável, a leitura também cai na primária.
+ * <p>
+ * Precisa ficar atrás de um LazyConnectionDataSourceProxy: o gerenciador de transações
+ * pede a conexão antes de marcar a transação como somente leitura.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARIA = "primaria";
+
+    /**
+     * Atraso de replicação em segundos; zero quando a réplica já aplicou tudo o que recebeu
+     * ou quando o banco não está em recuperação.
+     */
+    private static final String ATRASO_REPLICACAO =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final int TIMEOUT_VALIDACAO_SEGUNDOS = 2;
+
+    private static final ThreadLocal<Boolean> FIXADA_NA_PRIMARIA = new ThreadLocal<>();
+
+    private final List<Replica> replicas;
+
+    private final Duration atrasoMaximo;
+
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public RoteamentoDataSource(DataSource primaria, Map<String, DataSource> replicas, Duration atrasoMaximo) {
+        var alvos = new HashMap<Object, Object>(replicas);
+        alvos.put(PRIMARIA, primaria);
+        setTargetDataSources(alvos);
+        setDefaultTargetDataSource(primaria);
+
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.atrasoMaximo = atrasoMaximo;
+    }
+
+    /**
+     * Até o {@link #liberar()}, inclusive as leituras da thread atual usam a primária.
+     */
+    public static void fixarNaPrimaria() {
+        FIXADA_NA_PRIMARIA.set(Boolean.TRUE);
+    }
+
+    public static void liberar() {
+        FIXADA_NA_PRIMARIA.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || FIXADA_NA_PRIMARIA.get() != null
+                || replicas.isEmpty()) {
+            return PRIMARIA;
+        }
+
+        var inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            var replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.saudavel) {
+                return replica.nome;
+            }
+        }
+
+        return PRIMARIA;
+    }
+
+    /**
+     * Réplica que não responde, ou que está mais atrasada que o atraso máximo, sai do
+     * rodízio até a próxima verificação em que estiver em dia. Começam fora dele: entram
+     * na primeira verificação, que roda assim que o contexto sobe.
+     */
+    @Scheduled(fixedDelayString = "${mensagem.replica.intervalo-verificacao-ms:5000}")
+    public void verificarReplicas() {
+        replicas.forEach(replica -> replica.saudavel = verificar(replica.dataSource));
+    }
+
+    public Map<String, DataSource> replicas() {
+        var porNome = new LinkedHashMap<String, DataSource>();
+        replicas.forEach(replica -> porNome.put(replica.nome, replica.dataSource));
+        return porNome;
+    }
+
+    /**
+     * Situação de cada réplica, na ordem da configuração.
+     */
+    public Map<String, Boolean> situacao() {
+        var situacao = new LinkedHashMap<String, Boolean>();
+        replicas.forEach(replica -> situacao.put(replica.nome, replica.saudavel));
+        return situacao;
+    }
+
+    private boolean verificar(DataSource replica) {
+        try (var conexao = replica.getConnection()) {
+            if (!conexao.isValid(TIMEOUT_VALIDACAO_SEGUNDOS)) {
+                return false;
+            }
+            if (atrasoMaximo.isZero()) {
+                return true;
+            }
+
+            try (var comando = conexao.createStatement();
+                 var resultado = comando.executeQuery(ATRASO_REPLICACAO)) {
+                return resultado.next() && resultado.getDouble(1) * 1000 <= atrasoMaximo.toMillis();
+            }
+        } catch (SQLException sqlException) {
+            return false;
+        }
+    }
+
+    private static final class Replica {
+
+        private final String nome;
+
+        private final DataSource dataSource;
+
+        private volatile boolean saudavel;
+
+        private Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package fiap.testesnobackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Perfil {@code virtual-threads}: o Tomcat e as tarefas assíncronas passam a rodar em
+ * threads virtuais (Java 21+). Uma thread bloqueada no JDBC deixa de ocupar uma thread
+ * de plataforma, e o limite real de concorrência passa a ser o pool de conexões.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public ExecutorService executorDeThreadsVirtuais() {
+        // Via reflexão para o projeto continuar compilando com release 17 fora deste perfil
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException reflectiveOperationException) {
+            throw new IllegalStateException(
+                    "O perfil virtual-threads exige Java 21 ou superior", reflectiveOperationException);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> tomcatComThreadsVirtuais(ExecutorService executorDeThreadsVirtuais) {
+        return protocolHandler -> protocolHandler.setExecutor(executorDeThreadsVirtuais);
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService executorDeThreadsVirtuais) {
+        return new TaskExecutorAdapter(executorDeThreadsVirtuais);
+    }
+
+    /**
+     * Sem valor explícito, o limite acompanha o maximumPoolSize do HikariCP.
+     */
+    @Bean
+    public FilterRegistrationBean<LimiteConexoesFilter> limiteConexoesFilter(
+            DataSource dataSource,
+            @Value("${mensagem.threads-virtuais.requisicoes-simultaneas:0}") int requisicoesSimultaneas,
+            @Value("${mensagem.threads-virtuais.espera-maxima:200ms}") Duration esperaMaxima) {
+        if (requisicoesSimultaneas <= 0) {
+            requisicoesSimultaneas = dataSource instanceof HikariDataSource hikari
+                    ? hikari.getMaximumPoolSize()
+                    : 10;
+        }
+
+        var registro = new FilterRegistrationBean<>(new LimiteConexoesFilter(requisicoesSimultaneas, esperaMaxima));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registro.addUrlPatterns("/mensagens/*", "/mensagens");
+        return registro;
+    }
+}
@@ -1,16 +1,36 @@
 package fiap.testesnobackend.controller;
 
+import fiap.testesnobackend.cache.MensagemJsonCache;
+import fiap.testesnobackend.exception.ChaveIdempotenciaInvalidaException;
+import fiap.testesnobackend.exception.FilaIngestaoCheiaException;
+import fiap.testesnobackend.exception.MensagemConflictException;
 import fiap.testesnobackend.exception.MensagemNotFoundException;
+import fiap.testesnobackend.exception.MensagemRemovidaException;
+import fiap.testesnobackend.model.BuscaCursor;
 import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.MensagemResumo;
+import fiap.testesnobackend.model.PaginaCursor;
+import fiap.testesnobackend.service.LimitadorPorUsuario;
 import fiap.testesnobackend.service.MensagemService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -21,60 +41,342 @@ import java.util.UUID;
  */
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("mensagens")
-@RequiredArgsConstructor
 public class MensagemController {
 
+    static final String TOTAL_APROXIMADO_HEADER = "X-Total-Aproximado";
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Tipo do MappingJackson2SmileHttpMessageConverter; o Spring não tem constante para ele.
+     */
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    /**
+     * Os tipos do {@code produces} das consultas, na mesma ordem: no empate, JSON primeiro.
+     */
+    private static final List<MediaType> FORMATOS =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
     /**
      * Injetando o serviço de Mensagem.
      */
     private final MensagemService mensagemService;
 
+    private final LimitadorPorUsuario limitadorPorUsuario;
+
+    private final MensagemJsonCache mensagemJsonCache;
+
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    /**
+     * true: PUT sem If-Match nem versão no corpo recebe 428, em vez de alterar sem condição.
+     */
+    private final boolean exigirVersaoNaAlteracao;
+
+    public MensagemController(
+            MensagemService mensagemService,
+            LimitadorPorUsuario limitadorPorUsuario,
+            MensagemJsonCache mensagemJsonCache,
+            ContentNegotiationManager contentNegotiationManager,
+            @Value("${mensagem.alteracao.exigir-versao:false}") boolean exigirVersaoNaAlteracao) {
+        this.mensagemService = mensagemService;
+        this.limitadorPorUsuario = limitadorPorUsuario;
+        this.mensagemJsonCache = mensagemJsonCache;
+        this.contentNegotiationManager = contentNegotiationManager;
+        this.exigirVersaoNaAlteracao = exigirVersaoNaAlteracao;
+    }
 
     @PostMapping(
-            consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Mensagem> registrarMensagem(
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> registrarMensagem(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String chaveIdempotencia,
             @RequestBody Mensagem mensagem) {
+        var espera = limitadorPorUsuario.consumir(mensagem.getUsuario());
+        if (espera > 0) {
+            return limiteExcedido(espera);
+        }
+
+        if (chaveIdempotencia != null) {
+            return registrarMensagemIdempotente(mensagem, chaveIdempotencia);
+        }
+
+        if (mensagemService.ingestaoAssincrona()) {
+            return enfileirarMensagem(mensagem);
+        }
+
         var mensagemRegistrada = mensagemService.registrarMensagem(mensagem);
 
         return new ResponseEntity<>(mensagemRegistrada, HttpStatus.CREATED);
     }
 
-    @GetMapping(value = "/{id}")
-    public ResponseEntity<?> buscarMensagem(@PathVariable String id) {
+    /**
+     * Com Idempotency-Key uma repetição (por timeout do cliente, por exemplo) recebe a
+     * resposta original, marcada com {@code Idempotent-Replayed}, sem criar outra mensagem.
+     * Se a mensagem criada já foi removida, não há o que repetir: a resposta é 410.
+     */
+    private ResponseEntity<?> registrarMensagemIdempotente(Mensagem mensagem, String chaveIdempotencia) {
+        try {
+            var resposta = mensagemService.registrarMensagem(mensagem, chaveIdempotencia);
+            var mensagemRegistrada = resposta.mensagem();
+
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .location(URI.create("/mensagens/" + mensagemRegistrada.getId()))
+                    .header(IDEMPOTENT_REPLAYED_HEADER, Boolean.toString(resposta.repetida()))
+                    .body(mensagemRegistrada);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(illegalArgumentException.getMessage());
+        } catch (ChaveIdempotenciaInvalidaException chaveIdempotenciaInvalidaException) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(chaveIdempotenciaInvalidaException.getMessage());
+        } catch (MensagemConflictException mensagemConflictException) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(mensagemConflictException.getMessage());
+        } catch (MensagemRemovidaException mensagemRemovidaException) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(mensagemRemovidaException.getMessage());
+        }
+    }
+
+    /**
+     * Ingestão assíncrona: 202 com o id já atribuído, antes do commit. Com a fila cheia
+     * a resposta é 429, para o cliente recuar em vez de acumular requisições presas.
+     */
+    private ResponseEntity<?> enfileirarMensagem(Mensagem mensagem) {
+        try {
+            var mensagemAceita = mensagemService.enfileirarMensagem(mensagem);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/mensagens/" + mensagemAceita.getId()))
+                    .body(mensagemAceita);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(illegalArgumentException.getMessage());
+        } catch (FilaIngestaoCheiaException filaIngestaoCheiaException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(filaIngestaoCheiaException.getMessage());
+        }
+    }
+
+    /**
+     * Com If-None-Match igual à ETag a resposta é 304, decidida antes de renderizar o corpo;
+     * como a mensagem vem do cache, a revalidação também não vai ao banco. O corpo é o
+     * JSON já renderizado do {@link MensagemJsonCache}, escrito sem passar pelo Jackson;
+     * CBOR e Smile, pedidos no Accept, passam pelo conversor do formato.
+     */
+    @GetMapping(
+            value = "/{id}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> buscarMensagem(
+            @PathVariable String id,
+            NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
         var uuid = UUID.fromString(id);
 
         try {
             var mensagemEncontrada = mensagemService.buscarMensagem(uuid);
-            return new ResponseEntity<>(mensagemEncontrada, HttpStatus.OK);
+            var formato = formatoDaResposta(request);
+            var eTag = MensagemETag.daMensagem(mensagemEncontrada);
+
+            // Antes do MensagemJsonCache: uma revalidação não renderiza nem ocupa o cache.
+            // O checkNotModified já escreve a ETag na resposta; aqui entra só o Vary
+            if (request.checkNotModified(MensagemETag.daRepresentacao(eTag, formato))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+
+            var resposta = respostaNegociada(formato, eTag);
+            if (!MediaType.APPLICATION_JSON.equalsTypeAndSubtype(formato)) {
+                return resposta.body(mensagemEncontrada);
+            }
+
+            return resposta.body(mensagemJsonCache.renderizar(mensagemEncontrada));
         } catch (MensagemNotFoundException mensagemNotFoundException) {
             return new ResponseEntity<>("ID Inválido", HttpStatus.BAD_REQUEST);
         }
     }
 
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
     public ResponseEntity<Page<Mensagem>> listarMensagens(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
         var pageable = PageRequest.of(page, size);
         var mensagens = mensagemService.listarMensagens(pageable);
 
-        return ResponseEntity.status(HttpStatus.OK).body(mensagens);
+        return respostaNegociada(formatoDaResposta(request), MensagemETag.daPagina(mensagens.getContent(),
+                mensagens.getNumber(), mensagens.getSize(), mensagens.getTotalElements()))
+                .body(mensagens);
+    }
+
+    /**
+     * Listagem sem COUNT(*): informa apenas se há próxima página. Com {@code total=true}
+     * o total aproximado (atualizado em segundo plano) segue no cabeçalho X-Total-Aproximado.
+     */
+    @GetMapping(
+            value = "/slice",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<Slice<Mensagem>> listarMensagensSemContagem(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean total,
+            NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        var pageable = PageRequest.of(page, size);
+        var mensagens = mensagemService.listarMensagensSemContagem(pageable);
+        var resposta = respostaNegociada(formatoDaResposta(request), MensagemETag.daPagina(mensagens.getContent(),
+                mensagens.getNumber(), mensagens.getSize(), mensagens.hasNext()));
+
+        if (total) {
+            mensagemService.totalMensagensAproximado().ifPresent(totalAproximado ->
+                    resposta.header(TOTAL_APROXIMADO_HEADER, String.valueOf(totalAproximado)));
+        }
+
+        return resposta.body(mensagens);
+    }
+
+    /**
+     * Listagem por cursor: {@code after} vazio inicia na mensagem mais recente
+     * e o campo {@code proximo} da resposta alimenta a chamada seguinte.
+     */
+    @GetMapping(
+            params = "after",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> listarMensagensPorCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        try {
+            var cursor = MensagemCursor.decodificar(after);
+            PaginaCursor<Mensagem> mensagens = mensagemService.listarMensagens(cursor, size);
+
+            return respostaNegociada(formatoDaResposta(request),
+                    MensagemETag.daPagina(mensagens.content(), mensagens.size(), mensagens.proximo()))
+                    .body(mensagens);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Timeline de um usuário, da mais recente para a mais antiga, paginada por cursor
+     * como a listagem geral.
+     */
+    @GetMapping(
+            value = "/usuario/{usuario}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> listarMensagensDoUsuario(
+            @PathVariable String usuario,
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "10") int size,
+            NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        try {
+            var cursor = MensagemCursor.decodificar(after);
+            PaginaCursor<MensagemResumo> mensagens = mensagemService.listarMensagensDoUsuario(usuario, cursor, size);
+
+            return respostaNegociada(formatoDaResposta(request),
+                    MensagemETag.daPaginaDeResumos(mensagens.content(), usuario, mensagens.size(), mensagens.proximo()))
+                    .body(mensagens);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(illegalArgumentException.getMessage());
+        }
     }
 
+    /**
+     * Busca textual no conteúdo, ordenada por relevância e paginada por cursor
+     * ({@code after} recebe o campo {@code proximo} da página anterior).
+     */
+    @GetMapping(
+            value = "/busca",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> buscarMensagens(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "10") int size,
+            NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        try {
+            var cursor = BuscaCursor.decodificar(after);
+            PaginaCursor<Mensagem> mensagens = mensagemService.buscarMensagens(q, cursor, size);
+
+            return respostaNegociada(formatoDaResposta(request),
+                    MensagemETag.daPagina(mensagens.content(), q, mensagens.size(), mensagens.proximo()))
+                    .body(mensagens);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * O If-Match (ETag obtida no GET) vira a versão esperada do UPDATE condicional;
+     * se outra escrita chegou antes, a resposta é 412. Sem If-Match nem versão no corpo a
+     * alteração é incondicional (última escrita vence), a menos que
+     * {@code mensagem.alteracao.exigir-versao} esteja ligado: aí a resposta é 428.
+     */
     @PutMapping(
             value = "/{id}",
-            consumes = MediaType.APPLICATION_JSON_VALUE,
-            produces = MediaType.APPLICATION_JSON_VALUE)
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
     public ResponseEntity<?> alterarMensagem(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Mensagem mensagem) {
         var uuid = UUID.fromString(id);
 
+        if (exigirVersaoNaAlteracao && ifMatch == null && mensagem.getVersao() == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                    .body("Informe o If-Match com a ETag da mensagem");
+        }
+
         try {
+            // O balde é o do usuário do corpo: buscar o autor gravado custaria uma leitura a mais
+            var espera = limitadorPorUsuario.consumir(mensagem.getUsuario());
+            if (espera > 0) {
+                return limiteExcedido(espera);
+            }
+
+            var versaoEsperada = ifMatch == null ? null : MensagemETag.versaoDoIfMatch(ifMatch);
+            if (versaoEsperada != null) {
+                mensagem.setVersao(versaoEsperada);
+            }
+
             var mensagemAtualizada = mensagemService.alterarMensagem(uuid, mensagem);
-            return new ResponseEntity<>(mensagemAtualizada, HttpStatus.ACCEPTED);
+            mensagemJsonCache.invalidar(uuid);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .eTag(MensagemETag.daMensagem(mensagemAtualizada))
+                    .body(mensagemAtualizada);
+        } catch (MensagemNotFoundException mensagemNotFoundException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(mensagemNotFoundException.getMessage());
+        } catch (MensagemConflictException mensagemConflictException) {
+            var status = ifMatch == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED;
+            return ResponseEntity.status(status)
+                    .body(mensagemConflictException.getMessage());
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body(illegalArgumentException.getMessage());
+        }
+    }
+
+    @PostMapping(
+            value = "/{id}/gostei",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> registrarGostei(@PathVariable String id) {
+        var uuid = UUID.fromString(id);
+
+        try {
+            var mensagemCurtida = mensagemService.registrarGostei(uuid);
+            return ResponseEntity.status(HttpStatus.OK).body(mensagemCurtida);
         } catch (MensagemNotFoundException mensagemNotFoundException) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(mensagemNotFoundException.getMessage());
@@ -82,15 +384,70 @@ public class MensagemController {
     }
 
     @DeleteMapping(value = "/{id}")
-    public ResponseEntity<?> deletarMensagem(@PathVariable String id) {
+    public ResponseEntity<?> deletarMensagem(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         var uuid = UUID.fromString(id);
 
         try {
-            mensagemService.removerMensagem(uuid);
+            var versaoEsperada = ifMatch == null ? null : MensagemETag.versaoDoIfMatch(ifMatch);
+            if (versaoEsperada == null) {
+                mensagemService.removerMensagem(uuid);
+            } else {
+                mensagemService.removerMensagem(uuid, versaoEsperada);
+            }
+            mensagemJsonCache.invalidar(uuid);
+
             return ResponseEntity.status(HttpStatus.OK).body("Mensagem removida");
         } catch (MensagemNotFoundException mensagemNotFoundException) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(mensagemNotFoundException.getMessage());
+        } catch (MensagemConflictException | IllegalArgumentException precondicaoFalhou) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body(precondicaoFalhou.getMessage());
+        }
+    }
+
+    /**
+     * O tipo que a negociação do Spring escolheria entre os {@link #FORMATOS}: os do
+     * Accept já vêm ordenados por qualidade e especificidade, e no empate vale a ordem do
+     * {@code produces}. A resposta sai com esse tipo fixo, e a ETag e o conversor seguem dele.
+     * Sem nenhum compatível a resposta é 406, como na negociação do Spring.
+     */
+    private MediaType formatoDaResposta(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        var compativeis = new ArrayList<MediaType>();
+        for (var aceito : contentNegotiationManager.resolveMediaTypes(request)) {
+            for (var formato : FORMATOS) {
+                if (aceito.isCompatibleWith(formato)) {
+                    compativeis.add(formato.copyQualityValue(aceito));
+                }
+            }
         }
+
+        if (compativeis.isEmpty()) {
+            throw new HttpMediaTypeNotAcceptableException(FORMATOS);
+        }
+
+        MimeTypeUtils.sortBySpecificity(compativeis);
+        return compativeis.get(0).removeQualityValue();
+    }
+
+    /**
+     * 200 no formato negociado, com a ETag dessa representação e Vary: Accept.
+     */
+    private static ResponseEntity.BodyBuilder respostaNegociada(MediaType formato, String eTag) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(formato)
+                .eTag(MensagemETag.daRepresentacao(eTag, formato))
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+
+    /**
+     * 429 com o tempo até a próxima ficha do balde do usuário.
+     */
+    private static ResponseEntity<?> limiteExcedido(long esperaNanos) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(LimitadorPorUsuario.segundosDeEspera(esperaNanos)))
+                .body("Limite de escritas do usuário excedido, tente novamente mais tarde");
     }
 }
@@ -0,0 +1,213 @@
+package fiap.testesnobackend.controller;
+
+import fiap.testesnobackend.exception.MensagemConflictException;
+import fiap.testesnobackend.exception.MensagemNotFoundException;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.service.LimitadorPorUsuario;
+import fiap.testesnobackend.service.MensagemServiceReativo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Versão WebFlux de {@link MensagemController}, ativa no perfil {@code reactive}:
+ * mesmos caminhos, códigos de status e formato JSON, com o limite de escritas por usuário.
+ * <p>
+ * Ainda não há aqui busca textual, timeline por usuário, Idempotency-Key, o total
+ * aproximado nem CBOR/Smile: esses caminhos respondem 501 em vez de caírem no
+ * {@code /{id}}, e a repetição com Idempotency-Key não é tratada como escrita nova.
+ */
+@RestController
+@RequestMapping("mensagens")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class MensagemControllerReativo {
+
+    /**
+     * Só UUIDs: {@code /mensagens/busca} e outros caminhos não viram um id inválido (500).
+     */
+    private static final String ID =
+            "/{id:[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}}";
+
+    private static final String NAO_SUPORTADO = "Não disponível no perfil reactive";
+
+    private final MensagemServiceReativo mensagemServiceReativo;
+
+    private final LimitadorPorUsuario limitadorPorUsuario;
+
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> registrarMensagem(
+            @RequestBody Mensagem mensagem) {
+        var espera = limitadorPorUsuario.consumir(mensagem.getUsuario());
+        if (espera > 0) {
+            return Mono.just(limiteExcedido(espera));
+        }
+
+        return mensagemServiceReativo.registrarMensagem(mensagem)
+                .map(mensagemRegistrada -> new ResponseEntity<>(mensagemRegistrada, HttpStatus.CREATED));
+    }
+
+    /**
+     * Sem o índice de chaves, gravar ignorando a Idempotency-Key criaria duplicatas
+     * justamente nas repetições que ela deveria absorver.
+     */
+    @PostMapping(headers = MensagemController.IDEMPOTENCY_KEY_HEADER)
+    public ResponseEntity<String> registrarMensagemIdempotente() {
+        return naoSuportado();
+    }
+
+    @GetMapping(value = {"/busca", "/usuario/{usuario}"})
+    public ResponseEntity<String> consultaNaoSuportada() {
+        return naoSuportado();
+    }
+
+    @GetMapping(value = ID, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> buscarMensagem(@PathVariable String id) {
+        var uuid = UUID.fromString(id);
+
+        return mensagemServiceReativo.buscarMensagem(uuid)
+                .<ResponseEntity<?>>map(mensagemEncontrada -> ResponseEntity.status(HttpStatus.OK)
+                        .eTag(MensagemETag.daMensagem(mensagemEncontrada))
+                        .body(mensagemEncontrada))
+                .onErrorResume(MensagemNotFoundException.class, mensagemNotFoundException ->
+                        Mono.just(new ResponseEntity<>("ID Inválido", HttpStatus.BAD_REQUEST)));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Page<Mensagem>>> listarMensagens(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return mensagemServiceReativo.listarMensagens(PageRequest.of(page, size))
+                .map(mensagens -> ResponseEntity.status(HttpStatus.OK)
+                        .eTag(MensagemETag.daPagina(mensagens.getContent(),
+                                mensagens.getNumber(), mensagens.getSize(), mensagens.getTotalElements()))
+                        .body(mensagens));
+    }
+
+    @GetMapping(value = "/slice", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Slice<Mensagem>>> listarMensagensSemContagem(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return mensagemServiceReativo.listarMensagensSemContagem(PageRequest.of(page, size))
+                .map(mensagens -> ResponseEntity.status(HttpStatus.OK)
+                        .eTag(MensagemETag.daPagina(mensagens.getContent(),
+                                mensagens.getNumber(), mensagens.getSize(), mensagens.hasNext()))
+                        .body(mensagens));
+    }
+
+    @GetMapping(params = "after", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> listarMensagensPorCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return Mono.fromCallable(() -> MensagemCursor.decodificar(after))
+                .flatMap(cursor -> mensagemServiceReativo.listarMensagens(cursor, size))
+                // O cursor da primeira página é nulo e não pode trafegar no Mono
+                .switchIfEmpty(Mono.defer(() -> mensagemServiceReativo.listarMensagens(null, size)))
+                .<ResponseEntity<?>>map(mensagens -> ResponseEntity.status(HttpStatus.OK)
+                        .eTag(MensagemETag.daPagina(mensagens.content(), mensagens.size(), mensagens.proximo()))
+                        .body(mensagens))
+                .onErrorResume(IllegalArgumentException.class, illegalArgumentException ->
+                        Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(illegalArgumentException.getMessage())));
+    }
+
+    @PutMapping(
+            value = ID,
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> alterarMensagem(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Mensagem mensagem) {
+        var uuid = UUID.fromString(id);
+
+        var espera = limitadorPorUsuario.consumir(mensagem.getUsuario());
+        if (espera > 0) {
+            return Mono.just(limiteExcedido(espera));
+        }
+
+        return Mono.fromCallable(() -> versaoEsperada(ifMatch))
+                .doOnNext(mensagem::setVersao)
+                .then(Mono.defer(() -> mensagemServiceReativo.alterarMensagem(uuid, mensagem)))
+                .<ResponseEntity<?>>map(mensagemAtualizada -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .eTag(MensagemETag.daMensagem(mensagemAtualizada))
+                        .body(mensagemAtualizada))
+                .onErrorResume(MensagemNotFoundException.class, mensagemNotFoundException ->
+                        Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(mensagemNotFoundException.getMessage())))
+                .onErrorResume(MensagemConflictException.class, mensagemConflictException ->
+                        Mono.just(ResponseEntity.status(ifMatch == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED)
+                                .body(mensagemConflictException.getMessage())))
+                .onErrorResume(IllegalArgumentException.class, illegalArgumentException ->
+                        Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                                .body(illegalArgumentException.getMessage())));
+    }
+
+    @PostMapping(value = ID + "/gostei", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> registrarGostei(@PathVariable String id) {
+        var uuid = UUID.fromString(id);
+
+        return mensagemServiceReativo.registrarGostei(uuid)
+                .<ResponseEntity<?>>map(mensagemCurtida -> ResponseEntity.status(HttpStatus.OK).body(mensagemCurtida))
+                .onErrorResume(MensagemNotFoundException.class, mensagemNotFoundException ->
+                        Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(mensagemNotFoundException.getMessage())));
+    }
+
+    @DeleteMapping(value = ID)
+    public Mono<ResponseEntity<?>> deletarMensagem(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var uuid = UUID.fromString(id);
+
+        return Mono.fromCallable(() -> versaoEsperada(ifMatch))
+                .flatMap(versao -> mensagemServiceReativo.removerMensagem(uuid, versao))
+                .switchIfEmpty(Mono.defer(() -> mensagemServiceReativo.removerMensagem(uuid)))
+                .<ResponseEntity<?>>map(removida -> ResponseEntity.status(HttpStatus.OK).body("Mensagem removida"))
+                .onErrorResume(MensagemNotFoundException.class, mensagemNotFoundException ->
+                        Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(mensagemNotFoundException.getMessage())))
+                .onErrorResume(e -> e instanceof MensagemConflictException || e instanceof IllegalArgumentException,
+                        precondicaoFalhou -> Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                                .body(precondicaoFalhou.getMessage())));
+    }
+
+    private static ResponseEntity<String> naoSuportado() {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(NAO_SUPORTADO);
+    }
+
+    /**
+     * 429 com o tempo até a próxima ficha do balde do usuário.
+     */
+    private static ResponseEntity<?> limiteExcedido(long esperaNanos) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(LimitadorPorUsuario.segundosDeEspera(esperaNanos)))
+                .body("Limite de escritas do usuário excedido, tente novamente mais tarde");
+    }
+
+    /**
+     * Nulo (Mono vazio) quando não há If-Match ou ele é {@code *}.
+     */
+    private static Long versaoEsperada(String ifMatch) {
+        return ifMatch == null ? null : MensagemETag.versaoDoIfMatch(ifMatch);
+    }
+}
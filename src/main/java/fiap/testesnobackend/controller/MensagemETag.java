@@ -0,0 +1,111 @@
+package fiap.testesnobackend.controller;
+
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemResumo;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * ETags fortes das respostas de mensagem, no formato {@code "versao-gostei"}.
+ * O gostei entra na tag porque é contabilizado sem alterar a versão do conteúdo.
+ * CBOR e Smile têm bytes diferentes do JSON, então levam o formato como sufixo
+ * ({@code "versao-gostei-cbor"}).
+ */
+final class MensagemETag {
+
+    private static final String QUALQUER = "*";
+
+    private MensagemETag() {
+    }
+
+    static String daMensagem(Mensagem mensagem) {
+        return "\"" + versaoDe(mensagem) + "-" + mensagem.getGostei() + "\"";
+    }
+
+    /**
+     * Resumo de id, versão e gostei de cada item mais os metadados da página:
+     * qualquer inclusão, edição, remoção ou gostei gera uma tag diferente.
+     */
+    static String daPagina(List<Mensagem> mensagens, Object... metadados) {
+        long resumo = 17;
+
+        for (Object metadado : metadados) {
+            resumo = 31 * resumo + Objects.hashCode(metadado);
+        }
+
+        for (Mensagem mensagem : mensagens) {
+            var id = mensagem.getId();
+            resumo = 31 * resumo + (id == null ? 0 : id.getMostSignificantBits());
+            resumo = 31 * resumo + (id == null ? 0 : id.getLeastSignificantBits());
+            resumo = 31 * resumo + versaoDe(mensagem);
+            resumo = 31 * resumo + mensagem.getGostei();
+        }
+
+        return "\"" + mensagens.size() + "-" + Long.toHexString(resumo) + "\"";
+    }
+
+    static String daPaginaDeResumos(List<MensagemResumo> resumos, Object... metadados) {
+        long resumo = 17;
+
+        for (Object metadado : metadados) {
+            resumo = 31 * resumo + Objects.hashCode(metadado);
+        }
+
+        for (MensagemResumo mensagem : resumos) {
+            resumo = 31 * resumo + mensagem.id().getMostSignificantBits();
+            resumo = 31 * resumo + mensagem.id().getLeastSignificantBits();
+            resumo = 31 * resumo + (mensagem.versao() == null ? 0 : mensagem.versao());
+            resumo = 31 * resumo + mensagem.gostei();
+        }
+
+        return "\"" + resumos.size() + "-" + Long.toHexString(resumo) + "\"";
+    }
+
+    /**
+     * A tag do JSON fica como está; a dos formatos binários ganha o sufixo do formato,
+     * para que um If-None-Match de uma representação não valide outra.
+     */
+    static String daRepresentacao(String eTag, MediaType formato) {
+        if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(formato)) {
+            return eTag;
+        }
+
+        var sufixo = MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(formato) ? "cbor" : "smile";
+        return eTag.substring(0, eTag.length() - 1) + "-" + sufixo + "\"";
+    }
+
+    /**
+     * Versão exigida pelo If-Match; {@code null} quando o cabeçalho é {@code *}.
+     * Só a parte da versão é comparada: um gostei no meio do caminho não invalida a escrita,
+     * e a tag de qualquer formato serve.
+     */
+    static Long versaoDoIfMatch(String ifMatch) {
+        var tag = ifMatch.trim();
+
+        if (QUALQUER.equals(tag)) {
+            return null;
+        }
+
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"") || tag.contains(",")) {
+            throw new IllegalArgumentException("If-Match inválido");
+        }
+
+        try {
+            return Long.parseLong(tag.substring(1, tag.indexOf('-')));
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match inválido", e);
+        }
+    }
+
+    private static long versaoDe(Mensagem mensagem) {
+        return mensagem.getVersao() == null ? 0 : mensagem.getVersao();
+    }
+}
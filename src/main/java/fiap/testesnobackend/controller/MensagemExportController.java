@@ -0,0 +1,197 @@
+package fiap.testesnobackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.service.MensagemService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Exportação da tabela inteira em NDJSON ou CSV. Cada mensagem é escrita na resposta
+ * assim que sai do cursor do banco, então memória e tempo por linha são constantes.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("mensagens/export")
+@RequiredArgsConstructor
+public class MensagemExportController {
+
+    static final String TEXT_CSV_VALUE = "text/csv;charset=UTF-8";
+
+    static final String CABECALHO_CSV = "id,usuario,conteudo,dataCriacaoMensagem,gostei,versao\n";
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final MensagemService mensagemService;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Com {@code Accept-Encoding: gzip} a saída é comprimida enquanto é gerada.
+     * A escrita é síncrona na thread da requisição: sem timeout de requisição assíncrona
+     * para exportações longas.
+     */
+    @GetMapping
+    public void exportarMensagens(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        var csv = "csv".equalsIgnoreCase(formato);
+
+        if (!csv && !"ndjson".equalsIgnoreCase(formato)) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Formato inválido, use ndjson ou csv");
+            return;
+        }
+
+        var gzip = aceitaGzip(acceptEncoding);
+
+        response.setContentType(csv ? TEXT_CSV_VALUE : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(csv ? "mensagens.csv" : "mensagens.ndjson")
+                .build()
+                .toString());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try (OutputStream saida = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), TAMANHO_BUFFER)
+                : new BufferedOutputStream(response.getOutputStream(), TAMANHO_BUFFER)) {
+            if (csv) {
+                escreverCsv(saida);
+            } else {
+                escreverNdjson(saida);
+            }
+        } catch (UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        }
+    }
+
+    private void escreverNdjson(OutputStream saida) throws IOException {
+        // Sem flush por mensagem: quem decide quando enviar é o buffer da saída
+        var escritor = objectMapper.writerFor(Mensagem.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (var gerador = objectMapper.getFactory().createGenerator(saida)) {
+            gerador.setRootValueSeparator(null);
+
+            mensagemService.exportarMensagens(mensagem -> {
+                try {
+                    escritor.writeValue(gerador, mensagem);
+                    gerador.writeRaw('\n');
+                } catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                }
+            });
+        }
+    }
+
+    private void escreverCsv(OutputStream saida) throws IOException {
+        var escritor = new OutputStreamWriter(saida, StandardCharsets.UTF_8);
+        escritor.write(CABECALHO_CSV);
+
+        mensagemService.exportarMensagens(mensagem -> {
+            try {
+                escreverLinhaCsv(escritor, mensagem);
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        });
+
+        escritor.flush();
+    }
+
+    static void escreverLinhaCsv(Writer escritor, Mensagem mensagem) throws IOException {
+        escreverCampo(escritor, mensagem.getId());
+        escritor.write(',');
+        escreverCampo(escritor, mensagem.getUsuario());
+        escritor.write(',');
+        escreverCampo(escritor, mensagem.getConteudo());
+        escritor.write(',');
+        escreverCampo(escritor, mensagem.getDataCriacaoMensagem());
+        escritor.write(',');
+        escritor.write(Integer.toString(mensagem.getGostei()));
+        escritor.write(',');
+        escreverCampo(escritor, mensagem.getVersao());
+        escritor.write('\n');
+    }
+
+    /**
+     * RFC 4180: campos com vírgula, aspas ou quebra de linha vão entre aspas,
+     * com as aspas internas duplicadas.
+     */
+    private static void escreverCampo(Writer escritor, Object valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+
+        var texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0
+                && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            escritor.write(texto);
+            return;
+        }
+
+        escritor.write('"');
+        escritor.write(texto.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String codificacao : acceptEncoding.split(",")) {
+            var partes = codificacao.trim().split(";");
+            if (!partes[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+
+            for (int i = 1; i < partes.length; i++) {
+                var parametro = partes[i].trim();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parametro.substring(2)) > 0;
+                    } catch (NumberFormatException numberFormatException) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,110 @@
+package fiap.testesnobackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.service.MensagemServiceReativo;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static fiap.testesnobackend.controller.MensagemExportController.CABECALHO_CSV;
+import static fiap.testesnobackend.controller.MensagemExportController.TEXT_CSV_VALUE;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Versão WebFlux de {@link MensagemExportController}: cada mensagem vira um buffer assim
+ * que sai do cursor R2DBC, e a leitura do banco acompanha a escrita na conexão. Sem a
+ * compressão por Accept-Encoding da versão servlet; no Netty ela fica a cargo de
+ * {@code server.compression}.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("mensagens/export")
+public class MensagemExportControllerReativo {
+
+    private static final int TAMANHO_INICIAL_LINHA = 256;
+
+    private final MensagemServiceReativo mensagemServiceReativo;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter escritorJson;
+
+    public MensagemExportControllerReativo(MensagemServiceReativo mensagemServiceReativo, ObjectMapper objectMapper) {
+        this.mensagemServiceReativo = mensagemServiceReativo;
+        this.objectMapper = objectMapper;
+        this.escritorJson = objectMapper.writerFor(Mensagem.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @GetMapping
+    public Mono<Void> exportarMensagens(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            ServerHttpResponse response) {
+        var csv = "csv".equalsIgnoreCase(formato);
+        var fabrica = response.bufferFactory();
+
+        if (!csv && !"ndjson".equalsIgnoreCase(formato)) {
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            response.getHeaders().setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+            return response.writeWith(Mono.fromSupplier(() ->
+                    fabrica.wrap("Formato inválido, use ndjson ou csv".getBytes(StandardCharsets.UTF_8))));
+        }
+
+        response.getHeaders().setContentType(csv ? MediaType.parseMediaType(TEXT_CSV_VALUE) : MediaType.APPLICATION_NDJSON);
+        response.getHeaders().setContentDisposition(ContentDisposition.attachment()
+                .filename(csv ? "mensagens.csv" : "mensagens.ndjson")
+                .build());
+
+        var linhas = mensagemServiceReativo.exportarMensagens()
+                .map(mensagem -> escrever(fabrica, mensagem, csv));
+
+        return response.writeWith(csv
+                ? Flux.concat(Mono.fromSupplier(() -> fabrica.wrap(CABECALHO_CSV.getBytes(StandardCharsets.UTF_8))), linhas)
+                : linhas);
+    }
+
+    private DataBuffer escrever(DataBufferFactory fabrica, Mensagem mensagem, boolean csv) {
+        var buffer = fabrica.allocateBuffer(TAMANHO_INICIAL_LINHA);
+
+        try (var saida = buffer.asOutputStream()) {
+            if (csv) {
+                var escritor = new OutputStreamWriter(saida, StandardCharsets.UTF_8);
+                MensagemExportController.escreverLinhaCsv(escritor, mensagem);
+                escritor.flush();
+            } else {
+                try (var gerador = objectMapper.getFactory().createGenerator(saida)) {
+                    escritorJson.writeValue(gerador, mensagem);
+                    gerador.writeRaw('\n');
+                }
+            }
+            return buffer;
+        } catch (IOException ioException) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(ioException);
+        }
+    }
+}
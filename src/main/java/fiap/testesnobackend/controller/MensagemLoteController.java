@@ -0,0 +1,149 @@
+package fiap.testesnobackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.ResultadoLote;
+import fiap.testesnobackend.service.LimitadorPorUsuario;
+import fiap.testesnobackend.service.MensagemService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static fiap.testesnobackend.controller.MensagemController.APPLICATION_SMILE_VALUE;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("mensagens/lote")
+public class MensagemLoteController {
+
+    private static final int MENSAGENS_POR_BLOCO = 1000;
+
+    static final String LIMITE_EXCEDIDO = "Limite de escritas do usuário excedido, tente novamente mais tarde";
+
+    private final MensagemService mensagemService;
+
+    private final LimitadorPorUsuario limitadorPorUsuario;
+
+    private final ObjectMapper objectMapper;
+
+    private final int tamanhoMaximo;
+
+    public MensagemLoteController(
+            MensagemService mensagemService,
+            LimitadorPorUsuario limitadorPorUsuario,
+            ObjectMapper objectMapper,
+            @Value("${mensagem.lote.tamanho-maximo:1000}") int tamanhoMaximo) {
+        this.mensagemService = mensagemService;
+        this.limitadorPorUsuario = limitadorPorUsuario;
+        this.objectMapper = objectMapper;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * O corpo inteiro é desserializado antes de chegar aqui, por isso o lote tem tamanho
+     * máximo; acima dele a resposta é 413 e o caminho é o NDJSON, lido em blocos.
+     * Cada mensagem consome uma ficha do seu autor; autor sem ficha recusa o lote inteiro (429).
+     */
+    @PostMapping(
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> registrarMensagens(
+            @RequestBody List<Mensagem> mensagens) {
+        if (mensagens.size() > tamanhoMaximo) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("Lote acima de " + tamanhoMaximo + " mensagens; envie em " + MediaType.APPLICATION_NDJSON_VALUE);
+        }
+
+        var espera = limitadorPorUsuario.consumirLote(mensagens);
+        if (espera > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(LimitadorPorUsuario.segundosDeEspera(espera)))
+                    .body(LIMITE_EXCEDIDO);
+        }
+
+        return responder(mensagemService.registrarMensagens(mensagens));
+    }
+
+    /**
+     * Uma mensagem JSON por linha. O corpo é lido em blocos, sem carregar o arquivo
+     * inteiro em memória; uma linha inválida encerra a leitura e é reportada no resultado.
+     * O limite por usuário é cobrado a cada bloco: um bloco recusado também encerra a leitura,
+     * reportado com 429 no índice em que parou.
+     */
+    @PostMapping(
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<ResultadoLote>> registrarMensagensNdjson(InputStream corpo) throws IOException {
+        var resultados = new ArrayList<ResultadoLote>();
+        var bloco = new ArrayList<Mensagem>(MENSAGENS_POR_BLOCO);
+
+        try (var linhas = objectMapper.readerFor(Mensagem.class).<Mensagem>readValues(corpo)) {
+            while (true) {
+                try {
+                    if (!linhas.hasNextValue()) {
+                        break;
+                    }
+                    bloco.add(linhas.nextValue());
+                } catch (IOException ioException) {
+                    if (registrarBloco(bloco, resultados)) {
+                        resultados.add(ResultadoLote.rejeitado(resultados.size(), 400, "JSON inválido"));
+                    }
+                    return responder(resultados);
+                }
+
+                if (bloco.size() == MENSAGENS_POR_BLOCO && !registrarBloco(bloco, resultados)) {
+                    return responder(resultados);
+                }
+            }
+        }
+
+        registrarBloco(bloco, resultados);
+        return responder(resultados);
+    }
+
+    /**
+     * @return falso quando o limite por usuário recusou o bloco (já reportado em resultados)
+     */
+    private boolean registrarBloco(List<Mensagem> bloco, List<ResultadoLote> resultados) {
+        if (bloco.isEmpty()) {
+            return true;
+        }
+
+        if (limitadorPorUsuario.consumirLote(bloco) > 0) {
+            resultados.add(ResultadoLote.rejeitado(resultados.size(), 429, LIMITE_EXCEDIDO));
+            return false;
+        }
+
+        var deslocamento = resultados.size();
+        mensagemService.registrarMensagens(bloco).forEach(resultado -> resultados.add(new ResultadoLote(
+                resultado.indice() + deslocamento, resultado.id(), resultado.status(), resultado.erro())));
+        bloco.clear();
+        return true;
+    }
+
+    private static ResponseEntity<List<ResultadoLote>> responder(List<ResultadoLote> resultados) {
+        var status = resultados.stream().allMatch(ResultadoLote::sucesso)
+                ? HttpStatus.CREATED
+                : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity.status(status).body(resultados);
+    }
+}
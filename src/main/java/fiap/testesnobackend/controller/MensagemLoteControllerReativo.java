@@ -0,0 +1,137 @@
+package fiap.testesnobackend.controller;
+
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.ResultadoLote;
+import fiap.testesnobackend.service.LimitadorPorUsuario;
+import fiap.testesnobackend.service.MensagemServiceReativo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static fiap.testesnobackend.controller.MensagemLoteController.LIMITE_EXCEDIDO;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Versão WebFlux de {@link MensagemLoteController}, com as mesmas respostas; só JSON e NDJSON,
+ * como o restante do perfil {@code reactive}.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("mensagens/lote")
+public class MensagemLoteControllerReativo {
+
+    private static final int MENSAGENS_POR_BLOCO = 1000;
+
+    private final MensagemServiceReativo mensagemServiceReativo;
+
+    private final LimitadorPorUsuario limitadorPorUsuario;
+
+    private final int tamanhoMaximo;
+
+    public MensagemLoteControllerReativo(
+            MensagemServiceReativo mensagemServiceReativo,
+            LimitadorPorUsuario limitadorPorUsuario,
+            @Value("${mensagem.lote.tamanho-maximo:1000}") int tamanhoMaximo) {
+        this.mensagemServiceReativo = mensagemServiceReativo;
+        this.limitadorPorUsuario = limitadorPorUsuario;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> registrarMensagens(
+            @RequestBody List<Mensagem> mensagens) {
+        if (mensagens.size() > tamanhoMaximo) {
+            return Mono.just(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("Lote acima de " + tamanhoMaximo + " mensagens; envie em " + MediaType.APPLICATION_NDJSON_VALUE));
+        }
+
+        var espera = limitadorPorUsuario.consumirLote(mensagens);
+        if (espera > 0) {
+            return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(LimitadorPorUsuario.segundosDeEspera(espera)))
+                    .body(LIMITE_EXCEDIDO));
+        }
+
+        return mensagemServiceReativo.registrarMensagens(mensagens)
+                .map(MensagemLoteControllerReativo::responder);
+    }
+
+    /**
+     * O corpo chega como um Flux, decodificado linha a linha, e é gravado em blocos.
+     * Uma linha inválida ou um bloco recusado pelo limite por usuário encerra a leitura
+     * e é reportado no resultado.
+     */
+    @PostMapping(
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<ResultadoLote>>> registrarMensagensNdjson(
+            @RequestBody Flux<Mensagem> mensagens) {
+        return Mono.defer(() -> {
+            var resultados = new ArrayList<ResultadoLote>();
+            var linhaInvalida = new AtomicBoolean();
+            var limiteExcedido = new AtomicBoolean();
+
+            return mensagens
+                    .onErrorResume(MensagemLoteControllerReativo::jsonInvalido, erro -> {
+                        linhaInvalida.set(true);
+                        return Flux.empty();
+                    })
+                    .buffer(MENSAGENS_POR_BLOCO)
+                    .takeWhile(bloco -> {
+                        if (limitadorPorUsuario.consumirLote(bloco) == 0) {
+                            return true;
+                        }
+                        limiteExcedido.set(true);
+                        return false;
+                    })
+                    .concatMap(mensagemServiceReativo::registrarMensagens)
+                    .doOnNext(bloco -> {
+                        var deslocamento = resultados.size();
+                        bloco.forEach(resultado -> resultados.add(new ResultadoLote(
+                                resultado.indice() + deslocamento, resultado.id(), resultado.status(), resultado.erro())));
+                    })
+                    .then(Mono.fromSupplier(() -> {
+                        if (limiteExcedido.get()) {
+                            resultados.add(ResultadoLote.rejeitado(resultados.size(), 429, LIMITE_EXCEDIDO));
+                        } else if (linhaInvalida.get()) {
+                            resultados.add(ResultadoLote.rejeitado(resultados.size(), 400, "JSON inválido"));
+                        }
+                        return responder(resultados);
+                    }));
+        });
+    }
+
+    private static boolean jsonInvalido(Throwable erro) {
+        return erro instanceof DecodingException || erro instanceof ServerWebInputException;
+    }
+
+    private static ResponseEntity<List<ResultadoLote>> responder(List<ResultadoLote> resultados) {
+        var status = resultados.stream().allMatch(ResultadoLote::sucesso)
+                ? HttpStatus.CREATED
+                : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity.status(status).body(resultados);
+    }
+}
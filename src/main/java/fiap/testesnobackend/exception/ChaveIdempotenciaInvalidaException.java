@@ -0,0 +1,14 @@
+package fiap.testesnobackend.exception;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+public class ChaveIdempotenciaInvalidaException extends RuntimeException {
+
+    public ChaveIdempotenciaInvalidaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,49 @@
+package fiap.testesnobackend.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Posição do último resultado entregue na busca textual: relevância e id,
+ * na mesma ordem (rank DESC, id DESC) usada pela consulta.
+ */
+public record BuscaCursor(float rank, UUID id) {
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        var valor = Float.toString(rank) + SEPARADOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Token vazio representa a primeira página.
+     *
+     * @throws IllegalArgumentException quando o token não foi gerado pela API
+     */
+    public static BuscaCursor decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            var valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separador = valor.indexOf(SEPARADOR);
+
+            return new BuscaCursor(
+                    Float.parseFloat(valor.substring(0, separador)),
+                    UUID.fromString(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new IllegalArgumentException("Cursor inválido", exception);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package fiap.testesnobackend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Idempotency-Key já utilizada e a mensagem que ela criou. A chave primária garante que,
+ * entre várias instâncias da aplicação, só uma requisição consiga registrar a mesma chave.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_chave_idempotencia_data_criacao", columnList = "dataCriacao")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChaveIdempotencia implements Persistable<String> {
+
+    @Id
+    @Column(length = 255)
+    private String chave;
+
+    // SHA-256 do corpo da requisição original, para recusar a mesma chave com outro conteúdo
+    @Column(nullable = false, length = 64)
+    private String impressao;
+
+    @Column(nullable = false)
+    private UUID mensagemId;
+
+    @Column(nullable = false)
+    private LocalDateTime dataCriacao;
+
+    // Sempre um INSERT: com o id preenchido o save() faria um merge e sobrescreveria a chave de outra instância
+    @Transient
+    private boolean nova = true;
+
+    public ChaveIdempotencia(String chave, String impressao, UUID mensagemId, LocalDateTime dataCriacao) {
+        this(chave, impressao, mensagemId, dataCriacao, true);
+    }
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistida() {
+        this.nova = false;
+    }
+}
@@ -4,13 +4,15 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -22,8 +24,16 @@ import java.util.UUID;
  */
 
 @Entity
+// No Postgres a tabela vem das migrações (db/migration, particionada por mês); os índices
+// abaixo valem para o esquema que o Hibernate cria no H2 dos testes
+@Table(indexes = {
+        // Atende a listagem por cursor: (dataCriacaoMensagem, id) desempata mensagens do mesmo instante
+        @Index(name = "idx_mensagem_data_criacao_id", columnList = "dataCriacaoMensagem DESC, id DESC"),
+        // Timeline por usuário: a igualdade em usuario vira um intervalo do índice já na ordem da listagem
+        @Index(name = "idx_mensagem_usuario_data_criacao_id", columnList = "usuario, dataCriacaoMensagem DESC, id DESC")
+})
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Mensagem {
@@ -40,18 +50,26 @@ public class Mensagem {
     private String conteudo;
 
 //    @Builder.Default // PARA JÁ INICIAR COM ESTE VALOR
-    @CreationTimestamp // Carregar a data de criação de forma automatica
+    // Atribuída no prePersist; sem @CreationTimestamp, que sobrescreveria a data da ingestão assíncrona
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSSS")
     private LocalDateTime dataCriacaoMensagem = LocalDateTime.now();
 
     @Builder.Default
     private int gostei = 0;
 
+    // Controle de concorrência otimista: toda alteração de conteúdo incrementa a versão
+    @Version
+    private Long versao;
 
+
+    /**
+     * Só preenche a data ausente: a mensagem aceita pela ingestão assíncrona já saiu no
+     * 202 com a data do enfileiramento, e é ela que fica gravada.
+     */
     @PrePersist
     public void prePersist() {
-        var timestamp = LocalDateTime.now();
-
-        this.dataCriacaoMensagem = timestamp;
+        if (this.dataCriacaoMensagem == null) {
+            this.dataCriacaoMensagem = LocalDateTime.now();
+        }
     }
 }
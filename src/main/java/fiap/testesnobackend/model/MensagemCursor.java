@@ -0,0 +1,59 @@
+package fiap.testesnobackend.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Posição da última mensagem entregue em uma listagem por cursor (keyset).
+ * O token trafega de forma opaca para o cliente (Base64 URL-safe).
+ */
+public record MensagemCursor(LocalDateTime dataCriacaoMensagem, UUID id) {
+
+    private static final String SEPARADOR = "|";
+
+    public static MensagemCursor de(Mensagem mensagem) {
+        return new MensagemCursor(mensagem.getDataCriacaoMensagem(), mensagem.getId());
+    }
+
+    public static MensagemCursor de(MensagemResumo resumo) {
+        return new MensagemCursor(resumo.dataCriacaoMensagem(), resumo.id());
+    }
+
+    public String codificar() {
+        var valor = dataCriacaoMensagem + SEPARADOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Token vazio representa a primeira página.
+     *
+     * @throws IllegalArgumentException quando o token não foi gerado pela API
+     */
+    public static MensagemCursor decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            var valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separador = valor.indexOf(SEPARADOR);
+
+            return new MensagemCursor(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    UUID.fromString(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException exception) {
+            throw new IllegalArgumentException("Cursor inválido", exception);
+        }
+    }
+}
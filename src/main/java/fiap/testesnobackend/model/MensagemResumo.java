@@ -0,0 +1,24 @@
+package fiap.testesnobackend.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Projeção da timeline de um usuário: sem o usuário, que já está no caminho da requisição,
+ * e sem passar pelo contexto de persistência (não há entidade gerenciada para cada linha).
+ */
+public record MensagemResumo(
+        UUID id,
+        String conteudo,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSSS") LocalDateTime dataCriacaoMensagem,
+        int gostei,
+        Long versao) {
+}
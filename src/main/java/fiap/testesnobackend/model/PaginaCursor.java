@@ -0,0 +1,16 @@
+package fiap.testesnobackend.model;
+
+import java.util.List;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Página de uma listagem por cursor. Não carrega total de elementos: o próximo
+ * bloco é obtido repassando {@code proximo} no parâmetro {@code after}.
+ */
+public record PaginaCursor<T>(List<T> content, int size, String proximo, boolean ultima) {
+}
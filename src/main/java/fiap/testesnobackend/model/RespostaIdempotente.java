@@ -0,0 +1,18 @@
+package fiap.testesnobackend.model;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Resultado de um registro com Idempotency-Key: {@code repetida} indica que a resposta
+ * é a da primeira requisição com a mesma chave, sem um novo INSERT.
+ */
+public record RespostaIdempotente(Mensagem mensagem, boolean repetida) {
+
+    public RespostaIdempotente comoRepetida() {
+        return new RespostaIdempotente(mensagem.toBuilder().build(), true);
+    }
+}
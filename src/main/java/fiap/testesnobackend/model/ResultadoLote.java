@@ -0,0 +1,30 @@
+package fiap.testesnobackend.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Resultado de cada item de um registro em lote, na mesma ordem do corpo da requisição.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ResultadoLote(int indice, UUID id, int status, String erro) {
+
+    public static ResultadoLote registrado(int indice, UUID id) {
+        return new ResultadoLote(indice, id, 201, null);
+    }
+
+    public static ResultadoLote rejeitado(int indice, int status, String erro) {
+        return new ResultadoLote(indice, null, status, erro);
+    }
+
+    public boolean sucesso() {
+        return status == 201;
+    }
+}
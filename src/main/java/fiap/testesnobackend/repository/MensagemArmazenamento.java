@@ -0,0 +1,110 @@
+package fiap.testesnobackend.repository;
+
+import fiap.testesnobackend.model.BuscaCursor;
+import fiap.testesnobackend.model.ChaveIdempotencia;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.MensagemResumo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Onde as mensagens ficam guardadas, visto pelo MensagemServiceImpl e seus colaboradores.
+ * As regras de negócio ficam no serviço; as implementações só gravam e consultam:
+ * {@link MensagemArmazenamentoJpa} sobre o banco e {@link MensagemRepositoryEmMemoria}
+ * no perfil {@code memory}.
+ */
+public interface MensagemArmazenamento {
+
+    /**
+     * Grava uma mensagem nova (id já atribuído), definindo data de criação e versão inicial.
+     */
+    Mensagem inserir(Mensagem mensagem);
+
+    /**
+     * Grava mensagens novas de uma vez: ou todas, ou nenhuma.
+     */
+    void inserirEmLote(List<Mensagem> mensagens);
+
+    Optional<Mensagem> buscar(UUID id);
+
+    /**
+     * Busca que não pode vir de uma réplica atrasada: a carga do cache por id, que fica
+     * valendo até expirar, logo depois de uma escrita invalidar a entrada.
+     */
+    Optional<Mensagem> buscarNaPrimaria(UUID id);
+
+    boolean existe(UUID id);
+
+    /**
+     * Altera o conteúdo e incrementa a versão, devolvendo o estado já alterado.
+     * Vazio quando a mensagem não existe ou, com {@code versao} informada, está em outra versão.
+     *
+     * @param versao versão esperada; {@code null} altera sem condição (última escrita vence)
+     */
+    Optional<Mensagem> alterarConteudo(UUID id, String conteudo, Long versao);
+
+    /**
+     * @param versao versão esperada, ou {@code null} para remover incondicionalmente
+     * @return {@code false} quando a mensagem não existe ou está em outra versão
+     */
+    boolean remover(UUID id, Long versao);
+
+    /**
+     * Soma incrementos de "gostei" sem alterar a versão das mensagens.
+     */
+    void somarGostei(Map<UUID, Long> incrementos);
+
+    Page<Mensagem> listarMensagens(Pageable pageable);
+
+    Slice<Mensagem> listarMensagensSemContagem(Pageable pageable);
+
+    /**
+     * Mais recentes primeiro, por (dataCriacaoMensagem, id), a partir da mensagem seguinte ao cursor.
+     */
+    List<Mensagem> listarMensagens(MensagemCursor after, int limite);
+
+    List<MensagemResumo> listarMensagensDoUsuario(String usuario, MensagemCursor after, int limite);
+
+    /**
+     * Mensagens cujo conteúdo corresponde ao termo, por relevância e id decrescentes.
+     */
+    List<Encontrada> buscar(String termo, BuscaCursor after, int limite);
+
+    long estimarTotalMensagens();
+
+    void exportarMensagens(Consumer<Mensagem> consumidor);
+
+    /**
+     * Sempre na primária: uma repetição que chega dentro do atraso de replicação precisa
+     * encontrar a chave gravada, ou executaria de novo e esbarraria na chave primária.
+     */
+    Optional<ChaveIdempotencia> buscarChave(String chave);
+
+    /**
+     * @throws org.springframework.dao.DataIntegrityViolationException quando a chave já existe
+     */
+    void inserirChave(ChaveIdempotencia chave);
+
+    void removerChavesCriadasAntesDe(LocalDateTime limite);
+
+    /**
+     * Mensagem encontrada e sua relevância, usada para montar o cursor da próxima página.
+     */
+    record Encontrada(Mensagem mensagem, float rank) {
+    }
+}
@@ -0,0 +1,155 @@
+package fiap.testesnobackend.repository;
+
+import fiap.testesnobackend.model.BuscaCursor;
+import fiap.testesnobackend.model.ChaveIdempotencia;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.MensagemResumo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Armazenamento no banco: delega aos repositórios JPA e JDBC, que continuam
+ * responsáveis pelas consultas e pelas transações de cada operação.
+ */
+@Repository
+@Profile("!memory")
+@RequiredArgsConstructor
+public class MensagemArmazenamentoJpa implements MensagemArmazenamento {
+
+    private final MensagemRepository mensagemRepository;
+
+    private final MensagemBuscaRepository mensagemBuscaRepository;
+
+    private final MensagemGosteiRepository mensagemGosteiRepository;
+
+    private final MensagemEstatisticaRepository mensagemEstatisticaRepository;
+
+    private final ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Override
+    public Mensagem inserir(Mensagem mensagem) {
+        return mensagemRepository.save(mensagem);
+    }
+
+    @Override
+    public void inserirEmLote(List<Mensagem> mensagens) {
+        mensagemRepository.inserirEmLote(mensagens);
+    }
+
+    @Override
+    public Optional<Mensagem> buscar(UUID id) {
+        return mensagemRepository.findById(id);
+    }
+
+    /**
+     * Transação de escrita: o RoteamentoDataSource só manda para réplica as somente leitura.
+     */
+    @Override
+    @Transactional
+    public Optional<Mensagem> buscarNaPrimaria(UUID id) {
+        return mensagemRepository.findById(id);
+    }
+
+    @Override
+    public boolean existe(UUID id) {
+        return mensagemRepository.existsById(id);
+    }
+
+    @Override
+    public Optional<Mensagem> alterarConteudo(UUID id, String conteudo, Long versao) {
+        return mensagemRepository.alterarConteudo(id, conteudo, versao);
+    }
+
+    @Override
+    public boolean remover(UUID id, Long versao) {
+        var removidas = versao == null
+                ? mensagemRepository.removerPorId(id)
+                : mensagemRepository.removerPorIdNaVersao(id, versao);
+        return removidas > 0;
+    }
+
+    @Override
+    public void somarGostei(Map<UUID, Long> incrementos) {
+        mensagemGosteiRepository.somarGostei(incrementos);
+    }
+
+    @Override
+    public Page<Mensagem> listarMensagens(Pageable pageable) {
+        return mensagemRepository.listarMensagens(pageable);
+    }
+
+    @Override
+    public Slice<Mensagem> listarMensagensSemContagem(Pageable pageable) {
+        return mensagemRepository.listarMensagensSemContagem(pageable);
+    }
+
+    @Override
+    public List<Mensagem> listarMensagens(MensagemCursor after, int limite) {
+        return after == null
+                ? mensagemRepository.listarMensagensRecentes(PageRequest.of(0, limite))
+                : mensagemRepository.listarMensagensApos(after.dataCriacaoMensagem(), after.id(), PageRequest.of(0, limite));
+    }
+
+    @Override
+    public List<MensagemResumo> listarMensagensDoUsuario(String usuario, MensagemCursor after, int limite) {
+        return after == null
+                ? mensagemRepository.listarMensagensDoUsuario(usuario, PageRequest.of(0, limite))
+                : mensagemRepository.listarMensagensDoUsuarioApos(usuario, after.dataCriacaoMensagem(), after.id(),
+                PageRequest.of(0, limite));
+    }
+
+    @Override
+    public List<Encontrada> buscar(String termo, BuscaCursor after, int limite) {
+        return mensagemBuscaRepository.buscar(termo, after, limite);
+    }
+
+    @Override
+    public long estimarTotalMensagens() {
+        return mensagemEstatisticaRepository.estimarTotalMensagens();
+    }
+
+    @Override
+    public void exportarMensagens(Consumer<Mensagem> consumidor) {
+        mensagemRepository.exportarMensagens(consumidor);
+    }
+
+    @Override
+    @Transactional
+    public Optional<ChaveIdempotencia> buscarChave(String chave) {
+        return chaveIdempotenciaRepository.findById(chave);
+    }
+
+    /**
+     * O flush faz o INSERT acontecer aqui, para que a violação da chave primária chegue
+     * antes do commit de quem chamou.
+     */
+    @Override
+    public void inserirChave(ChaveIdempotencia chave) {
+        chaveIdempotenciaRepository.saveAndFlush(chave);
+    }
+
+    @Override
+    public void removerChavesCriadasAntesDe(LocalDateTime limite) {
+        chaveIdempotenciaRepository.removerCriadasAntesDe(limite);
+    }
+}
@@ -0,0 +1,95 @@
+package fiap.testesnobackend.repository;
+
+import fiap.testesnobackend.model.BuscaCursor;
+import fiap.testesnobackend.model.Mensagem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Busca textual sobre o conteúdo. No Postgres usa a coluna conteudo_busca (tsvector com
+ * índice GIN, ver db/migration) e ordena por ts_rank; nos demais bancos (H2 dos
+ * testes) cai em um LIKE com relevância fixa, mantendo o mesmo contrato de paginação.
+ */
+@Repository
+@Profile("!memory")
+@RequiredArgsConstructor
+public class MensagemBuscaRepository {
+
+    private static final String BUSCA_POSTGRES =
+            "SELECT * FROM (" +
+            "  SELECT m.id, m.usuario, m.conteudo, m.data_criacao_mensagem, m.gostei, m.versao, " +
+            "         ts_rank(m.conteudo_busca, consulta) AS relevancia " +
+            "  FROM mensagem m, websearch_to_tsquery('portuguese', ?) consulta " +
+            "  WHERE m.conteudo_busca @@ consulta" +
+            ") r ";
+
+    private static final String BUSCA_GENERICA =
+            "SELECT id, usuario, conteudo, data_criacao_mensagem, gostei, versao, CAST(1 AS REAL) AS relevancia " +
+            "FROM mensagem WHERE LOWER(conteudo) LIKE ? ESCAPE '\\' ";
+
+    private static final String APOS_CURSOR_POSTGRES = "WHERE r.relevancia < ? OR (r.relevancia = ? AND r.id < ?) ";
+
+    private static final String APOS_CURSOR_GENERICA = "AND id < ? ";
+
+    private static final String ORDEM = "ORDER BY relevancia DESC, id DESC LIMIT ?";
+
+    private static final RowMapper<MensagemArmazenamento.Encontrada> MAPEADOR = (resultado, linha) -> new MensagemArmazenamento.Encontrada(
+            Mensagem.builder()
+                    .id(resultado.getObject("id", UUID.class))
+                    .usuario(resultado.getString("usuario"))
+                    .conteudo(resultado.getString("conteudo"))
+                    .dataCriacaoMensagem(resultado.getObject("data_criacao_mensagem", LocalDateTime.class))
+                    .gostei(resultado.getInt("gostei"))
+                    .versao(resultado.getObject("versao", Long.class))
+                    .build(),
+            resultado.getFloat("relevancia"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Somente leitura: com o perfil replica, a busca vai para uma réplica.
+     */
+    @Transactional(readOnly = true)
+    public List<MensagemArmazenamento.Encontrada> buscar(String termo, BuscaCursor after, int limite) {
+        if (isPostgres()) {
+            return after == null
+                    ? jdbcTemplate.query(BUSCA_POSTGRES + ORDEM, MAPEADOR, termo, limite)
+                    : jdbcTemplate.query(BUSCA_POSTGRES + APOS_CURSOR_POSTGRES + ORDEM, MAPEADOR,
+                    termo, after.rank(), after.rank(), after.id(), limite);
+        }
+
+        var padrao = "%" + termo.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return after == null
+                ? jdbcTemplate.query(BUSCA_GENERICA + ORDEM, MAPEADOR, padrao, limite)
+                : jdbcTemplate.query(BUSCA_GENERICA + APOS_CURSOR_GENERICA + ORDEM, MAPEADOR,
+                padrao, after.id(), limite);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
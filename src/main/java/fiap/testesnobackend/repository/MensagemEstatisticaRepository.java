@@ -0,0 +1,59 @@
+package fiap.testesnobackend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+@Repository
+@Profile("!memory")
+@RequiredArgsConstructor
+public class MensagemEstatisticaRepository {
+
+    /**
+     * Soma das estimativas do planner (pg_class.reltuples) das partições de mensagem, ou da
+     * própria tabela se não for particionada: a tabela particionada em si não é analisada
+     * pelo autovacuum e fica com -1. Partição nunca analisada conta como zero.
+     */
+    private static final String ESTIMATIVA =
+            "SELECT CASE WHEN bool_or(c.reltuples >= 0) THEN sum(greatest(c.reltuples, 0)) ELSE -1 END::bigint " +
+            "FROM pg_class c " +
+            "WHERE (c.oid = 'mensagem'::regclass AND c.relkind = 'r') " +
+            "OR c.oid IN (SELECT i.inhrelid FROM pg_inherits i WHERE i.inhparent = 'mensagem'::regclass)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * No Postgres usa a estimativa do planner, que não varre a tabela. Nos demais bancos
+     * (H2 dos testes) ou enquanto nenhuma partição foi analisada, cai no COUNT.
+     */
+    public long estimarTotalMensagens() {
+        if (isPostgres()) {
+            var estimativa = jdbcTemplate.queryForObject(ESTIMATIVA, Long.class);
+
+            if (estimativa != null && estimativa >= 0) {
+                return estimativa;
+            }
+        }
+
+        var total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mensagem", Long.class);
+        return total == null ? 0 : total;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
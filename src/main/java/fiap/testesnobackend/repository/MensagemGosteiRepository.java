@@ -0,0 +1,36 @@
+package fiap.testesnobackend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+@Repository
+@Profile("!memory")
+@RequiredArgsConstructor
+public class MensagemGosteiRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Soma os incrementos acumulados em um único lote de UPDATEs relativos, sem ler a linha antes.
+     */
+    @Transactional
+    public void somarGostei(Map<UUID, Long> incrementos) {
+        var parametros = new ArrayList<Object[]>(incrementos.size());
+        incrementos.forEach((id, incremento) -> parametros.add(new Object[]{incremento, id}));
+
+        jdbcTemplate.batchUpdate("UPDATE mensagem SET gostei = gostei + ? WHERE id = ?", parametros);
+    }
+}
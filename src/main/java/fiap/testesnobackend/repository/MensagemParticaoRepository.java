@@ -0,0 +1,121 @@
+package fiap.testesnobackend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * DDL das partições da tabela mensagem (Postgres). Os nomes vêm da ManutencaoParticoes,
+ * nunca de entrada do cliente, por isso entram direto no comando.
+ */
+@Repository
+@Profile("!memory")
+@RequiredArgsConstructor
+public class MensagemParticaoRepository {
+
+    /**
+     * Chave da trava consultiva da manutenção; qualquer número fixo que nada mais use.
+     */
+    private static final long TRAVA_MANUTENCAO = 7_382_001L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean particionada;
+
+    /**
+     * Falso no H2 dos testes, em que o Hibernate cria uma tabela comum.
+     */
+    public boolean isParticionada() {
+        if (particionada == null) {
+            particionada = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()))
+                    && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'mensagem'::regclass)",
+                    Boolean.class));
+        }
+        return particionada;
+    }
+
+    /**
+     * Roda a manutenção só se esta instância obtiver a trava consultiva; enquanto isso as
+     * outras pulam a verificação. A trava é de sessão, por isso é obtida e liberada na
+     * mesma conexão, que fica reservada até o fim da manutenção.
+     *
+     * @return {@code false} quando outra instância está com a trava
+     */
+    public boolean executarComTrava(Runnable manutencao) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (var travar = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                travar.setLong(1, TRAVA_MANUTENCAO);
+                try (var resultado = travar.executeQuery()) {
+                    if (!resultado.next() || !resultado.getBoolean(1)) {
+                        return false;
+                    }
+                }
+            }
+
+            try {
+                manutencao.run();
+                return true;
+            } finally {
+                try (var liberar = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                    liberar.setLong(1, TRAVA_MANUTENCAO);
+                    liberar.execute();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Inclui as partições com DETACH CONCURRENTLY interrompido (inhdetachpending), que
+     * continuam ligadas à tabela até um DETACH ... FINALIZE.
+     */
+    public List<Particao> listarParticoes() {
+        return jdbcTemplate.query(
+                "SELECT c.relname, i.inhdetachpending FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = 'mensagem'::regclass",
+                (rs, rowNum) -> new Particao(rs.getString(1), rs.getBoolean(2)));
+    }
+
+    /**
+     * Os índices da tabela mensagem são criados junto, na nova partição.
+     */
+    public void criarParticao(String nome, LocalDate inicio, LocalDate fim) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + nome + " PARTITION OF mensagem " +
+                "FOR VALUES FROM ('" + inicio + "') TO ('" + fim + "')");
+    }
+
+    /**
+     * CONCURRENTLY (Postgres 14+): leituras e escritas em mensagem seguem durante o DETACH.
+     * Não pode rodar dentro de transação, por isso fica fora de {@code @Transactional}.
+     */
+    public void desanexarParticao(String nome) {
+        jdbcTemplate.execute("ALTER TABLE mensagem DETACH PARTITION " + nome + " CONCURRENTLY");
+    }
+
+    /**
+     * Conclui um DETACH CONCURRENTLY que parou no meio (queda da instância, cancelamento);
+     * sem isso a partição fica pendente e um novo DETACH falha.
+     */
+    public void finalizarDesanexacao(String nome) {
+        jdbcTemplate.execute("ALTER TABLE mensagem DETACH PARTITION " + nome + " FINALIZE");
+    }
+
+    public void removerParticao(String nome) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + nome);
+    }
+
+    public record Particao(String nome, boolean desanexacaoPendente) {
+    }
+}
@@ -0,0 +1,182 @@
+package fiap.testesnobackend.repository;
+
+import fiap.testesnobackend.model.Mensagem;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Acesso R2DBC à mesma tabela mensagem mapeada pelo JPA. As consultas espelham as de
+ * {@link MensagemRepository}; as remoções devolvem o número de linhas afetadas.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class MensagemReativaRepository {
+
+    private static final String COLUNAS =
+            "SELECT id, usuario, conteudo, data_criacao_mensagem, gostei, versao FROM mensagem ";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Mensagem> buscarPorId(UUID id) {
+        return databaseClient.sql(COLUNAS + "WHERE id = :id")
+                .bind("id", id)
+                .map(MensagemReativaRepository::paraMensagem)
+                .one();
+    }
+
+    public Mono<Boolean> existePorId(UUID id) {
+        return databaseClient.sql("SELECT 1 FROM mensagem WHERE id = :id")
+                .bind("id", id)
+                .map(linha -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Long> inserir(Mensagem mensagem) {
+        return databaseClient.sql("INSERT INTO mensagem " +
+                        "(id, usuario, conteudo, data_criacao_mensagem, gostei, versao) " +
+                        "VALUES (:id, :usuario, :conteudo, :data, :gostei, :versao)")
+                .bind("id", mensagem.getId())
+                .bind("usuario", mensagem.getUsuario())
+                .bind("conteudo", mensagem.getConteudo())
+                .bind("data", mensagem.getDataCriacaoMensagem())
+                .bind("gostei", mensagem.getGostei())
+                .bind("versao", mensagem.getVersao())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Um único INSERT com várias linhas: o lote entra inteiro ou não entra.
+     */
+    public Mono<Long> inserirEmLote(List<Mensagem> mensagens) {
+        var comando = new StringBuilder("INSERT INTO mensagem " +
+                "(id, usuario, conteudo, data_criacao_mensagem, gostei, versao) VALUES ");
+        for (int i = 0; i < mensagens.size(); i++) {
+            comando.append(i == 0 ? "(" : ", (")
+                    .append(":id").append(i).append(", :usuario").append(i)
+                    .append(", :conteudo").append(i).append(", :data").append(i)
+                    .append(", :gostei").append(i).append(", :versao").append(i)
+                    .append(')');
+        }
+
+        var especificacao = databaseClient.sql(comando.toString());
+        for (int i = 0; i < mensagens.size(); i++) {
+            var mensagem = mensagens.get(i);
+            especificacao = especificacao
+                    .bind("id" + i, mensagem.getId())
+                    .bind("usuario" + i, mensagem.getUsuario())
+                    .bind("conteudo" + i, mensagem.getConteudo())
+                    .bind("data" + i, mensagem.getDataCriacaoMensagem())
+                    .bind("gostei" + i, mensagem.getGostei())
+                    .bind("versao" + i, mensagem.getVersao());
+        }
+
+        return especificacao.fetch().rowsUpdated();
+    }
+
+    public Flux<Mensagem> listarMensagens(int limite, long deslocamento) {
+        return databaseClient.sql(COLUNAS + "ORDER BY data_criacao_mensagem DESC LIMIT :limite OFFSET :deslocamento")
+                .bind("limite", limite)
+                .bind("deslocamento", deslocamento)
+                .map(MensagemReativaRepository::paraMensagem)
+                .all();
+    }
+
+    public Mono<Long> contarMensagens() {
+        return databaseClient.sql("SELECT COUNT(*) FROM mensagem")
+                .map(linha -> linha.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<Mensagem> listarMensagensRecentes(int limite) {
+        return databaseClient.sql(COLUNAS + "ORDER BY data_criacao_mensagem DESC, id DESC LIMIT :limite")
+                .bind("limite", limite)
+                .map(MensagemReativaRepository::paraMensagem)
+                .all();
+    }
+
+    public Flux<Mensagem> listarMensagensApos(LocalDateTime data, UUID id, int limite) {
+        return databaseClient.sql(COLUNAS +
+                        "WHERE data_criacao_mensagem <= :data " +
+                        "AND (data_criacao_mensagem < :data OR id < :id) " +
+                        "ORDER BY data_criacao_mensagem DESC, id DESC LIMIT :limite")
+                .bind("data", data)
+                .bind("id", id)
+                .bind("limite", limite)
+                .map(MensagemReativaRepository::paraMensagem)
+                .all();
+    }
+
+    /**
+     * UPDATE ... RETURNING: a mensagem alterada vem na mesma ida ao banco; vazio quando
+     * ela não existe ou, com {@code versao} informada, está em outra versão.
+     */
+    public Mono<Mensagem> alterarConteudo(UUID id, String conteudo, Long versao) {
+        var comando = "UPDATE mensagem SET conteudo = :conteudo, versao = versao + 1 WHERE id = :id " +
+                (versao == null ? "" : "AND versao = :versao ") +
+                "RETURNING id, usuario, conteudo, data_criacao_mensagem, gostei, versao";
+
+        var especificacao = databaseClient.sql(comando)
+                .bind("id", id)
+                .bind("conteudo", conteudo);
+        if (versao != null) {
+            especificacao = especificacao.bind("versao", versao);
+        }
+
+        return especificacao.map(MensagemReativaRepository::paraMensagem).one();
+    }
+
+    /**
+     * Tabela inteira, trazida do cursor do driver em blocos de {@code tamanhoBusca} linhas:
+     * quem consome (a escrita na resposta) dita o ritmo da leitura.
+     */
+    public Flux<Mensagem> exportarMensagens(int tamanhoBusca) {
+        return databaseClient.sql(COLUNAS)
+                .filter(statement -> statement.fetchSize(tamanhoBusca))
+                .map(MensagemReativaRepository::paraMensagem)
+                .all();
+    }
+
+    public Mono<Long> removerPorId(UUID id) {
+        return databaseClient.sql("DELETE FROM mensagem WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> removerPorIdNaVersao(UUID id, long versao) {
+        return databaseClient.sql("DELETE FROM mensagem WHERE id = :id AND versao = :versao")
+                .bind("id", id)
+                .bind("versao", versao)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Mensagem paraMensagem(Readable linha) {
+        return Mensagem.builder()
+                .id(linha.get("id", UUID.class))
+                .usuario(linha.get("usuario", String.class))
+                .conteudo(linha.get("conteudo", String.class))
+                .dataCriacaoMensagem(linha.get("data_criacao_mensagem", LocalDateTime.class))
+                .gostei(linha.get("gostei", Integer.class))
+                .versao(linha.get("versao", Long.class))
+                .build();
+    }
+}
@@ -1,11 +1,18 @@
 package fiap.testesnobackend.repository;
 
 import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemResumo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -14,8 +21,71 @@ import java.util.UUID;
  * Project Name: testes-no-backend
  */
 
-public interface MensagemRepository extends JpaRepository<Mensagem, UUID> {
+/**
+ * Consultas em transação somente leitura (as do Spring Data não abrem transação sozinhas);
+ * as escritas declaram a própria. Com o perfil replica, são as leituras que vão para réplicas.
+ */
+@Transactional(readOnly = true)
+public interface MensagemRepository extends JpaRepository<Mensagem, UUID>, MensagemRepositoryCustom {
 
     @Query("SELECT m FROM Mensagem m ORDER BY m.dataCriacaoMensagem DESC")
     Page<Mensagem> listarMensagens(Pageable pageable);
+
+    /**
+     * Mesmo ordenamento de {@link #listarMensagens(Pageable)}, sem a consulta de COUNT(*).
+     */
+    @Query("SELECT m FROM Mensagem m ORDER BY m.dataCriacaoMensagem DESC")
+    Slice<Mensagem> listarMensagensSemContagem(Pageable pageable);
+
+    @Query("SELECT m FROM Mensagem m ORDER BY m.dataCriacaoMensagem DESC, m.id DESC")
+    List<Mensagem> listarMensagensRecentes(Pageable pageable);
+
+    /**
+     * Keyset: parte da última mensagem entregue ao invés de descartar as linhas de um OFFSET.
+     * O {@code <= :data} delimita a varredura no índice idx_mensagem_data_criacao_id.
+     */
+    @Query("SELECT m FROM Mensagem m " +
+            "WHERE m.dataCriacaoMensagem <= :data " +
+            "AND (m.dataCriacaoMensagem < :data OR m.id < :id) " +
+            "ORDER BY m.dataCriacaoMensagem DESC, m.id DESC")
+    List<Mensagem> listarMensagensApos(@Param("data") LocalDateTime data,
+                                       @Param("id") UUID id,
+                                       Pageable pageable);
+
+    /**
+     * Timeline de um usuário, percorrendo o índice idx_mensagem_usuario_data_criacao_id, que
+     * no Postgres inclui todas as colunas da projeção (index-only scan). A projeção evita
+     * carregar entidades gerenciadas só para serializá-las.
+     */
+    @Query("SELECT new fiap.testesnobackend.model.MensagemResumo(" +
+            "m.id, m.conteudo, m.dataCriacaoMensagem, m.gostei, m.versao) " +
+            "FROM Mensagem m WHERE m.usuario = :usuario " +
+            "ORDER BY m.dataCriacaoMensagem DESC, m.id DESC")
+    List<MensagemResumo> listarMensagensDoUsuario(@Param("usuario") String usuario, Pageable pageable);
+
+    @Query("SELECT new fiap.testesnobackend.model.MensagemResumo(" +
+            "m.id, m.conteudo, m.dataCriacaoMensagem, m.gostei, m.versao) " +
+            "FROM Mensagem m WHERE m.usuario = :usuario " +
+            "AND m.dataCriacaoMensagem <= :data " +
+            "AND (m.dataCriacaoMensagem < :data OR m.id < :id) " +
+            "ORDER BY m.dataCriacaoMensagem DESC, m.id DESC")
+    List<MensagemResumo> listarMensagensDoUsuarioApos(@Param("usuario") String usuario,
+                                                      @Param("data") LocalDateTime data,
+                                                      @Param("id") UUID id,
+                                                      Pageable pageable);
+
+    /**
+     * Remoções em um único comando: o número de linhas afetadas indica se a mensagem
+     * existia (e, na variante com versão, se ninguém a alterou antes). A alteração de
+     * conteúdo, que devolve o estado novo, fica em {@link MensagemRepositoryCustom}.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Mensagem m WHERE m.id = :id")
+    int removerPorId(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Mensagem m WHERE m.id = :id AND m.versao = :versao")
+    int removerPorIdNaVersao(@Param("id") UUID id, @Param("versao") Long versao);
 }
@@ -0,0 +1,42 @@
+package fiap.testesnobackend.repository;
+
+import fiap.testesnobackend.model.Mensagem;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+public interface MensagemRepositoryCustom {
+
+    /**
+     * Persiste mensagens novas (id já atribuído) em uma única transação,
+     * deixando o Hibernate agrupar os INSERTs em lotes JDBC.
+     */
+    @Transactional
+    void inserirEmLote(List<Mensagem> mensagens);
+
+    /**
+     * Altera o conteúdo e incrementa a versão, devolvendo a linha já alterada: no Postgres
+     * em um único UPDATE ... RETURNING, nos demais bancos com o SELECT na mesma transação.
+     * Vazio quando a mensagem não existe ou, com {@code versao} informada, está em outra versão.
+     *
+     * @param versao versão esperada; {@code null} altera sem condição (última escrita vence)
+     */
+    @Transactional
+    Optional<Mensagem> alterarConteudo(UUID id, String conteudo, Long versao);
+
+    /**
+     * Percorre a tabela inteira com um cursor somente-leitura, entregando uma
+     * mensagem por vez e desanexando-a em seguida: o heap não cresce com o total.
+     */
+    @Transactional(readOnly = true)
+    void exportarMensagens(Consumer<Mensagem> consumidor);
+}
@@ -0,0 +1,116 @@
+package fiap.testesnobackend.repository;
+
+import fiap.testesnobackend.model.Mensagem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+public class MensagemRepositoryCustomImpl implements MensagemRepositoryCustom {
+
+    private static final String ALTERACAO =
+            "UPDATE mensagem SET conteudo = ?, versao = versao + 1 WHERE id = ? ";
+
+    private static final String NA_VERSAO = "AND versao = ? ";
+
+    private static final String RETORNO =
+            "RETURNING id, usuario, conteudo, data_criacao_mensagem, gostei, versao";
+
+    private static final String BUSCA_POR_ID =
+            "SELECT id, usuario, conteudo, data_criacao_mensagem, gostei, versao FROM mensagem WHERE id = ?";
+
+    private static final RowMapper<Mensagem> MAPEADOR = (resultado, linha) -> Mensagem.builder()
+            .id(resultado.getObject("id", UUID.class))
+            .usuario(resultado.getString("usuario"))
+            .conteudo(resultado.getString("conteudo"))
+            .dataCriacaoMensagem(resultado.getObject("data_criacao_mensagem", LocalDateTime.class))
+            .gostei(resultado.getInt("gostei"))
+            .versao(resultado.getObject("versao", Long.class))
+            .build();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tamanhoLoteJdbc;
+
+    @Value("${mensagem.export.tamanho-busca:1000}")
+    private int tamanhoBuscaExportacao;
+
+    @Override
+    public void inserirEmLote(List<Mensagem> mensagens) {
+        for (int i = 0; i < mensagens.size(); i++) {
+            // persist direto: o save() faria um SELECT por mensagem, já que o id vem preenchido
+            entityManager.persist(mensagens.get(i));
+
+            if ((i + 1) % tamanhoLoteJdbc == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public Optional<Mensagem> alterarConteudo(UUID id, String conteudo, Long versao) {
+        var comando = versao == null ? ALTERACAO : ALTERACAO + NA_VERSAO;
+        var parametros = versao == null ? new Object[]{conteudo, id} : new Object[]{conteudo, id, versao};
+
+        if (isPostgres()) {
+            return jdbcTemplate.query(comando + RETORNO, MAPEADOR, parametros).stream().findFirst();
+        }
+
+        if (jdbcTemplate.update(comando, parametros) == 0) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query(BUSCA_POR_ID, MAPEADOR, id).stream().findFirst();
+    }
+
+    @Override
+    public void exportarMensagens(Consumer<Mensagem> consumidor) {
+        // getResultStream usa um ScrollableResults FORWARD_ONLY; o fetch size evita que o
+        // driver traga o resultado inteiro de uma vez (no Postgres exige transação aberta)
+        try (Stream<Mensagem> mensagens = entityManager
+                .createQuery("SELECT m FROM Mensagem m", Mensagem.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, tamanhoBuscaExportacao)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            mensagens.forEach(mensagem -> {
+                consumidor.accept(mensagem);
+                entityManager.detach(mensagem);
+            });
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
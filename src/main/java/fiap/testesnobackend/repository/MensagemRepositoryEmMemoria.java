@@ -0,0 +1,292 @@
+package fiap.testesnobackend.repository;
+
+import fiap.testesnobackend.model.BuscaCursor;
+import fiap.testesnobackend.model.ChaveIdempotencia;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.MensagemResumo;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Armazenamento das mensagens em memória (perfil {@code memory}), sem banco e sem I/O.
+ * <p>
+ * O estado de cada mensagem é uma instância imutável por convenção no mapa por id: toda
+ * escrita monta uma cópia nova e a publica com {@code replace(id, atual, nova)}, repetindo
+ * se outra escrita chegou antes. As listagens percorrem skip lists ordenadas por
+ * (dataCriacaoMensagem, id) DESC, a mesma ordem dos índices do banco; como data e id nunca
+ * mudam, os índices só são tocados na inclusão e na remoção.
+ */
+@Repository
+@Profile("memory")
+public class MensagemRepositoryEmMemoria implements MensagemArmazenamento {
+
+    private static final Comparator<MensagemCursor> MAIS_RECENTE_PRIMEIRO = Comparator
+            .comparing(MensagemCursor::dataCriacaoMensagem)
+            .thenComparing(MensagemCursor::id)
+            .reversed();
+
+    private final Map<UUID, Mensagem> porId = new ConcurrentHashMap<>();
+
+    private final ConcurrentNavigableMap<MensagemCursor, UUID> porData = new ConcurrentSkipListMap<>(MAIS_RECENTE_PRIMEIRO);
+
+    private final Map<String, ConcurrentNavigableMap<MensagemCursor, UUID>> porUsuario = new ConcurrentHashMap<>();
+
+    private final Map<String, ChaveIdempotencia> chaves = new ConcurrentHashMap<>();
+
+    /**
+     * Equivalente ao persist: data de criação e versão inicial são atribuídas aqui.
+     *
+     * @throws DuplicateKeyException quando o id já existe
+     */
+    @Override
+    public Mensagem inserir(Mensagem mensagem) {
+        var gravada = copiar(mensagem);
+        gravada.prePersist();
+        gravada.setVersao(0L);
+
+        if (porId.putIfAbsent(gravada.getId(), gravada) != null) {
+            throw new DuplicateKeyException("Mensagem " + gravada.getId() + " já existe");
+        }
+
+        // Indexada depois de publicada: quem percorre o índice sempre encontra a mensagem no mapa
+        var chave = MensagemCursor.de(gravada);
+        porData.put(chave, gravada.getId());
+        porUsuario.computeIfAbsent(gravada.getUsuario(), usuario -> new ConcurrentSkipListMap<>(MAIS_RECENTE_PRIMEIRO))
+                .put(chave, gravada.getId());
+
+        return copiar(gravada);
+    }
+
+    /**
+     * Sem transação, o "tudo ou nada" é feito desfazendo as inclusões anteriores à falha.
+     */
+    @Override
+    public void inserirEmLote(List<Mensagem> mensagens) {
+        var inseridas = new ArrayList<UUID>(mensagens.size());
+
+        try {
+            for (var mensagem : mensagens) {
+                var gravada = inserir(mensagem);
+                mensagem.setDataCriacaoMensagem(gravada.getDataCriacaoMensagem());
+                mensagem.setVersao(gravada.getVersao());
+                inseridas.add(gravada.getId());
+            }
+        } catch (RuntimeException exception) {
+            inseridas.forEach(id -> remover(id, null));
+            throw exception;
+        }
+    }
+
+    @Override
+    public Optional<Mensagem> buscar(UUID id) {
+        return Optional.ofNullable(porId.get(id)).map(MensagemRepositoryEmMemoria::copiar);
+    }
+
+    @Override
+    public Optional<Mensagem> buscarNaPrimaria(UUID id) {
+        return buscar(id);
+    }
+
+    @Override
+    public boolean existe(UUID id) {
+        return porId.containsKey(id);
+    }
+
+    @Override
+    public Optional<Mensagem> alterarConteudo(UUID id, String conteudo, Long versao) {
+        return alterar(id, versao, mensagem -> {
+            mensagem.setConteudo(conteudo);
+            mensagem.setVersao(mensagem.getVersao() + 1);
+            return mensagem;
+        });
+    }
+
+    /**
+     * Como o UPDATE relativo do banco: soma sem tocar na versão.
+     */
+    @Override
+    public void somarGostei(Map<UUID, Long> incrementos) {
+        incrementos.forEach((id, incremento) -> alterar(id, null, mensagem -> {
+            mensagem.setGostei(mensagem.getGostei() + incremento.intValue());
+            return mensagem;
+        }));
+    }
+
+    /**
+     * Aplica {@code alteracao} sobre uma cópia do estado atual e a publica se ninguém
+     * escreveu no meio do caminho; do contrário, tenta de novo sobre o estado mais recente.
+     *
+     * @param versao versão esperada, ou {@code null} para alterar incondicionalmente
+     * @return vazio quando a mensagem não existe ou está em outra versão
+     */
+    private Optional<Mensagem> alterar(UUID id, Long versao, UnaryOperator<Mensagem> alteracao) {
+        while (true) {
+            var atual = porId.get(id);
+            if (atual == null || (versao != null && !versao.equals(atual.getVersao()))) {
+                return Optional.empty();
+            }
+
+            var nova = alteracao.apply(copiar(atual));
+            if (porId.replace(id, atual, nova)) {
+                return Optional.of(copiar(nova));
+            }
+        }
+    }
+
+    @Override
+    public boolean remover(UUID id, Long versao) {
+        while (true) {
+            var atual = porId.get(id);
+            if (atual == null || (versao != null && !versao.equals(atual.getVersao()))) {
+                return false;
+            }
+
+            if (porId.remove(id, atual)) {
+                var chave = MensagemCursor.de(atual);
+                porData.remove(chave);
+                var doUsuario = porUsuario.get(atual.getUsuario());
+                if (doUsuario != null) {
+                    doUsuario.remove(chave);
+                }
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public List<Mensagem> listarMensagens(MensagemCursor after, int limite) {
+        return mensagens(after == null ? porData : porData.tailMap(after, false))
+                .limit(limite)
+                .toList();
+    }
+
+    @Override
+    public List<MensagemResumo> listarMensagensDoUsuario(String usuario, MensagemCursor after, int limite) {
+        var doUsuario = porUsuario.get(usuario);
+        if (doUsuario == null) {
+            return List.of();
+        }
+
+        return mensagens(after == null ? doUsuario : doUsuario.tailMap(after, false))
+                .limit(limite)
+                .map(mensagem -> new MensagemResumo(mensagem.getId(), mensagem.getConteudo(),
+                        mensagem.getDataCriacaoMensagem(), mensagem.getGostei(), mensagem.getVersao()))
+                .toList();
+    }
+
+    /**
+     * Paginação por OFFSET, mantida pela compatibilidade com GET /mensagens?page=: percorre
+     * e descarta as mensagens anteriores à página, como o banco faria.
+     */
+    @Override
+    public Page<Mensagem> listarMensagens(Pageable pageable) {
+        var pagina = mensagens(porData)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(pagina, pageable, porId.size());
+    }
+
+    @Override
+    public Slice<Mensagem> listarMensagensSemContagem(Pageable pageable) {
+        var mensagens = mensagens(porData)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .toList();
+
+        var temProxima = mensagens.size() > pageable.getPageSize();
+        return new SliceImpl<>(temProxima ? mensagens.subList(0, pageable.getPageSize()) : mensagens,
+                pageable, temProxima);
+    }
+
+    /**
+     * Mesmo contrato do fallback com LIKE do {@link MensagemBuscaRepository}: conteúdo que
+     * contém o termo, sem diferenciar maiúsculas, com relevância fixa e ordenado por id DESC a
+     * partir do cursor. Não há índice textual, então a busca percorre todas as mensagens.
+     */
+    @Override
+    public List<Encontrada> buscar(String termo, BuscaCursor after, int limite) {
+        var procurado = termo.toLowerCase();
+
+        return porId.values().stream()
+                .filter(mensagem -> after == null || mensagem.getId().compareTo(after.id()) < 0)
+                .filter(mensagem -> mensagem.getConteudo().toLowerCase().contains(procurado))
+                .sorted(Comparator.comparing(Mensagem::getId).reversed())
+                .limit(limite)
+                .map(mensagem -> new Encontrada(copiar(mensagem), 1.0f))
+                .toList();
+    }
+
+    /**
+     * Em memória o total é exato e não custa nada.
+     */
+    @Override
+    public long estimarTotalMensagens() {
+        return porId.size();
+    }
+
+    @Override
+    public void exportarMensagens(Consumer<Mensagem> consumidor) {
+        mensagens(porData).forEach(consumidor);
+    }
+
+    @Override
+    public Optional<ChaveIdempotencia> buscarChave(String chave) {
+        return Optional.ofNullable(chaves.get(chave));
+    }
+
+    @Override
+    public void inserirChave(ChaveIdempotencia chave) {
+        if (chaves.putIfAbsent(chave.getChave(), chave) != null) {
+            throw new DuplicateKeyException("Idempotency-Key " + chave.getChave() + " já existe");
+        }
+    }
+
+    @Override
+    public void removerChavesCriadasAntesDe(LocalDateTime limite) {
+        chaves.values().removeIf(chave -> chave.getDataCriacao().isBefore(limite));
+    }
+
+    /**
+     * Mensagens na ordem do índice. Uma remoção concorrente pode deixar a chave no índice
+     * por um instante depois de sair do mapa; essas entradas são ignoradas.
+     */
+    private Stream<Mensagem> mensagens(ConcurrentNavigableMap<MensagemCursor, UUID> indice) {
+        return indice.values().stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(MensagemRepositoryEmMemoria::copiar);
+    }
+
+    private static Mensagem copiar(Mensagem mensagem) {
+        return mensagem.toBuilder().build();
+    }
+}
@@ -0,0 +1,333 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.cache.MensagemCache;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Ingestão assíncrona (write-behind) de mensagens novas, ligada por
+ * {@code mensagem.ingestao.assincrona}. As requisições só colocam a mensagem em um anel
+ * limitado sem locks; uma thread escritora esvazia o anel em lotes, cada lote em uma
+ * única transação. Até o commit a mensagem fica visível em {@link #pendente(UUID)}.
+ * Falhas transitórias do banco são repetidas com espera crescente: enquanto isso o anel
+ * enche e as requisições recebem 429, mas nenhuma mensagem aceita é perdida, nem no
+ * encerramento, que espera o banco gravar o que restou.
+ */
+@Slf4j
+@Component
+public class FilaIngestao implements SmartLifecycle {
+
+    private static final long ESPERA_INICIAL_NOVA_TENTATIVA_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long ESPERA_MAXIMA_NOVA_TENTATIVA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final MensagemArmazenamento mensagemArmazenamento;
+
+    private final MensagemCache mensagemCache;
+
+    private final boolean ativa;
+
+    private final int tamanhoLote;
+
+    private final long esperaNanos;
+
+    private final Anel anel;
+
+    private final Map<UUID, Mensagem> pendentes = new ConcurrentHashMap<>();
+
+    private volatile boolean rodando;
+
+    private Thread escritora;
+
+    public FilaIngestao(
+            MensagemArmazenamento mensagemArmazenamento,
+            MensagemCache mensagemCache,
+            @Value("${mensagem.ingestao.assincrona:false}") boolean ativa,
+            @Value("${mensagem.ingestao.capacidade:8192}") int capacidade,
+            @Value("${mensagem.ingestao.tamanho-lote:500}") int tamanhoLote,
+            @Value("${mensagem.ingestao.espera-ms:1}") long esperaMs) {
+        this.mensagemArmazenamento = mensagemArmazenamento;
+        this.mensagemCache = mensagemCache;
+        this.ativa = ativa;
+        this.tamanhoLote = tamanhoLote;
+        this.esperaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMs);
+        this.anel = new Anel(capacidade);
+    }
+
+    /**
+     * @return {@code false} quando o anel está cheio ou a fila não está rodando
+     */
+    public boolean enfileirar(Mensagem mensagem) {
+        if (!rodando) {
+            return false;
+        }
+
+        // Registrada antes de entrar no anel: a escritora nunca grava algo que a leitura não enxergue
+        pendentes.put(mensagem.getId(), mensagem);
+        if (!anel.oferecer(mensagem)) {
+            pendentes.remove(mensagem.getId());
+            return false;
+        }
+
+        // O stop() pode ter esvaziado o anel entre a verificação acima e o oferecer: sem
+        // escritora, quem enfileirou grava antes de responder (espera o stop() terminar)
+        if (!rodando) {
+            descarregar();
+        }
+
+        return true;
+    }
+
+    /**
+     * Cópia da mensagem aceita e ainda não gravada, para leituras logo após o 202.
+     */
+    public Optional<Mensagem> pendente(UUID id) {
+        return Optional.ofNullable(pendentes.get(id)).map(mensagem -> mensagem.toBuilder().build());
+    }
+
+    public int quantidadePendente() {
+        return pendentes.size();
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return ativa;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (rodando) {
+            return;
+        }
+
+        rodando = true;
+        escritora = new Thread(this::escrever, "ingestao-mensagens");
+        escritora.start();
+    }
+
+    /**
+     * Para de aceitar mensagens, espera a escritora terminar e grava o que restou no anel.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!rodando) {
+            return;
+        }
+
+        rodando = false;
+        LockSupport.unpark(escritora);
+
+        try {
+            escritora.join();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+
+        descarregar();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return rodando;
+    }
+
+    /**
+     * Os lifecycles param da fase mais alta para a mais baixa, e o servidor web para em
+     * {@code DEFAULT_PHASE - 1024} (desligamento gracioso) e {@code - 2048}. Abaixo deles,
+     * a fila só é esvaziada depois que as requisições param de chegar; o pool de conexões
+     * fecha depois de todos os lifecycles.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Grava tudo o que estiver no anel, em lotes. Também é chamado no encerramento,
+     * por isso é sincronizado: o anel admite um único consumidor por vez.
+     */
+    synchronized int descarregar() {
+        var total = 0;
+        var lote = new ArrayList<Mensagem>(tamanhoLote);
+
+        while (anel.retirar(lote, tamanhoLote) > 0) {
+            gravar(lote);
+            total += lote.size();
+            lote.clear();
+        }
+
+        return total;
+    }
+
+    private void escrever() {
+        while (rodando) {
+            try {
+                if (descarregar() == 0) {
+                    LockSupport.parkNanos(esperaNanos);
+                }
+            } catch (RuntimeException runtimeException) {
+                // A escritora não pode morrer com a fila aceitando mensagens
+                log.error("Falha inesperada na escritora da ingestão assíncrona", runtimeException);
+                LockSupport.parkNanos(ESPERA_MAXIMA_NOVA_TENTATIVA_NANOS);
+            }
+        }
+    }
+
+    private void gravar(List<Mensagem> lote) {
+        // O persist altera a instância (data e versão); quem lê o pendente vê a mensagem como foi aceita
+        var copias = lote.stream().map(mensagem -> mensagem.toBuilder().build()).toList();
+
+        try {
+            inserir(copias);
+            copias.forEach(this::concluir);
+        } catch (DataIntegrityViolationException dataIntegrityViolationException) {
+            // Uma mensagem problemática não derruba as demais do lote
+            copias.forEach(this::gravarIndividualmente);
+        } catch (RuntimeException runtimeException) {
+            copias.forEach(mensagem -> descartar(mensagem, runtimeException));
+        }
+    }
+
+    private void gravarIndividualmente(Mensagem mensagem) {
+        try {
+            inserir(List.of(mensagem));
+            concluir(mensagem);
+        } catch (RuntimeException runtimeException) {
+            descartar(mensagem, runtimeException);
+        }
+    }
+
+    /**
+     * Violação de integridade é permanente e sobe na primeira tentativa. As demais falhas
+     * (conexão, transação, timeout) são repetidas até gravar, inclusive no encerramento:
+     * as mensagens já foram confirmadas com 202 e não há outro lugar para guardá-las.
+     */
+    private void inserir(List<Mensagem> mensagens) {
+        var espera = ESPERA_INICIAL_NOVA_TENTATIVA_NANOS;
+
+        for (int tentativa = 1; ; tentativa++) {
+            // Um persist desfeito já atribuiu a versão; com ela o Hibernate trataria a cópia como destacada
+            mensagens.forEach(mensagem -> mensagem.setVersao(null));
+
+            try {
+                mensagemArmazenamento.inserirEmLote(mensagens);
+                return;
+            } catch (DataIntegrityViolationException dataIntegrityViolationException) {
+                throw dataIntegrityViolationException;
+            } catch (RuntimeException runtimeException) {
+                log.warn("Falha ao gravar {} mensagens da ingestão assíncrona (tentativa {}), tentando de novo",
+                        mensagens.size(), tentativa, runtimeException);
+                LockSupport.parkNanos(espera);
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_NOVA_TENTATIVA_NANOS);
+            }
+        }
+    }
+
+    private void descartar(Mensagem mensagem, RuntimeException causa) {
+        pendentes.remove(mensagem.getId());
+        log.error("Falha ao gravar a mensagem {} aceita pela ingestão assíncrona", mensagem.getId(), causa);
+    }
+
+    private void concluir(Mensagem mensagem) {
+        // Primeiro o cache, depois a remoção: a leitura sempre encontra a mensagem em um dos dois
+        mensagemCache.atualizar(mensagem);
+        pendentes.remove(mensagem.getId());
+    }
+
+    /**
+     * Anel limitado de múltiplos produtores (Vyukov): cada posição tem uma sequência que
+     * indica se está livre para a volta atual do produtor ou pronta para o consumidor.
+     * Produtores disputam só um CAS na posição de escrita; não há lock.
+     */
+    static final class Anel {
+
+        private final AtomicReferenceArray<Mensagem> posicoes;
+
+        private final AtomicLongArray sequencias;
+
+        private final int mascara;
+
+        private final AtomicLong escrita = new AtomicLong();
+
+        private long leitura;
+
+        Anel(int capacidade) {
+            var tamanho = Integer.highestOneBit(Math.max(2, capacidade - 1)) << 1;
+            this.posicoes = new AtomicReferenceArray<>(tamanho);
+            this.sequencias = new AtomicLongArray(tamanho);
+            this.mascara = tamanho - 1;
+
+            for (int i = 0; i < tamanho; i++) {
+                sequencias.set(i, i);
+            }
+        }
+
+        boolean oferecer(Mensagem mensagem) {
+            var posicao = escrita.get();
+
+            while (true) {
+                var indice = (int) (posicao & mascara);
+                var diferenca = sequencias.get(indice) - posicao;
+
+                if (diferenca == 0) {
+                    if (escrita.compareAndSet(posicao, posicao + 1)) {
+                        posicoes.set(indice, mensagem);
+                        sequencias.set(indice, posicao + 1);
+                        return true;
+                    }
+                    posicao = escrita.get();
+                } else if (diferenca < 0) {
+                    // A posição ainda guarda a volta anterior: anel cheio
+                    return false;
+                } else {
+                    posicao = escrita.get();
+                }
+            }
+        }
+
+        /**
+         * Consumidor único: chamado apenas sob o lock de {@link FilaIngestao#descarregar()}.
+         */
+        int retirar(List<Mensagem> destino, int maximo) {
+            var retiradas = 0;
+
+            while (retiradas < maximo) {
+                var indice = (int) (leitura & mascara);
+                if (sequencias.get(indice) != leitura + 1) {
+                    break;
+                }
+
+                destino.add(posicoes.get(indice));
+                posicoes.set(indice, null);
+                sequencias.set(indice, leitura + mascara + 1);
+                leitura++;
+                retiradas++;
+            }
+
+            return retiradas;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package fiap.testesnobackend.service;
+
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Estratégia de geração do id de novas mensagens.
+ * Ids já gravados continuam válidos independentemente da estratégia escolhida.
+ */
+public interface GeradorDeId {
+    UUID gerar();
+}
@@ -0,0 +1,22 @@
+package fiap.testesnobackend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+@Component
+@ConditionalOnProperty(name = "mensagem.id.gerador", havingValue = "v4")
+public class GeradorDeIdUuidV4 implements GeradorDeId {
+
+    @Override
+    public UUID gerar() {
+        return UUID.randomUUID();
+    }
+}
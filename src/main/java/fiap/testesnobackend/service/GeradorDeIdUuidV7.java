@@ -0,0 +1,63 @@
+package fiap.testesnobackend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * UUID versão 7 (RFC 9562): os 48 bits mais altos são o instante em milissegundos,
+ * então ids novos entram sempre no fim do índice da chave primária.
+ * <p>
+ * Os 12 bits de rand_a funcionam como contador dentro do mesmo milissegundo. Quando
+ * o contador se esgota, o instante avança artificialmente, mantendo a ordem crescente
+ * entre todas as threads sem uso de lock (apenas CAS).
+ */
+@Component
+@ConditionalOnProperty(name = "mensagem.id.gerador", havingValue = "v7", matchIfMissing = true)
+public class GeradorDeIdUuidV7 implements GeradorDeId {
+
+    private static final int BITS_CONTADOR = 12;
+
+    private static final long VERSAO = 0x7L << 12;
+
+    private static final long VARIANTE = 0x2L << 62;
+
+    private final LongSupplier relogio;
+
+    /**
+     * Instante (ms) deslocado 12 bits à esquerda, somado ao contador do milissegundo.
+     */
+    private final AtomicLong ultimo = new AtomicLong();
+
+    public GeradorDeIdUuidV7() {
+        this(System::currentTimeMillis);
+    }
+
+    GeradorDeIdUuidV7(LongSupplier relogio) {
+        this.relogio = relogio;
+    }
+
+    @Override
+    public UUID gerar() {
+        var agora = relogio.getAsLong() << BITS_CONTADOR;
+        var atual = ultimo.accumulateAndGet(agora, (anterior, instante) -> Math.max(anterior + 1, instante));
+
+        var instante = atual >>> BITS_CONTADOR;
+        var contador = atual & ((1L << BITS_CONTADOR) - 1);
+
+        var maisSignificativos = (instante << 16) | VERSAO | contador;
+        var menosSignificativos = VARIANTE | (ThreadLocalRandom.current().nextLong() >>> 2);
+
+        return new UUID(maisSignificativos, menosSignificativos);
+    }
+}
@@ -0,0 +1,104 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.cache.MensagemCache;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Acumula os "gostei" em memória, um {@link LongAdder} por mensagem, e descarrega
+ * periodicamente no banco em lote. Assim uma mensagem muito curtida não disputa o
+ * lock da linha a cada requisição.
+ */
+@Component
+@RequiredArgsConstructor
+public class GosteiAcumulador {
+
+    private final MensagemArmazenamento mensagemArmazenamento;
+
+    private final MensagemCache mensagemCache;
+
+    private final Map<UUID, Pendente> pendentes = new ConcurrentHashMap<>();
+
+    public void incrementar(UUID id) {
+        adicionar(id, 1);
+    }
+
+    /**
+     * Incrementos ainda não gravados no banco.
+     */
+    public long pendente(UUID id) {
+        var pendente = pendentes.get(id);
+        return pendente == null ? 0 : pendente.incrementos.sum();
+    }
+
+    /**
+     * Os incrementos só saem do pendente depois do commit e da invalidação do cache: até lá,
+     * quem lê soma o pendente ao valor antigo e não vê o gostei sumir e voltar. Se a gravação
+     * falhar, continuam pendentes para a próxima descarga.
+     */
+    @Scheduled(fixedDelayString = "${mensagem.gostei.intervalo-descarga-ms:1000}")
+    public synchronized void descarregar() {
+        var lote = new HashMap<UUID, Long>();
+
+        pendentes.forEach((id, pendente) -> {
+            var incrementos = pendente.incrementos.sum();
+
+            // Sem atividade desde a última descarga: libera a entrada do mapa
+            if (incrementos == 0 && pendentes.remove(id, pendente)) {
+                pendente.aposentado = true;
+                adicionar(id, pendente.incrementos.sumThenReset());
+            } else if (incrementos > 0) {
+                lote.put(id, incrementos);
+            }
+        });
+
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        mensagemArmazenamento.somarGostei(lote);
+        lote.keySet().forEach(mensagemCache::invalidar);
+
+        // Só a descarga (synchronized) remove entradas, então as do lote ainda estão no mapa
+        lote.forEach((id, incrementos) -> pendentes.get(id).incrementos.add(-incrementos));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        descarregar();
+    }
+
+    /**
+     * Se a entrada foi aposentada pela descarga enquanto somávamos, o que ainda estiver
+     * nela é recolhido (sumThenReset é atômico por célula) e levado para uma entrada nova.
+     */
+    private void adicionar(UUID id, long incrementos) {
+        while (incrementos > 0) {
+            var pendente = pendentes.computeIfAbsent(id, chave -> new Pendente());
+            pendente.incrementos.add(incrementos);
+            incrementos = pendente.aposentado ? pendente.incrementos.sumThenReset() : 0;
+        }
+    }
+
+    private static final class Pendente {
+
+        private final LongAdder incrementos = new LongAdder();
+
+        private volatile boolean aposentado;
+    }
+}
@@ -0,0 +1,201 @@
+package fiap.testesnobackend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fiap.testesnobackend.exception.ChaveIdempotenciaInvalidaException;
+import fiap.testesnobackend.exception.MensagemConflictException;
+import fiap.testesnobackend.model.ChaveIdempotencia;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.RespostaIdempotente;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Índice das Idempotency-Key recentes. Em memória, cada chave aponta para o futuro da
+ * primeira requisição: repetições concorrentes esperam por ele em vez de disputar o INSERT.
+ * A tabela chave_idempotencia cobre as chaves que expiraram da memória ou que chegaram
+ * por outra instância da aplicação. Sem gerenciador de transações (perfil {@code memory})
+ * mensagem e chave são gravadas uma depois da outra.
+ */
+@Component
+public class IndiceIdempotencia {
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final MensagemArmazenamento mensagemArmazenamento;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AsyncCache<String, Entrada> entradas;
+
+    private final Duration expiracao;
+
+    private final long esperaMs;
+
+    public IndiceIdempotencia(
+            MensagemArmazenamento mensagemArmazenamento,
+            @Nullable PlatformTransactionManager transactionManager,
+            @Value("${mensagem.idempotencia.tamanho-maximo:100000}") long tamanhoMaximo,
+            @Value("${mensagem.idempotencia.expiracao:24h}") Duration expiracao,
+            @Value("${mensagem.idempotencia.espera-ms:10000}") long esperaMs) {
+        this.mensagemArmazenamento = mensagemArmazenamento;
+        this.transactionTemplate = transactionManager == null ? null : new TransactionTemplate(transactionManager);
+        this.expiracao = expiracao;
+        this.esperaMs = esperaMs;
+        this.entradas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .buildAsync();
+    }
+
+    /**
+     * Executa {@code registrar} uma única vez por chave, gravando a mensagem e a chave na
+     * mesma transação; por isso {@code registrar} precisa gravar de forma síncrona.
+     *
+     * @param carregar busca a mensagem criada quando a chave só é encontrada no banco
+     * @throws ChaveIdempotenciaInvalidaException quando a chave já foi usada com outro conteúdo
+     * @throws MensagemConflictException quando a primeira requisição não termina a tempo
+     */
+    public RespostaIdempotente executar(String chave, Mensagem mensagem,
+                                        Supplier<Mensagem> registrar, Function<UUID, Mensagem> carregar) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException("Idempotency-Key inválida");
+        }
+
+        var impressao = impressao(mensagem);
+
+        while (true) {
+            var nova = new CompletableFuture<Entrada>();
+            var existente = entradas.asMap().putIfAbsent(chave, nova);
+
+            if (existente == null) {
+                return executarPrimeira(chave, impressao, registrar, carregar, nova);
+            }
+
+            var entrada = aguardar(existente);
+            if (entrada != null) {
+                return entrada.repetir(impressao);
+            }
+            // A primeira requisição falhou e liberou a chave: esta assume o registro
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mensagem.idempotencia.intervalo-limpeza-ms:3600000}")
+    public void removerExpiradas() {
+        mensagemArmazenamento.removerChavesCriadasAntesDe(LocalDateTime.now().minus(expiracao));
+    }
+
+    /**
+     * SHA-256 de usuário e conteúdo, os campos que o cliente envia no registro.
+     */
+    static String impressao(Mensagem mensagem) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(mensagem.getUsuario()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(mensagem.getConteudo()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+            throw new IllegalStateException(noSuchAlgorithmException);
+        }
+    }
+
+    private RespostaIdempotente executarPrimeira(String chave, String impressao,
+                                                 Supplier<Mensagem> registrar, Function<UUID, Mensagem> carregar,
+                                                 CompletableFuture<Entrada> futuro) {
+        try {
+            var resposta = mensagemArmazenamento.buscarChave(chave)
+                    .map(gravada -> repetirGravada(gravada, impressao, carregar))
+                    .orElseGet(() -> registrar(chave, impressao, registrar, carregar));
+
+            futuro.complete(new Entrada(impressao, resposta));
+            return resposta;
+        } catch (RuntimeException exception) {
+            entradas.asMap().remove(chave, futuro);
+            futuro.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    private RespostaIdempotente registrar(String chave, String impressao,
+                                          Supplier<Mensagem> registrar, Function<UUID, Mensagem> carregar) {
+        try {
+            return transactionTemplate == null
+                    ? registrarComChave(chave, impressao, registrar)
+                    : transactionTemplate.execute(status -> registrarComChave(chave, impressao, registrar));
+        } catch (DataIntegrityViolationException dataIntegrityViolationException) {
+            // Outra instância gravou a chave primeiro; o INSERT da mensagem foi desfeito junto
+            return mensagemArmazenamento.buscarChave(chave)
+                    .map(gravada -> repetirGravada(gravada, impressao, carregar))
+                    .orElseThrow(() -> dataIntegrityViolationException);
+        }
+    }
+
+    private RespostaIdempotente registrarComChave(String chave, String impressao, Supplier<Mensagem> registrar) {
+        var mensagem = registrar.get();
+        mensagemArmazenamento.inserirChave(new ChaveIdempotencia(chave, impressao, mensagem.getId(), LocalDateTime.now()));
+        return new RespostaIdempotente(mensagem, false);
+    }
+
+    private static RespostaIdempotente repetirGravada(ChaveIdempotencia gravada, String impressao,
+                                                      Function<UUID, Mensagem> carregar) {
+        verificar(gravada.getImpressao(), impressao);
+        return new RespostaIdempotente(carregar.apply(gravada.getMensagemId()), true);
+    }
+
+    /**
+     * @return {@code null} quando a primeira requisição falhou
+     */
+    private Entrada aguardar(CompletableFuture<Entrada> futuro) {
+        try {
+            return futuro.get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException executionException) {
+            return null;
+        } catch (TimeoutException timeoutException) {
+            throw new MensagemConflictException("Requisição com a mesma Idempotency-Key ainda em andamento");
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new MensagemConflictException("Requisição com a mesma Idempotency-Key ainda em andamento");
+        }
+    }
+
+    private static void verificar(String impressaoOriginal, String impressao) {
+        if (!impressaoOriginal.equals(impressao)) {
+            throw new ChaveIdempotenciaInvalidaException("Idempotency-Key já utilizada com outro conteúdo");
+        }
+    }
+
+    private record Entrada(String impressao, RespostaIdempotente resposta) {
+
+        RespostaIdempotente repetir(String impressaoRepetida) {
+            verificar(impressao, impressaoRepetida);
+            return resposta.comoRepetida();
+        }
+    }
+}
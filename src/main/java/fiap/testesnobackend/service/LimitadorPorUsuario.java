@@ -0,0 +1,127 @@
+package fiap.testesnobackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fiap.testesnobackend.model.Mensagem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Limite de escritas por usuário: balde de fichas com {@code taxa-por-segundo} de reposição
+ * e até {@code rajada} fichas acumuladas. Implementado como GCRA, em que o balde inteiro é
+ * um único instante teórico de chegada (TAT) em um {@link AtomicLong}: consumir uma ficha é
+ * um CAS, sem lock e sem thread de reposição. Baldes ociosos saem do mapa sozinhos.
+ */
+@Component
+public class LimitadorPorUsuario {
+
+    private static final long SEM_ESPERA = 0;
+
+    /**
+     * Escritas sem usuário dividem um único balde, em vez de passarem sem limite.
+     */
+    private static final String SEM_USUARIO = "";
+
+    private final Cache<String, AtomicLong> baldes;
+
+    private final LongSupplier relogio;
+
+    private final long intervaloNanos;
+
+    private final long toleranciaNanos;
+
+    public LimitadorPorUsuario(
+            @Value("${mensagem.limite-escrita.taxa-por-segundo:50}") double taxaPorSegundo,
+            @Value("${mensagem.limite-escrita.rajada:100}") int rajada,
+            @Value("${mensagem.limite-escrita.tamanho-maximo:100000}") long tamanhoMaximo,
+            @Value("${mensagem.limite-escrita.ocioso:10m}") Duration ocioso) {
+        this(taxaPorSegundo, rajada, tamanhoMaximo, ocioso, System::nanoTime);
+    }
+
+    LimitadorPorUsuario(double taxaPorSegundo, int rajada, long tamanhoMaximo, Duration ocioso, LongSupplier relogio) {
+        this.relogio = relogio;
+        // Taxa zero ou negativa desliga o limite
+        this.intervaloNanos = taxaPorSegundo > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / taxaPorSegundo) : 0;
+        this.toleranciaNanos = intervaloNanos * (Math.max(1, rajada) - 1);
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterAccess(ocioso)
+                .build();
+    }
+
+    /**
+     * Consome uma ficha do balde do usuário.
+     *
+     * @return zero quando a escrita é permitida; do contrário, quantos nanossegundos
+     * faltam para a próxima ficha
+     */
+    public long consumir(String usuario) {
+        return consumir(usuario, 1);
+    }
+
+    /**
+     * Consome uma ficha por mensagem do lote, no balde de cada autor. Basta o balde ter uma
+     * ficha para o lote passar; o restante vira dívida, paga pelas escritas seguintes do autor.
+     *
+     * @return zero quando o lote é permitido; do contrário, a maior espera entre os autores
+     * sem ficha (os demais já foram cobrados)
+     */
+    public long consumirLote(List<Mensagem> mensagens) {
+        var fichasPorUsuario = new HashMap<String, Long>();
+        mensagens.forEach(mensagem -> fichasPorUsuario.merge(chave(mensagem.getUsuario()), 1L, Long::sum));
+
+        var espera = SEM_ESPERA;
+        for (var fichas : fichasPorUsuario.entrySet()) {
+            espera = Math.max(espera, consumir(fichas.getKey(), fichas.getValue()));
+        }
+        return espera;
+    }
+
+    private long consumir(String usuario, long fichas) {
+        if (intervaloNanos == 0) {
+            return SEM_ESPERA;
+        }
+
+        var agora = relogio.getAsLong();
+        // Balde novo começa cheio: TAT no passado equivale a todas as fichas disponíveis
+        var balde = baldes.get(chave(usuario),
+                chave -> new AtomicLong(agora - toleranciaNanos - intervaloNanos));
+
+        while (true) {
+            var tat = balde.get();
+            var inicio = Math.max(tat, agora);
+
+            if (inicio - agora > toleranciaNanos) {
+                return inicio - agora - toleranciaNanos;
+            }
+
+            if (balde.compareAndSet(tat, inicio + intervaloNanos * fichas)) {
+                return SEM_ESPERA;
+            }
+        }
+    }
+
+    private static String chave(String usuario) {
+        return usuario == null || usuario.isBlank() ? SEM_USUARIO : usuario;
+    }
+
+    /**
+     * Valor do Retry-After (segundos inteiros, arredondados para cima).
+     */
+    public static long segundosDeEspera(long esperaNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
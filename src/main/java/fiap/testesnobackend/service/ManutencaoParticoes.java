@@ -0,0 +1,131 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.repository.MensagemParticaoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Mantém as partições mensais de mensagem (mensagem_pAAAA_MM): cria as dos próximos meses
+ * antes que um INSERT precise delas e tira da tabela as que passaram da retenção.
+ * <p>
+ * O DETACH CONCURRENTLY não é idempotente: duas instâncias desanexando a mesma partição
+ * falham, e uma desanexação interrompida deixa a partição pendente. Por isso só a instância
+ * com a trava consultiva do banco faz a verificação, as pendentes são concluídas com
+ * FINALIZE e a falha em uma partição não impede as demais, que seguem na próxima rodada.
+ */
+@Slf4j
+@Component
+@Profile("!memory")
+public class ManutencaoParticoes {
+
+    static final String PREFIXO = "mensagem_p";
+
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final MensagemParticaoRepository mensagemParticaoRepository;
+
+    private final int mesesAdiante;
+
+    private final int retencaoMeses;
+
+    private final boolean removerExpiradas;
+
+    public ManutencaoParticoes(
+            MensagemParticaoRepository mensagemParticaoRepository,
+            @Value("${mensagem.particao.meses-adiante:3}") int mesesAdiante,
+            @Value("${mensagem.particao.retencao-meses:12}") int retencaoMeses,
+            @Value("${mensagem.particao.remover-expiradas:false}") boolean removerExpiradas) {
+        this.mensagemParticaoRepository = mensagemParticaoRepository;
+        this.mesesAdiante = mesesAdiante;
+        this.retencaoMeses = retencaoMeses;
+        this.removerExpiradas = removerExpiradas;
+    }
+
+    @Scheduled(fixedDelayString = "${mensagem.particao.intervalo-verificacao-ms:3600000}")
+    public void manter() {
+        if (!mensagemParticaoRepository.isParticionada()) {
+            return;
+        }
+
+        if (!mensagemParticaoRepository.executarComTrava(() -> manter(YearMonth.now()))) {
+            log.debug("Manutenção das partições em andamento em outra instância");
+        }
+    }
+
+    /**
+     * Com retenção de N meses fica o mês corrente e os N anteriores completos.
+     */
+    void manter(YearMonth mesAtual) {
+        for (int i = 0; i <= mesesAdiante; i++) {
+            var mes = mesAtual.plusMonths(i);
+            try {
+                mensagemParticaoRepository.criarParticao(nome(mes), mes.atDay(1), mes.plusMonths(1).atDay(1));
+            } catch (RuntimeException runtimeException) {
+                log.warn("Falha ao criar a partição {}, tentando de novo na próxima verificação", nome(mes), runtimeException);
+            }
+        }
+
+        var primeiroMesRetido = mesAtual.minusMonths(retencaoMeses);
+        for (var particao : mensagemParticaoRepository.listarParticoes()) {
+            var expirada = retencaoMeses > 0
+                    && mes(particao.nome()).filter(mes -> mes.isBefore(primeiroMesRetido)).isPresent();
+            if (expirada || particao.desanexacaoPendente()) {
+                desanexar(particao, expirada);
+            }
+        }
+    }
+
+    /**
+     * A pendente é de um DETACH que esta manutenção começou: concluída mesmo com a
+     * retenção desligada depois, e removida se já expirou.
+     */
+    private void desanexar(MensagemParticaoRepository.Particao particao, boolean expirada) {
+        try {
+            if (particao.desanexacaoPendente()) {
+                mensagemParticaoRepository.finalizarDesanexacao(particao.nome());
+            } else {
+                mensagemParticaoRepository.desanexarParticao(particao.nome());
+            }
+
+            if (expirada && removerExpiradas) {
+                mensagemParticaoRepository.removerParticao(particao.nome());
+            }
+        } catch (RuntimeException runtimeException) {
+            log.warn("Falha ao desanexar a partição {}, tentando de novo na próxima verificação",
+                    particao.nome(), runtimeException);
+        }
+    }
+
+    static String nome(YearMonth mes) {
+        return PREFIXO + FORMATO_MES.format(mes);
+    }
+
+    /**
+     * Partições com outro nome (criadas à mão) ficam de fora da retenção.
+     */
+    static Optional<YearMonth> mes(String particao) {
+        if (!particao.startsWith(PREFIXO)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(YearMonth.parse(particao.substring(PREFIXO.length()), FORMATO_MES));
+        } catch (DateTimeParseException dateTimeParseException) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package fiap.testesnobackend.service;
 
+import fiap.testesnobackend.model.BuscaCursor;
 import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.MensagemResumo;
+import fiap.testesnobackend.model.PaginaCursor;
+import fiap.testesnobackend.model.RespostaIdempotente;
+import fiap.testesnobackend.model.ResultadoLote;
+import java.util.List;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 /**
  * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
@@ -13,8 +23,20 @@ import org.springframework.data.domain.Pageable;
 
 public interface MensagemService {
     Mensagem registrarMensagem(Mensagem mensagem);
+    RespostaIdempotente registrarMensagem(Mensagem mensagem, String chaveIdempotencia);
+    boolean ingestaoAssincrona();
+    Mensagem enfileirarMensagem(Mensagem mensagem);
+    List<ResultadoLote> registrarMensagens(List<Mensagem> mensagens);
     Mensagem buscarMensagem(UUID id);
     Mensagem alterarMensagem(UUID id, Mensagem mensagemAtualizada);
     boolean removerMensagem(UUID id);
+    boolean removerMensagem(UUID id, Long versao);
+    Mensagem registrarGostei(UUID id);
     Page<Mensagem> listarMensagens(Pageable pageable);
+    PaginaCursor<Mensagem> listarMensagens(MensagemCursor after, int size);
+    Slice<Mensagem> listarMensagensSemContagem(Pageable pageable);
+    PaginaCursor<MensagemResumo> listarMensagensDoUsuario(String usuario, MensagemCursor after, int size);
+    PaginaCursor<Mensagem> buscarMensagens(String termo, BuscaCursor after, int size);
+    OptionalLong totalMensagensAproximado();
+    void exportarMensagens(Consumer<Mensagem> consumidor);
 }
@@ -1,14 +1,30 @@
 package fiap.testesnobackend.service;
 
+import fiap.testesnobackend.cache.MensagemCache;
+import fiap.testesnobackend.exception.FilaIngestaoCheiaException;
+import fiap.testesnobackend.exception.MensagemConflictException;
 import fiap.testesnobackend.exception.MensagemNotFoundException;
+import fiap.testesnobackend.exception.MensagemRemovidaException;
+import fiap.testesnobackend.model.BuscaCursor;
 import fiap.testesnobackend.model.Mensagem;
-import fiap.testesnobackend.repository.MensagemRepository;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.MensagemResumo;
+import fiap.testesnobackend.model.PaginaCursor;
+import fiap.testesnobackend.model.RespostaIdempotente;
+import fiap.testesnobackend.model.ResultadoLote;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
@@ -17,46 +33,255 @@ import java.util.UUID;
  */
 
 @Service
+@Timed("mensagem.service")
 @RequiredArgsConstructor
 public class MensagemServiceImpl implements MensagemService {
 
-    private final MensagemRepository mensagemRepository;
+    private final MensagemArmazenamento mensagemArmazenamento;
+
+    private final TotalMensagensAproximado totalMensagensAproximado;
+
+    private final MensagemCache mensagemCache;
+
+    private final GosteiAcumulador gosteiAcumulador;
+
+    private final RegistroEmLote registroEmLote;
+
+    private final GeradorDeId geradorDeId;
+
+    private final FilaIngestao filaIngestao;
+
+    private final IndiceIdempotencia indiceIdempotencia;
 
     @Override
     public Mensagem registrarMensagem(Mensagem mensagem) {
-        mensagem.setId(UUID.randomUUID());
+        var mensagemRegistrada = gravarMensagem(mensagem);
+        mensagemCache.atualizar(mensagemRegistrada);
+        return mensagemRegistrada;
+    }
+
+    /**
+     * Repetições com a mesma chave devolvem a mensagem criada pela primeira requisição.
+     * Mesmo com a ingestão assíncrona ligada a gravação é síncrona: a chave só vale se for
+     * gravada na mesma transação da mensagem, e a fila não tem onde guardá-la.
+     */
+    @Override
+    public RespostaIdempotente registrarMensagem(Mensagem mensagem, String chaveIdempotencia) {
+        var resposta = indiceIdempotencia.executar(chaveIdempotencia, mensagem,
+                () -> gravarMensagem(mensagem), this::buscarMensagemRegistrada);
+
+        // Só depois do commit da mensagem junto com a chave
+        if (!resposta.repetida()) {
+            mensagemCache.atualizar(resposta.mensagem());
+        }
+        return resposta;
+    }
+
+    /**
+     * Repetição de uma Idempotency-Key encontrada só no banco: se a mensagem criada foi
+     * removida depois, não há resposta original para repetir.
+     */
+    private Mensagem buscarMensagemRegistrada(UUID id) {
+        try {
+            return buscarMensagem(id);
+        } catch (MensagemNotFoundException mensagemNotFoundException) {
+            throw new MensagemRemovidaException("A mensagem registrada com esta Idempotency-Key foi removida");
+        }
+    }
 
-        return mensagemRepository.save(mensagem);
+    @Override
+    public boolean ingestaoAssincrona() {
+        return filaIngestao.isRunning();
+    }
+
+    /**
+     * Valida, atribui o id e entrega a mensagem à {@link FilaIngestao}; a gravação
+     * acontece depois, em lote, fora da requisição.
+     */
+    @Override
+    public Mensagem enfileirarMensagem(Mensagem mensagem) {
+        var erro = RegistroEmLote.validar(mensagem);
+        if (erro != null) {
+            throw new IllegalArgumentException(erro);
+        }
+
+        mensagem.setId(geradorDeId.gerar());
+        mensagem.setVersao(null);
+        mensagem.setDataCriacaoMensagem(LocalDateTime.now());
+
+        if (!filaIngestao.enfileirar(mensagem)) {
+            throw new FilaIngestaoCheiaException("Fila de ingestão cheia, tente novamente");
+        }
+
+        return mensagem;
+    }
+
+    @Override
+    public List<ResultadoLote> registrarMensagens(List<Mensagem> mensagens) {
+        return registroEmLote.registrar(mensagens);
     }
 
     @Override
     public Mensagem buscarMensagem(UUID id) {
-        return mensagemRepository.findById(id)
+        // Aceita pela ingestão assíncrona e ainda não gravada
+        var pendente = filaIngestao.pendente(id);
+        if (pendente.isPresent()) {
+            return pendente.get();
+        }
+
+        // A carga vem da primária: uma réplica atrasada devolveria o estado anterior à
+        // escrita que acabou de invalidar a entrada, e ele ficaria no cache até expirar
+        var mensagem = mensagemCache.buscar(id, mensagemArmazenamento::buscarNaPrimaria)
                 .orElseThrow(() -> new MensagemNotFoundException("Mensagem não encontrada"));
+
+        // Soma os "gostei" que ainda não foram descarregados no banco
+        mensagem.setGostei(mensagem.getGostei() + (int) gosteiAcumulador.pendente(id));
+        return mensagem;
     }
 
     @Override
     public Mensagem alterarMensagem(UUID id, Mensagem mensagemAtualizada) {
-        var mensagem = buscarMensagem(id);
-
-        if (!mensagem.getId().equals(mensagemAtualizada.getId())) {
-            throw new MensagemNotFoundException("Mensagem atualizada não apresenta o ID correto");
+        if (!id.equals(mensagemAtualizada.getId())) {
+            throw new MensagemNotFoundException("Mensagem atualizada não apresenta o ID correto");
         }
 
-        mensagem.setConteudo(mensagemAtualizada.getConteudo());
-        return mensagemRepository.save(mensagem);
+        var conteudo = mensagemAtualizada.getConteudo();
+        var versao = mensagemAtualizada.getVersao();
+
+        // Sem versão informada a alteração é incondicional (última escrita vence); o
+        // UPDATE já devolve o estado novo, sem outra consulta para montar a resposta
+        var mensagemAlterada = mensagemArmazenamento.alterarConteudo(id, conteudo, versao)
+                .orElseThrow(() -> falhaDeEscrita(id, versao));
+        mensagemCache.atualizar(mensagemAlterada);
+
+        // Soma os "gostei" que ainda não foram descarregados no banco
+        mensagemAlterada.setGostei(mensagemAlterada.getGostei() + (int) gosteiAcumulador.pendente(id));
+        return mensagemAlterada;
     }
 
     @Override
     public boolean removerMensagem(UUID id) {
-        buscarMensagem(id);
-        mensagemRepository.deleteById(id);
+        return removerMensagem(id, null);
+    }
+
+    @Override
+    public boolean removerMensagem(UUID id, Long versao) {
+        var removida = mensagemArmazenamento.remover(id, versao);
+        mensagemCache.invalidar(id);
+
+        if (!removida) {
+            throw falhaDeEscrita(id, versao);
+        }
 
         return true;
     }
 
+    @Override
+    public Mensagem registrarGostei(UUID id) {
+        var mensagem = buscarMensagem(id);
+        gosteiAcumulador.incrementar(id);
+
+        mensagem.setGostei(mensagem.getGostei() + 1);
+        return mensagem;
+    }
+
     @Override
     public Page<Mensagem> listarMensagens(Pageable pageable) {
-        return mensagemRepository.listarMensagens(pageable);
+        return mensagemArmazenamento.listarMensagens(pageable);
+    }
+
+    @Override
+    public PaginaCursor<Mensagem> listarMensagens(MensagemCursor after, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero");
+        }
+
+        // Busca um registro a mais apenas para saber se existe próxima página
+        var mensagens = mensagemArmazenamento.listarMensagens(after, size + 1);
+
+        if (mensagens.size() <= size) {
+            return new PaginaCursor<>(mensagens, size, null, true);
+        }
+
+        var pagina = mensagens.subList(0, size);
+        var proximo = MensagemCursor.de(pagina.get(size - 1)).codificar();
+        return new PaginaCursor<>(pagina, size, proximo, false);
+    }
+
+    @Override
+    public PaginaCursor<MensagemResumo> listarMensagensDoUsuario(String usuario, MensagemCursor after, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero");
+        }
+
+        var mensagens = mensagemArmazenamento.listarMensagensDoUsuario(usuario, after, size + 1);
+
+        if (mensagens.size() <= size) {
+            return new PaginaCursor<>(mensagens, size, null, true);
+        }
+
+        var pagina = mensagens.subList(0, size);
+        var proximo = MensagemCursor.de(pagina.get(size - 1)).codificar();
+        return new PaginaCursor<>(pagina, size, proximo, false);
+    }
+
+    @Override
+    public Slice<Mensagem> listarMensagensSemContagem(Pageable pageable) {
+        return mensagemArmazenamento.listarMensagensSemContagem(pageable);
+    }
+
+    @Override
+    public PaginaCursor<Mensagem> buscarMensagens(String termo, BuscaCursor after, int size) {
+        if (termo == null || termo.isBlank()) {
+            throw new IllegalArgumentException("O termo de busca não pode estar vazio");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero");
+        }
+
+        // Mesmo esquema da listagem por cursor: um registro a mais indica a próxima página
+        var encontradas = mensagemArmazenamento.buscar(termo.trim(), after, size + 1);
+        var ultima = encontradas.size() <= size;
+        var pagina = ultima ? encontradas : encontradas.subList(0, size);
+        var mensagens = pagina.stream().map(MensagemArmazenamento.Encontrada::mensagem).toList();
+
+        if (ultima) {
+            return new PaginaCursor<>(mensagens, size, null, true);
+        }
+
+        var ultimaEntregue = pagina.get(size - 1);
+        var proximo = new BuscaCursor(ultimaEntregue.rank(), ultimaEntregue.mensagem().getId()).codificar();
+        return new PaginaCursor<>(mensagens, size, proximo, false);
+    }
+
+    @Override
+    public OptionalLong totalMensagensAproximado() {
+        return totalMensagensAproximado.obter();
+    }
+
+    @Override
+    public void exportarMensagens(Consumer<Mensagem> consumidor) {
+        mensagemArmazenamento.exportarMensagens(consumidor);
+    }
+
+    private Mensagem gravarMensagem(Mensagem mensagem) {
+        mensagem.setId(geradorDeId.gerar());
+        mensagem.setVersao(null);
+        // A data é a da gravação, não a que o cliente mandou
+        mensagem.setDataCriacaoMensagem(null);
+
+        return mensagemArmazenamento.inserir(mensagem);
+    }
+
+    /**
+     * Nenhuma linha afetada: ou o id não existe, ou a versão informada já foi superada.
+     * Só neste caminho de erro é feita a consulta extra para distinguir os casos.
+     */
+    private RuntimeException falhaDeEscrita(UUID id, Long versao) {
+        if (versao == null || !mensagemArmazenamento.existe(id)) {
+            return new MensagemNotFoundException("Mensagem não encontrada");
+        }
+
+        return new MensagemConflictException("A mensagem foi alterada por outra requisição");
     }
 }
@@ -0,0 +1,34 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.PaginaCursor;
+import fiap.testesnobackend.model.ResultadoLote;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+public interface MensagemServiceReativo {
+    Mono<Mensagem> registrarMensagem(Mensagem mensagem);
+    Mono<List<ResultadoLote>> registrarMensagens(List<Mensagem> mensagens);
+    Mono<Mensagem> buscarMensagem(UUID id);
+    Mono<Mensagem> alterarMensagem(UUID id, Mensagem mensagemAtualizada);
+    Mono<Boolean> removerMensagem(UUID id);
+    Mono<Boolean> removerMensagem(UUID id, Long versao);
+    Mono<Mensagem> registrarGostei(UUID id);
+    Mono<Page<Mensagem>> listarMensagens(Pageable pageable);
+    Mono<PaginaCursor<Mensagem>> listarMensagens(MensagemCursor after, int size);
+    Mono<Slice<Mensagem>> listarMensagensSemContagem(Pageable pageable);
+    Flux<Mensagem> exportarMensagens();
+}
@@ -0,0 +1,229 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.exception.MensagemConflictException;
+import fiap.testesnobackend.exception.MensagemNotFoundException;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.PaginaCursor;
+import fiap.testesnobackend.model.ResultadoLote;
+import fiap.testesnobackend.repository.MensagemReativaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Mesmas regras de {@link MensagemServiceImpl}, sem bloquear a thread do event loop.
+ * Os "gostei" continuam passando pelo {@link GosteiAcumulador}, que só toca o banco
+ * na descarga periódica.
+ */
+@Service
+@Profile("reactive")
+public class MensagemServiceReativoImpl implements MensagemServiceReativo {
+
+    private final MensagemReativaRepository mensagemReativaRepository;
+
+    private final GosteiAcumulador gosteiAcumulador;
+
+    private final GeradorDeId geradorDeId;
+
+    private final int tamanhoTransacao;
+
+    private final int tamanhoBuscaExportacao;
+
+    public MensagemServiceReativoImpl(
+            MensagemReativaRepository mensagemReativaRepository,
+            GosteiAcumulador gosteiAcumulador,
+            GeradorDeId geradorDeId,
+            @Value("${mensagem.lote.tamanho-transacao:500}") int tamanhoTransacao,
+            @Value("${mensagem.export.tamanho-busca:1000}") int tamanhoBuscaExportacao) {
+        this.mensagemReativaRepository = mensagemReativaRepository;
+        this.gosteiAcumulador = gosteiAcumulador;
+        this.geradorDeId = geradorDeId;
+        this.tamanhoTransacao = tamanhoTransacao;
+        this.tamanhoBuscaExportacao = tamanhoBuscaExportacao;
+    }
+
+    @Override
+    public Mono<Mensagem> registrarMensagem(Mensagem mensagem) {
+        mensagem.setId(geradorDeId.gerar());
+        mensagem.setDataCriacaoMensagem(LocalDateTime.now());
+        mensagem.setVersao(0L);
+
+        return mensagemReativaRepository.inserir(mensagem).thenReturn(mensagem);
+    }
+
+    /**
+     * Como o {@link RegistroEmLote}: as válidas são gravadas em INSERTs de até
+     * {@code tamanhoTransacao} mensagens, um após o outro, e uma falha de banco
+     * afeta apenas as mensagens daquele INSERT.
+     */
+    @Override
+    public Mono<List<ResultadoLote>> registrarMensagens(List<Mensagem> mensagens) {
+        var resultados = new ResultadoLote[mensagens.size()];
+        var validas = new ArrayList<Integer>(mensagens.size());
+
+        for (int indice = 0; indice < mensagens.size(); indice++) {
+            var erro = RegistroEmLote.validar(mensagens.get(indice));
+            if (erro == null) {
+                validas.add(indice);
+            } else {
+                resultados[indice] = ResultadoLote.rejeitado(indice, 400, erro);
+            }
+        }
+
+        return Flux.fromIterable(validas)
+                .buffer(tamanhoTransacao)
+                .concatMap(indices -> gravarLote(mensagens, indices, resultados))
+                .then(Mono.fromSupplier(() -> Arrays.asList(resultados)));
+    }
+
+    @Override
+    public Mono<Mensagem> buscarMensagem(UUID id) {
+        return mensagemReativaRepository.buscarPorId(id)
+                .switchIfEmpty(Mono.error(() -> new MensagemNotFoundException("Mensagem não encontrada")))
+                .map(mensagem -> {
+                    // Soma os "gostei" que ainda não foram descarregados no banco
+                    mensagem.setGostei(mensagem.getGostei() + (int) gosteiAcumulador.pendente(id));
+                    return mensagem;
+                });
+    }
+
+    @Override
+    public Mono<Mensagem> alterarMensagem(UUID id, Mensagem mensagemAtualizada) {
+        if (!id.equals(mensagemAtualizada.getId())) {
+            return Mono.error(new MensagemNotFoundException("Mensagem atualizada não apresenta o ID correto"));
+        }
+
+        var versao = mensagemAtualizada.getVersao();
+        return mensagemReativaRepository.alterarConteudo(id, mensagemAtualizada.getConteudo(), versao)
+                .switchIfEmpty(Mono.defer(() -> this.<Mensagem>falhaDeEscrita(id, versao)))
+                .map(mensagem -> {
+                    // O UPDATE já devolve o estado novo; faltam só os "gostei" ainda não descarregados
+                    mensagem.setGostei(mensagem.getGostei() + (int) gosteiAcumulador.pendente(id));
+                    return mensagem;
+                });
+    }
+
+    @Override
+    public Mono<Boolean> removerMensagem(UUID id) {
+        return removerMensagem(id, null);
+    }
+
+    @Override
+    public Mono<Boolean> removerMensagem(UUID id, Long versao) {
+        var removidas = versao == null
+                ? mensagemReativaRepository.removerPorId(id)
+                : mensagemReativaRepository.removerPorIdNaVersao(id, versao);
+
+        return removidas.flatMap(linhas -> linhas == 0
+                ? this.<Boolean>falhaDeEscrita(id, versao)
+                : Mono.just(true));
+    }
+
+    @Override
+    public Mono<Mensagem> registrarGostei(UUID id) {
+        return buscarMensagem(id).map(mensagem -> {
+            gosteiAcumulador.incrementar(id);
+            mensagem.setGostei(mensagem.getGostei() + 1);
+            return mensagem;
+        });
+    }
+
+    @Override
+    public Mono<Page<Mensagem>> listarMensagens(Pageable pageable) {
+        return mensagemReativaRepository.listarMensagens(pageable.getPageSize(), pageable.getOffset())
+                .collectList()
+                .zipWith(mensagemReativaRepository.contarMensagens())
+                .map(resultado -> new PageImpl<>(resultado.getT1(), pageable, resultado.getT2()));
+    }
+
+    @Override
+    public Mono<PaginaCursor<Mensagem>> listarMensagens(MensagemCursor after, int size) {
+        if (size < 1) {
+            return Mono.error(new IllegalArgumentException("O tamanho da página deve ser maior que zero"));
+        }
+
+        // Busca um registro a mais apenas para saber se existe próxima página
+        var mensagens = after == null
+                ? mensagemReativaRepository.listarMensagensRecentes(size + 1)
+                : mensagemReativaRepository.listarMensagensApos(after.dataCriacaoMensagem(), after.id(), size + 1);
+
+        return mensagens.collectList().map(lista -> {
+            if (lista.size() <= size) {
+                return new PaginaCursor<>(lista, size, null, true);
+            }
+
+            var pagina = lista.subList(0, size);
+            var proximo = MensagemCursor.de(pagina.get(size - 1)).codificar();
+            return new PaginaCursor<>(pagina, size, proximo, false);
+        });
+    }
+
+    @Override
+    public Mono<Slice<Mensagem>> listarMensagensSemContagem(Pageable pageable) {
+        var tamanho = pageable.getPageSize();
+
+        return mensagemReativaRepository.listarMensagens(tamanho + 1, pageable.getOffset())
+                .collectList()
+                .map(lista -> {
+                    var temProxima = lista.size() > tamanho;
+                    return new SliceImpl<>(temProxima ? lista.subList(0, tamanho) : lista, pageable, temProxima);
+                });
+    }
+
+    @Override
+    public Flux<Mensagem> exportarMensagens() {
+        return mensagemReativaRepository.exportarMensagens(tamanhoBuscaExportacao);
+    }
+
+    private Mono<Void> gravarLote(List<Mensagem> mensagens, List<Integer> indices, ResultadoLote[] resultados) {
+        var lote = new ArrayList<Mensagem>(indices.size());
+        for (var indice : indices) {
+            var mensagem = mensagens.get(indice);
+            mensagem.setId(geradorDeId.gerar());
+            mensagem.setDataCriacaoMensagem(LocalDateTime.now());
+            mensagem.setVersao(0L);
+            lote.add(mensagem);
+        }
+
+        return mensagemReativaRepository.inserirEmLote(lote)
+                .doOnNext(linhas -> indices.forEach(indice ->
+                        resultados[indice] = ResultadoLote.registrado(indice, mensagens.get(indice).getId())))
+                .onErrorResume(DataAccessException.class, dataAccessException -> {
+                    indices.forEach(indice ->
+                            resultados[indice] = ResultadoLote.rejeitado(indice, 500, "Falha ao registrar a mensagem"));
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private <T> Mono<T> falhaDeEscrita(UUID id, Long versao) {
+        if (versao == null) {
+            return Mono.error(new MensagemNotFoundException("Mensagem não encontrada"));
+        }
+
+        return mensagemReativaRepository.existePorId(id).flatMap(existe -> Mono.error(existe
+                ? new MensagemConflictException("A mensagem foi alterada por outra requisição")
+                : new MensagemNotFoundException("Mensagem não encontrada")));
+    }
+}
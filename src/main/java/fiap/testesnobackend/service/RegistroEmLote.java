@@ -0,0 +1,104 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.ResultadoLote;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Registra muitas mensagens de uma vez, em transações de até {@code tamanhoTransacao}
+ * mensagens. Uma falha de banco afeta apenas as mensagens da transação em que ocorreu.
+ */
+@Component
+public class RegistroEmLote {
+
+    private final MensagemArmazenamento mensagemArmazenamento;
+
+    private final GeradorDeId geradorDeId;
+
+    private final int tamanhoTransacao;
+
+    public RegistroEmLote(
+            MensagemArmazenamento mensagemArmazenamento,
+            GeradorDeId geradorDeId,
+            @Value("${mensagem.lote.tamanho-transacao:500}") int tamanhoTransacao) {
+        this.mensagemArmazenamento = mensagemArmazenamento;
+        this.geradorDeId = geradorDeId;
+        this.tamanhoTransacao = tamanhoTransacao;
+    }
+
+    public List<ResultadoLote> registrar(List<Mensagem> mensagens) {
+        var resultados = new ResultadoLote[mensagens.size()];
+        var transacao = new ArrayList<Mensagem>(Math.min(tamanhoTransacao, mensagens.size()));
+        var indices = new ArrayList<Integer>(Math.min(tamanhoTransacao, mensagens.size()));
+
+        for (int indice = 0; indice < mensagens.size(); indice++) {
+            var mensagem = mensagens.get(indice);
+            var erro = validar(mensagem);
+
+            if (erro != null) {
+                resultados[indice] = ResultadoLote.rejeitado(indice, 400, erro);
+                continue;
+            }
+
+            mensagem.setId(geradorDeId.gerar());
+            mensagem.setVersao(null);
+            // A data é a da gravação, não a que o cliente mandou
+            mensagem.setDataCriacaoMensagem(null);
+            transacao.add(mensagem);
+            indices.add(indice);
+
+            if (transacao.size() == tamanhoTransacao) {
+                gravar(transacao, indices, resultados);
+            }
+        }
+
+        gravar(transacao, indices, resultados);
+        return Arrays.asList(resultados);
+    }
+
+    private void gravar(List<Mensagem> transacao, List<Integer> indices, ResultadoLote[] resultados) {
+        if (transacao.isEmpty()) {
+            return;
+        }
+
+        try {
+            mensagemArmazenamento.inserirEmLote(transacao);
+
+            for (int i = 0; i < transacao.size(); i++) {
+                resultados[indices.get(i)] = ResultadoLote.registrado(indices.get(i), transacao.get(i).getId());
+            }
+        } catch (DataAccessException dataAccessException) {
+            indices.forEach(indice ->
+                    resultados[indice] = ResultadoLote.rejeitado(indice, 500, "Falha ao registrar a mensagem"));
+        }
+
+        transacao.clear();
+        indices.clear();
+    }
+
+    static String validar(Mensagem mensagem) {
+        if (mensagem == null) {
+            return "Mensagem vazia";
+        }
+        if (mensagem.getUsuario() == null || mensagem.getUsuario().isEmpty()) {
+            return "O usuário não pode estar vazio";
+        }
+        if (mensagem.getConteudo() == null || mensagem.getConteudo().isEmpty()) {
+            return "O conteúdo não pode estar vazio";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Total aproximado de mensagens, atualizado em segundo plano para que nenhuma
+ * requisição de listagem pague por um COUNT(*) na tabela inteira.
+ */
+@Component
+@RequiredArgsConstructor
+public class TotalMensagensAproximado {
+
+    private static final long DESCONHECIDO = -1;
+
+    private final MensagemArmazenamento mensagemArmazenamento;
+
+    private final AtomicLong total = new AtomicLong(DESCONHECIDO);
+
+    @Scheduled(fixedDelayString = "${mensagem.total-aproximado.intervalo-atualizacao-ms:30000}")
+    public void atualizar() {
+        total.set(mensagemArmazenamento.estimarTotalMensagens());
+    }
+
+    public OptionalLong obter() {
+        var valor = total.get();
+        return valor == DESCONHECIDO ? OptionalLong.empty() : OptionalLong.of(valor);
+    }
+}
@@ -0,0 +1,51 @@
+-- Tabela mensagem particionada por mês de criação. A listagem ordenada por
+-- data_criacao_mensagem DESC percorre as partições da mais nova para a mais antiga e, com o
+-- LIMIT, costuma parar na do mês corrente; o cursor (data_criacao_mensagem <= :data) descarta
+-- as mais novas já no plano. A chave primária precisa conter a chave de partição, então o
+-- banco não garante um id único entre partições: a unicidade depende só do gerador (UUIDv7,
+-- GeradorDeIdUuidV7). A busca por id, sem a data, consulta o índice da chave primária de cada
+-- partição; a retenção da ManutencaoParticoes mantém esse número pequeno.
+CREATE TABLE mensagem (
+    id                    uuid         NOT NULL,
+    usuario               varchar(255) NOT NULL,
+    conteudo              varchar(255) NOT NULL,
+    data_criacao_mensagem timestamp(6) NOT NULL,
+    gostei                integer      NOT NULL DEFAULT 0,
+    versao                bigint,
+    -- Busca textual: o Postgres recalcula a coluna gerada em todo INSERT e UPDATE de conteudo
+    conteudo_busca        tsvector GENERATED ALWAYS AS (to_tsvector('portuguese', coalesce(conteudo, ''))) STORED,
+    CONSTRAINT pk_mensagem PRIMARY KEY (id, data_criacao_mensagem)
+) PARTITION BY RANGE (data_criacao_mensagem);
+
+-- Criados em cada partição, atual e futura
+CREATE INDEX idx_mensagem_data_criacao_id ON mensagem (data_criacao_mensagem DESC, id DESC);
+-- Timeline por usuário: o INCLUDE cobre as colunas da projeção (MensagemResumo), e a página sai
+-- por index-only scan. Em troca, o UPDATE de gostei deixa de ser HOT; a descarga em lote do
+-- GosteiAcumulador dilui esse custo
+CREATE INDEX idx_mensagem_usuario_data_criacao_id ON mensagem (usuario, data_criacao_mensagem DESC, id DESC)
+    INCLUDE (conteudo, gostei, versao);
+CREATE INDEX idx_mensagem_conteudo_busca ON mensagem USING GIN (conteudo_busca);
+
+-- Mês corrente e o seguinte; os demais meses à frente ficam com a ManutencaoParticoes
+DO $$
+DECLARE
+    mes timestamp := date_trunc('month', localtimestamp);
+BEGIN
+    FOR i IN 0..1 LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF mensagem FOR VALUES FROM (%L) TO (%L)',
+                       'mensagem_p' || to_char(mes + make_interval(months => i), 'YYYY_MM'),
+                       mes + make_interval(months => i),
+                       mes + make_interval(months => i + 1));
+    END LOOP;
+END
+$$;
+
+CREATE TABLE chave_idempotencia (
+    chave        varchar(255) NOT NULL,
+    impressao    varchar(64)  NOT NULL,
+    mensagem_id  uuid         NOT NULL,
+    data_criacao timestamp(6) NOT NULL,
+    CONSTRAINT pk_chave_idempotencia PRIMARY KEY (chave)
+);
+
+CREATE INDEX idx_chave_idempotencia_data_criacao ON chave_idempotencia (data_criacao);
@@ -0,0 +1,62 @@
+package fiap.testesnobackend.benchmark;
+
+import fiap.testesnobackend.service.LimitadorPorUsuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Custo por requisição do {@link LimitadorPorUsuario}: um usuário disputado por todas as
+ * threads (pior caso do CAS) e muitos usuários (custo da busca no mapa de baldes).
+ * A meta é ficar abaixo de 1 µs/op nos dois casos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class LimitadorPorUsuarioBenchmark {
+
+    @Param({"1", "10000"})
+    private int usuarios;
+
+    private LimitadorPorUsuario limitador;
+
+    private String[] nomes;
+
+    @Setup
+    public void preparar() {
+        // Taxa alta: mede o caminho da ficha concedida, não o da recusa
+        limitador = new LimitadorPorUsuario(1_000_000_000, 1_000, 100_000, Duration.ofMinutes(10));
+        nomes = new String[usuarios];
+        for (int i = 0; i < usuarios; i++) {
+            nomes[i] = "usuario-" + i;
+        }
+    }
+
+    @Benchmark
+    public long consumir() {
+        return limitador.consumir(nomes[ThreadLocalRandom.current().nextInt(nomes.length)]);
+    }
+}
@@ -0,0 +1,121 @@
+package fiap.testesnobackend.benchmark;
+
+import fiap.testesnobackend.cache.MensagemJsonCache;
+import fiap.testesnobackend.config.ByteBufferHttpMessageConverter;
+import fiap.testesnobackend.controller.MensagemController;
+import fiap.testesnobackend.repository.MensagemRepositoryEmMemoria;
+import fiap.testesnobackend.service.LimitadorPorUsuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.accept.ContentNegotiationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Requisição completa pelo DispatcherServlet (MockMvc), do mapeamento à escrita do JSON,
+ * com o serviço sobre o {@link MensagemRepositoryEmMemoria}. A diferença para o
+ * {@link MensagemServiceBenchmark} é o custo da camada web; o {@code parseUuid} isola o
+ * {@code UUID.fromString} que o controller faz em toda rota com id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MensagemControllerBenchmark {
+
+    private static final int MENSAGENS = 10_000;
+
+    private static final String NOVA_MENSAGEM = """
+            {"usuario": "usuario-42", "conteudo": "Conteúdo da mensagem para o benchmark"}
+            """;
+
+    /**
+     * Onde o {@link MensagemJsonCache} guarda os corpos renderizados do GET por id.
+     */
+    @Param({"false", "true"})
+    private boolean foraDoHeap;
+
+    private MockMvc mockMvc;
+
+    private String[] ids;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        var mensagemService = MensagemServiceBenchmark.criarServico(new MensagemRepositoryEmMemoria());
+        // Taxa zero desliga o limite por usuário
+        var limitador = new LimitadorPorUsuario(0, 1, 1, Duration.ofMinutes(1));
+        var mensagemJsonCache = new MensagemJsonCache(Jackson2ObjectMapperBuilder.json().build(),
+                64 * 1024 * 1024, Duration.ofMinutes(5), foraDoHeap);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MensagemController(mensagemService, limitador, mensagemJsonCache,
+                        new ContentNegotiationManager(), false))
+                .setMessageConverters(new HttpMessageConverters(new ByteBufferHttpMessageConverter())
+                        .getConverters().toArray(HttpMessageConverter[]::new))
+                .build();
+
+        ids = new String[MENSAGENS];
+        for (int i = 0; i < MENSAGENS; i++) {
+            ids[i] = mensagemService.registrarMensagem(MensagemServiceBenchmark.novaMensagem()).getId().toString();
+        }
+    }
+
+    @Benchmark
+    public UUID parseUuid() {
+        return UUID.fromString(ids[ThreadLocalRandom.current().nextInt(MENSAGENS)]);
+    }
+
+    @Benchmark
+    public String buscarMensagem() throws Exception {
+        return mockMvc.perform(get("/mensagens/{id}", ids[ThreadLocalRandom.current().nextInt(MENSAGENS)]))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    @Benchmark
+    public String registrarMensagem() throws Exception {
+        return mockMvc.perform(post("/mensagens")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(NOVA_MENSAGEM))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    @Benchmark
+    public String listarMensagensPorCursor() throws Exception {
+        return mockMvc.perform(get("/mensagens").param("after", "").param("size", "20"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
@@ -0,0 +1,110 @@
+package fiap.testesnobackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import fiap.testesnobackend.model.Mensagem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * JSON, CBOR e Smile lado a lado, com os mapeadores montados como os conversores do
+ * Spring: custo de escrever e ler uma {@link Mensagem} e de escrever a página de 20 que
+ * a listagem devolve. O tamanho de cada corpo é impresso no início de cada fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MensagemFormatoBenchmark {
+
+    private static final int MENSAGENS_POR_PAGINA = 20;
+
+    @Param({"json", "cbor", "smile"})
+    private String formato;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private Mensagem mensagem;
+
+    private Page<Mensagem> pagina;
+
+    private byte[] corpo;
+
+    @Setup
+    public void preparar() throws IOException {
+        ObjectMapper objectMapper = switch (formato) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        writer = objectMapper.writer();
+        reader = objectMapper.readerFor(Mensagem.class);
+
+        mensagem = novaMensagem();
+        var mensagens = new ArrayList<Mensagem>(MENSAGENS_POR_PAGINA);
+        for (int i = 0; i < MENSAGENS_POR_PAGINA; i++) {
+            mensagens.add(novaMensagem());
+        }
+        pagina = new PageImpl<>(mensagens, PageRequest.of(0, MENSAGENS_POR_PAGINA), 10_000);
+        corpo = writer.writeValueAsBytes(mensagem);
+
+        System.out.printf("%n%s: mensagem = %d bytes, página de %d = %d bytes%n",
+                formato, corpo.length, MENSAGENS_POR_PAGINA, writer.writeValueAsBytes(pagina).length);
+    }
+
+    @Benchmark
+    public byte[] serializarMensagem() throws IOException {
+        return writer.writeValueAsBytes(mensagem);
+    }
+
+    @Benchmark
+    public Mensagem desserializarMensagem() throws IOException {
+        return reader.readValue(corpo);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws IOException {
+        return writer.writeValueAsBytes(pagina);
+    }
+
+    private static Mensagem novaMensagem() {
+        return Mensagem.builder()
+                .id(UUID.randomUUID())
+                .usuario("usuario-42")
+                .conteudo("Conteúdo da mensagem para o benchmark")
+                .dataCriacaoMensagem(LocalDateTime.now())
+                .gostei(7)
+                .versao(3L)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package fiap.testesnobackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import fiap.testesnobackend.model.Mensagem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Serialização e desserialização da {@link Mensagem} com o ObjectMapper montado como o do
+ * Spring, incluindo o {@code @JsonFormat} da data. O ObjectWriter/ObjectReader pré-resolvido
+ * mostra quanto custa a busca do serializador a cada chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MensagemJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private Mensagem mensagem;
+
+    private byte[] json;
+
+    @Setup
+    public void preparar() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(Mensagem.class);
+        reader = objectMapper.readerFor(Mensagem.class);
+
+        mensagem = Mensagem.builder()
+                .id(UUID.randomUUID())
+                .usuario("usuario-42")
+                .conteudo("Conteúdo da mensagem para o benchmark")
+                .dataCriacaoMensagem(LocalDateTime.now())
+                .gostei(7)
+                .versao(3L)
+                .build();
+        json = objectMapper.writeValueAsBytes(mensagem);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return objectMapper.writeValueAsBytes(mensagem);
+    }
+
+    @Benchmark
+    public byte[] serializarComWriter() throws IOException {
+        return writer.writeValueAsBytes(mensagem);
+    }
+
+    @Benchmark
+    public Mensagem desserializar() throws IOException {
+        return objectMapper.readValue(json, Mensagem.class);
+    }
+
+    @Benchmark
+    public Mensagem desserializarComReader() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,129 @@
+package fiap.testesnobackend.benchmark;
+
+import fiap.testesnobackend.cache.MensagemCache;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.PaginaCursor;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import fiap.testesnobackend.repository.MensagemRepositoryEmMemoria;
+import fiap.testesnobackend.service.FilaIngestao;
+import fiap.testesnobackend.service.GeradorDeIdUuidV7;
+import fiap.testesnobackend.service.GosteiAcumulador;
+import fiap.testesnobackend.service.IndiceIdempotencia;
+import fiap.testesnobackend.service.MensagemServiceImpl;
+import fiap.testesnobackend.service.RegistroEmLote;
+import fiap.testesnobackend.service.TotalMensagensAproximado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Custo do MensagemServiceImpl fora do banco: o armazenamento é o
+ * {@link MensagemRepositoryEmMemoria} do perfil {@code memory}, então o que sobra é cache,
+ * cópias da entidade, geração de id e montagem das páginas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MensagemServiceBenchmark {
+
+    private static final int MENSAGENS = 10_000;
+
+    private MensagemServiceImpl mensagemService;
+
+    private UUID[] ids;
+
+    private MensagemCursor meio;
+
+    /**
+     * Refeito a cada iteração: o registro faz o repositório crescer sem limite.
+     */
+    @Setup(Level.Iteration)
+    public void preparar() {
+        mensagemService = criarServico(new MensagemRepositoryEmMemoria());
+        ids = new UUID[MENSAGENS];
+
+        for (int i = 0; i < MENSAGENS; i++) {
+            ids[i] = mensagemService.registrarMensagem(novaMensagem()).getId();
+        }
+
+        meio = MensagemCursor.de(mensagemService.buscarMensagem(ids[MENSAGENS / 2]));
+    }
+
+    /**
+     * Serviço como o perfil {@code memory} o monta, com os valores padrão do application.yaml
+     * e a ingestão assíncrona desligada.
+     */
+    static MensagemServiceImpl criarServico(MensagemArmazenamento mensagemArmazenamento) {
+        var mensagemCache = new MensagemCache(100_000, Duration.ofMinutes(5));
+        var geradorDeId = new GeradorDeIdUuidV7();
+
+        return new MensagemServiceImpl(mensagemArmazenamento,
+                new TotalMensagensAproximado(mensagemArmazenamento),
+                mensagemCache,
+                new GosteiAcumulador(mensagemArmazenamento, mensagemCache),
+                new RegistroEmLote(mensagemArmazenamento, geradorDeId, 500),
+                geradorDeId,
+                new FilaIngestao(mensagemArmazenamento, mensagemCache, false, 8192, 500, 1),
+                new IndiceIdempotencia(mensagemArmazenamento, null, 100_000, Duration.ofHours(24), 10_000));
+    }
+
+    static Mensagem novaMensagem() {
+        return Mensagem.builder()
+                .usuario("usuario-" + ThreadLocalRandom.current().nextInt(1_000))
+                .conteudo("Conteúdo da mensagem para o benchmark")
+                .build();
+    }
+
+    @Benchmark
+    public Mensagem buscarMensagem() {
+        return mensagemService.buscarMensagem(ids[ThreadLocalRandom.current().nextInt(MENSAGENS)]);
+    }
+
+    @Benchmark
+    public Mensagem registrarMensagem() {
+        return mensagemService.registrarMensagem(novaMensagem());
+    }
+
+    @Benchmark
+    public Mensagem alterarMensagem() {
+        var id = ids[ThreadLocalRandom.current().nextInt(MENSAGENS)];
+        var alteracao = Mensagem.builder()
+                .id(id)
+                .conteudo("Conteúdo alterado")
+                .build();
+        return mensagemService.alterarMensagem(id, alteracao);
+    }
+
+    @Benchmark
+    public PaginaCursor<Mensagem> listarMensagensRecentes() {
+        return mensagemService.listarMensagens(null, 20);
+    }
+
+    @Benchmark
+    public PaginaCursor<Mensagem> listarMensagensPorCursor() {
+        return mensagemService.listarMensagens(meio, 20);
+    }
+}
@@ -0,0 +1,95 @@
+package fiap.testesnobackend.benchmark;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Custo da instrumentação por chamada, no mesmo registro Prometheus usado em produção:
+ * chamada direta, Timer sem e com histograma e o proxy do {@code @Timed} (TimedAspect),
+ * que é como os métodos do MensagemServiceImpl são medidos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class MetricasBenchmark {
+
+    private Alvo direto;
+
+    private Alvo comAspecto;
+
+    private Timer timer;
+
+    private Timer timerComHistograma;
+
+    @Setup
+    public void preparar() {
+        var registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        timer = Timer.builder("benchmark.timer").register(registry);
+        timerComHistograma = Timer.builder("benchmark.timer.histograma")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        direto = new Alvo();
+        var fabrica = new AspectJProxyFactory(new Alvo());
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new TimedAspect(registry));
+        comAspecto = fabrica.getProxy();
+    }
+
+    @Benchmark
+    public long semInstrumentacao() {
+        return direto.operacao();
+    }
+
+    @Benchmark
+    public long timer() {
+        return timer.record(direto::operacao);
+    }
+
+    @Benchmark
+    public long timerComHistograma() {
+        return timerComHistograma.record(direto::operacao);
+    }
+
+    @Benchmark
+    public long aspectoTimed() {
+        return comAspecto.operacao();
+    }
+
+    public static class Alvo {
+
+        private long contador;
+
+        @Timed(value = "benchmark.aspecto", histogram = true)
+        public long operacao() {
+            return ++contador;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package fiap.testesnobackend.cache;
+
+import fiap.testesnobackend.utils.MensagemHelper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class MensagemCacheTest {
+
+    private MensagemCache mensagemCache;
+
+    @BeforeEach
+    void setup() {
+        mensagemCache = new MensagemCache(100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void devePermitirBuscarMensagem_CarregandoApenasNoPrimeiroAcesso() {
+        var id = UUID.randomUUID();
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(id);
+        var carregamentos = new AtomicInteger();
+
+        mensagemCache.buscar(id, chave -> {
+            carregamentos.incrementAndGet();
+            return Optional.of(mensagem);
+        });
+        var mensagemObtida = mensagemCache.buscar(id, chave -> {
+            carregamentos.incrementAndGet();
+            return Optional.of(mensagem);
+        });
+
+        assertThat(mensagemObtida).contains(mensagem);
+        assertThat(carregamentos).hasValue(1);
+        assertThat(mensagemCache.estatisticas().hitCount()).isEqualTo(1);
+        assertThat(mensagemCache.estatisticas().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void devePermitirBuscarMensagem_SemCompartilharInstancia() {
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UUID.randomUUID());
+        mensagemCache.atualizar(mensagem);
+
+        mensagemCache.buscar(mensagem.getId(), chave -> Optional.empty())
+                .ifPresent(mensagemObtida -> mensagemObtida.setConteudo("Conteúdo alterado"));
+
+        assertThat(mensagemCache.buscar(mensagem.getId(), chave -> Optional.empty()))
+                .hasValueSatisfying(mensagemObtida ->
+                        assertThat(mensagemObtida.getConteudo()).isEqualTo(mensagem.getConteudo()));
+    }
+
+    @Test
+    void devePermitirInvalidarMensagem() {
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UUID.randomUUID());
+        mensagemCache.atualizar(mensagem);
+
+        mensagemCache.invalidar(mensagem.getId());
+
+        assertThat(mensagemCache.buscar(mensagem.getId(), chave -> Optional.empty())).isEmpty();
+    }
+
+    @Test
+    void devePermitirExporMetricasDoCache() {
+        var registry = new SimpleMeterRegistry();
+        mensagemCache.bindTo(registry);
+
+        mensagemCache.buscar(UUID.randomUUID(), chave -> Optional.empty());
+
+        assertThat(registry.get("cache.gets").tag("cache", "mensagem").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,104 @@
+package fiap.testesnobackend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.utils.MensagemHelper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class MensagemJsonCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void devePermitirRenderizarMensagem_ReaproveitandoEnquantoVersaoEGosteiNaoMudam(boolean foraDoHeap) throws Exception {
+        // ARRANGE
+        var mensagemJsonCache = new MensagemJsonCache(objectMapper, 1_000_000, Duration.ofMinutes(1), foraDoHeap);
+        var registry = new SimpleMeterRegistry();
+        mensagemJsonCache.bindTo(registry);
+        var mensagem = gerarMensagem();
+
+        // ACT
+        var primeira = mensagemJsonCache.renderizar(mensagem);
+        var segunda = mensagemJsonCache.renderizar(mensagem);
+        mensagem.setGostei(mensagem.getGostei() + 1);
+        var aposGostei = mensagemJsonCache.renderizar(mensagem);
+
+        // ASSERT
+        assertThat(segunda.isDirect()).isEqualTo(foraDoHeap);
+        assertThat(bytes(segunda)).isEqualTo(bytes(primeira)).isEqualTo(objectMapper.writeValueAsBytes(gerarMensagem()));
+        assertThat(new String(bytes(primeira), StandardCharsets.UTF_8)).contains("\"dataCriacaoMensagem\":\"2026-10-18 10:15:30.12345\"");
+        assertThat(objectMapper.readValue(bytes(aposGostei), Mensagem.class).getGostei()).isEqualTo(4);
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void devePermitirInvalidarMensagem(boolean foraDoHeap) {
+        // ARRANGE
+        var mensagemJsonCache = new MensagemJsonCache(objectMapper, 1_000_000, Duration.ofMinutes(1), foraDoHeap);
+        var registry = new SimpleMeterRegistry();
+        mensagemJsonCache.bindTo(registry);
+        var mensagem = gerarMensagem();
+        mensagemJsonCache.renderizar(mensagem);
+
+        // ACT
+        mensagemJsonCache.invalidar(mensagem.getId());
+        mensagemJsonCache.renderizar(mensagem);
+
+        // ASSERT
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isZero();
+        assertThat(registry.get("cache.json.bytes").gauge().value()).isPositive();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void devePermitirLerAcertoDuasVezes_SemConsumirOBufferGuardado(boolean foraDoHeap) {
+        // ARRANGE
+        var mensagemJsonCache = new MensagemJsonCache(objectMapper, 1_000_000, Duration.ofMinutes(1), foraDoHeap);
+        var mensagem = gerarMensagem();
+        var esperado = bytes(mensagemJsonCache.renderizar(mensagem));
+
+        // ACT
+        var primeiroAcerto = mensagemJsonCache.renderizar(mensagem);
+        primeiroAcerto.get(new byte[primeiroAcerto.remaining()]);
+        var segundoAcerto = mensagemJsonCache.renderizar(mensagem);
+
+        // ASSERT
+        assertThat(primeiroAcerto.hasRemaining()).isFalse();
+        assertThat(bytes(segundoAcerto)).isEqualTo(esperado);
+    }
+
+    private static byte[] bytes(ByteBuffer corpo) {
+        var copia = new byte[corpo.remaining()];
+        corpo.duplicate().get(copia);
+        return copia;
+    }
+
+    private static Mensagem gerarMensagem() {
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d"));
+        mensagem.setDataCriacaoMensagem(LocalDateTime.of(2026, 10, 18, 10, 15, 30, 123_450_000));
+        mensagem.setGostei(3);
+        mensagem.setVersao(1L);
+        return mensagem;
+    }
+}
@@ -0,0 +1,71 @@
+package fiap.testesnobackend.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class ByteBufferHttpMessageConverterTest {
+
+    private final ByteBufferHttpMessageConverter converter = new ByteBufferHttpMessageConverter();
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void devePermitirEscreverCorpo_SemAlterarOBufferRecebido(boolean direto) throws Exception {
+        // ARRANGE
+        var json = "{\"usuario\":\"Bruno\"}".getBytes(StandardCharsets.UTF_8);
+        var corpo = direto
+                ? ByteBuffer.allocateDirect(json.length).put(json).flip().asReadOnlyBuffer()
+                : ByteBuffer.wrap(json);
+        var outputMessage = new MockHttpOutputMessage();
+
+        // ACT
+        converter.write(corpo, MediaType.APPLICATION_JSON, outputMessage);
+
+        // ASSERT
+        assertThat(outputMessage.getBodyAsBytes()).isEqualTo(json);
+        assertThat(outputMessage.getHeaders().getContentLength()).isEqualTo(json.length);
+        assertThat(outputMessage.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(corpo.position()).isZero();
+        assertThat(corpo.remaining()).isEqualTo(json.length);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void deveRecusarLeitura(boolean json) {
+        // ARRANGE
+        var tipo = json ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_OCTET_STREAM;
+
+        // ACT
+        var podeLer = converter.canRead(ByteBuffer.class, tipo);
+
+        // ASSERT
+        assertThat(podeLer).isFalse();
+        assertThat(converter.canWrite(ByteBuffer.class, tipo)).isTrue();
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoLerCorpo() {
+        // ARRANGE
+        var inputMessage = new MockHttpInputMessage("{}".getBytes(StandardCharsets.UTF_8));
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> converter.read(ByteBuffer.class, inputMessage))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+}
@@ -0,0 +1,212 @@
+package fiap.testesnobackend.config;
+
+import fiap.testesnobackend.cache.RespostaComprimidaCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class CompressaoRespostaFilterTest {
+
+    private static final String PAGINA = "{\"content\":[" + "{\"conteudo\":\"Mensagem repetida\"},".repeat(200) + "{}]}";
+
+    private SimpleMeterRegistry registry;
+
+    private CompressaoRespostaFilter filtro;
+
+    @BeforeEach
+    void setup() {
+        var respostaComprimidaCache = new RespostaComprimidaCache(16, Duration.ofMinutes(1));
+        registry = new SimpleMeterRegistry();
+        respostaComprimidaCache.bindTo(registry);
+        filtro = new CompressaoRespostaFilter(1024, 6, respostaComprimidaCache);
+    }
+
+    @Test
+    void devePermitirComprimirResposta_Gzip() throws Exception {
+        // ARRANGE
+        var request = requisicao("gzip, deflate");
+        var response = new MockHttpServletResponse();
+
+        // ACT
+        filtro.doFilter(request, response, (req, res) -> escrever((HttpServletResponse) res, PAGINA, null));
+
+        // ASSERT
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+        assertThat(response.getContentAsByteArray().length).isLessThan(PAGINA.length());
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(PAGINA);
+        }
+    }
+
+    @Test
+    void devePermitirComprimirResposta_Deflate() throws Exception {
+        // ARRANGE
+        var request = requisicao("gzip;q=0.5, deflate");
+        var response = new MockHttpServletResponse();
+
+        // ACT
+        filtro.doFilter(request, response, (req, res) -> escrever((HttpServletResponse) res, PAGINA, null));
+
+        // ASSERT
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("deflate");
+        try (var deflate = new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(deflate.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(PAGINA);
+        }
+    }
+
+    @Test
+    void naoDeveComprimirResposta_QuandoCorpoAbaixoDoMinimo() throws Exception {
+        // ARRANGE
+        var request = requisicao("gzip");
+        var response = new MockHttpServletResponse();
+
+        // ACT
+        filtro.doFilter(request, response, (req, res) -> escrever((HttpServletResponse) res, "{\"id\":1}", null));
+
+        // ASSERT
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void naoDeveComprimirResposta_QuandoClienteNaoAceita() throws Exception {
+        // ARRANGE
+        var request = requisicao("br, gzip;q=0");
+        var response = new MockHttpServletResponse();
+
+        // ACT
+        filtro.doFilter(request, response, (req, res) -> escrever((HttpServletResponse) res, PAGINA, null));
+
+        // ASSERT
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(PAGINA);
+    }
+
+    @Test
+    void devePermitirReaproveitarCorpoComprimido_QuandoETagNaoMudou() throws Exception {
+        // ARRANGE
+        var primeira = new MockHttpServletResponse();
+        var segunda = new MockHttpServletResponse();
+
+        // ACT
+        filtro.doFilter(requisicao("gzip"), primeira, (req, res) -> escrever((HttpServletResponse) res, PAGINA, "\"abc\""));
+        filtro.doFilter(requisicao("gzip"), segunda, (req, res) -> escrever((HttpServletResponse) res, PAGINA, "\"abc\""));
+
+        // ASSERT
+        assertThat(segunda.getContentAsByteArray()).isEqualTo(primeira.getContentAsByteArray());
+        assertThat(registry.get("cache.gets").tag("cache", "mensagem.comprimida").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void devePermitirComprimirResposta_ComETagPropria() throws Exception {
+        // ARRANGE
+        var identidade = new MockHttpServletResponse();
+        var gzip = new MockHttpServletResponse();
+        var deflate = new MockHttpServletResponse();
+
+        // ACT
+        filtro.doFilter(requisicao("identity"), identidade, (req, res) -> escrever((HttpServletResponse) res, PAGINA, "\"2-7\""));
+        filtro.doFilter(requisicao("gzip"), gzip, (req, res) -> escrever((HttpServletResponse) res, PAGINA, "\"2-7\""));
+        filtro.doFilter(requisicao("deflate"), deflate, (req, res) -> escrever((HttpServletResponse) res, PAGINA, "\"2-7\""));
+
+        // ASSERT
+        assertThat(identidade.getHeader("ETag")).isEqualTo("\"2-7\"");
+        assertThat(gzip.getHeader("ETag")).isEqualTo("\"2-7-gzip\"");
+        assertThat(deflate.getHeader("ETag")).isEqualTo("\"2-7-deflate\"");
+    }
+
+    @Test
+    void deveRetornarNaoModificado_QuandoIfNoneMatchComETagComprimida() throws Exception {
+        // ARRANGE
+        var request = requisicao("gzip");
+        request.addHeader("If-None-Match", "\"2-7-gzip\"");
+        var response = new MockHttpServletResponse();
+
+        // ACT
+        filtro.doFilter(request, response, (req, res) -> responderComETag(req, res, "\"2-7\""));
+
+        // ASSERT
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"2-7-gzip\"");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void devePermitirComprimirResposta_QuandoIfNoneMatchDeOutraCodificacao() throws Exception {
+        // ARRANGE
+        var request = requisicao("deflate");
+        request.addHeader("If-None-Match", "\"2-7-gzip\"");
+        var response = new MockHttpServletResponse();
+
+        // ACT
+        filtro.doFilter(request, response, (req, res) -> responderComETag(req, res, "\"2-7\""));
+
+        // ASSERT
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("deflate");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"2-7-deflate\"");
+    }
+
+    @Test
+    void devePermitirEscolherCodificacao_PeloAcceptEncoding() {
+        assertThat(CompressaoRespostaFilter.escolherCodificacao(null)).isNull();
+        assertThat(CompressaoRespostaFilter.escolherCodificacao("identity")).isNull();
+        assertThat(CompressaoRespostaFilter.escolherCodificacao("deflate, gzip")).isEqualTo("gzip");
+        assertThat(CompressaoRespostaFilter.escolherCodificacao("*")).isEqualTo("gzip");
+        assertThat(CompressaoRespostaFilter.escolherCodificacao("gzip;q=0, *")).isEqualTo("deflate");
+    }
+
+    private static MockHttpServletRequest requisicao(String acceptEncoding) {
+        var request = new MockHttpServletRequest("GET", "/mensagens");
+        request.setQueryString("page=0&size=200");
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        return request;
+    }
+
+    /**
+     * Como o Spring: 304 quando o If-None-Match recebido é a ETag atual.
+     */
+    private static void responderComETag(ServletRequest request, ServletResponse response, String etag) throws IOException {
+        var requisicao = (HttpServletRequest) request;
+        var resposta = (HttpServletResponse) response;
+        if (etag.equals(requisicao.getHeader("If-None-Match"))) {
+            resposta.setHeader("ETag", etag);
+            resposta.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        escrever(resposta, PAGINA, etag);
+    }
+
+    private static void escrever(HttpServletResponse response, String corpo, String etag) throws IOException {
+        if (etag != null) {
+            response.setHeader("ETag", etag);
+        }
+        response.setContentType("application/json");
+        response.getOutputStream().write(corpo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package fiap.testesnobackend.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class LeituraAposEscritaFilterTest {
+
+    private final LeituraAposEscritaFilter filtro = new LeituraAposEscritaFilter(Duration.ofSeconds(5));
+
+    private RoteamentoDataSource roteamentoDataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        var conexao = mock(Connection.class);
+        when(conexao.isValid(anyInt())).thenReturn(true);
+        var replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(conexao);
+
+        // Réplica saudável: em transação somente leitura, só a fixação leva à primária
+        roteamentoDataSource = new RoteamentoDataSource(mock(DataSource.class), Map.of("replica-1", replica), Duration.ZERO);
+        roteamentoDataSource.verificarReplicas();
+    }
+
+    @Test
+    void devePermitirDevolverCookie_QuandoEscrita() throws Exception {
+        // ARRANGE
+        var request = new MockHttpServletRequest("POST", "/mensagens");
+        var response = new MockHttpServletResponse();
+        var antes = System.currentTimeMillis();
+
+        // ACT
+        filtro.doFilter(request, response, (req, res) -> {});
+
+        // ASSERT
+        var cookie = response.getCookie(LeituraAposEscritaFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isGreaterThanOrEqualTo(antes + 5000);
+        assertThat(cookie.getMaxAge()).isEqualTo(5);
+        assertThat(cookie.isHttpOnly()).isTrue();
+    }
+
+    @Test
+    void devePermitirFixarNaPrimaria_QuandoCookieDentroDaJanela() throws Exception {
+        // ARRANGE
+        var request = new MockHttpServletRequest("GET", "/mensagens/1");
+        request.setCookies(new Cookie(LeituraAposEscritaFilter.COOKIE, Long.toString(System.currentTimeMillis() + 5000)));
+
+        // ACT
+        var chave = rotearDentroDoFiltro(request);
+
+        // ASSERT
+        assertThat(chave).isEqualTo(RoteamentoDataSource.PRIMARIA);
+        assertThat(rotearForaDoFiltro()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void naoDeveFixarNaPrimaria_QuandoCookieExpirado() throws Exception {
+        // ARRANGE
+        var request = new MockHttpServletRequest("GET", "/mensagens/1");
+        request.setCookies(new Cookie(LeituraAposEscritaFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+
+        // ACT
+        var chave = rotearDentroDoFiltro(request);
+
+        // ASSERT
+        assertThat(chave).isEqualTo("replica-1");
+    }
+
+    private Object rotearDentroDoFiltro(MockHttpServletRequest request) throws Exception {
+        var chave = new AtomicReference<>();
+        filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> chave.set(rotearForaDoFiltro()));
+        return chave.get();
+    }
+
+    private Object rotearForaDoFiltro() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return roteamentoDataSource.determineCurrentLookupKey();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package fiap.testesnobackend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class LimiteConexoesFilterTest {
+
+    @Test
+    void devePermitirRequisicao_QuandoHaPermissao() throws Exception {
+        // ARRANGE
+        var filtro = new LimiteConexoesFilter(1, Duration.ZERO);
+        var response = new MockHttpServletResponse();
+
+        // ACT
+        filtro.doFilter(new MockHttpServletRequest(), response, (req, res) ->
+                assertThat(filtro.permissoesDisponiveis()).isZero());
+
+        // ASSERT
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filtro.permissoesDisponiveis()).isOne();
+    }
+
+    @Test
+    void deveRecusarRequisicao_QuandoLimiteEsgotado() throws Exception {
+        // ARRANGE
+        var filtro = new LimiteConexoesFilter(1, Duration.ofMillis(10));
+        var respostaConcorrente = new MockHttpServletResponse();
+
+        // ACT: a segunda requisição chega enquanto a primeira ainda ocupa a única vaga
+        filtro.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (req, res) ->
+                filtro.doFilter(new MockHttpServletRequest(), respostaConcorrente, (r, s) -> {
+                }));
+
+        // ASSERT
+        assertThat(respostaConcorrente.getStatus()).isEqualTo(503);
+        assertThat(respostaConcorrente.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(filtro.permissoesDisponiveis()).isOne();
+    }
+
+    @Test
+    void deveLiberarPermissao_QuandoRequisicaoFalha() {
+        // ARRANGE
+        var filtro = new LimiteConexoesFilter(1, Duration.ZERO);
+
+        // ACT
+        try {
+            filtro.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (req, res) -> {
+                throw new IllegalStateException("falha");
+            });
+        } catch (Exception ignorada) {
+            // esperado
+        }
+
+        // ASSERT
+        assertThat(filtro.permissoesDisponiveis()).isOne();
+    }
+}
@@ -0,0 +1,77 @@
+package fiap.testesnobackend.config;
+
+import fiap.testesnobackend.exception.MensagemNotFoundException;
+import fiap.testesnobackend.service.MensagemService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class MensagemNaoEncontradaAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private MensagemService mensagemService;
+
+    @Mock
+    private MensagemService alvo;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        var fabrica = new AspectJProxyFactory(alvo);
+        fabrica.addInterface(MensagemService.class);
+        fabrica.addAspect(new MensagemNaoEncontradaAspect(registry));
+        mensagemService = fabrica.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    void deveContarMensagemNaoEncontrada_PorMetodo() {
+        // ARRANGE
+        when(alvo.buscarMensagem(any(UUID.class))).thenThrow(new MensagemNotFoundException("Mensagem não encontrada"));
+
+        // ACT
+        assertThatThrownBy(() -> mensagemService.buscarMensagem(UUID.randomUUID()))
+                .isInstanceOf(MensagemNotFoundException.class);
+
+        // ASSERT
+        assertThat(registry.get(MensagemNaoEncontradaAspect.METRICA).tag("metodo", "buscarMensagem")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveContar_QuandoOutraExcecao() {
+        // ARRANGE
+        when(alvo.buscarMensagem(any(UUID.class))).thenThrow(new IllegalStateException("falha"));
+
+        // ACT
+        assertThatThrownBy(() -> mensagemService.buscarMensagem(UUID.randomUUID()))
+                .isInstanceOf(IllegalStateException.class);
+
+        // ASSERT
+        assertThat(registry.find(MensagemNaoEncontradaAspect.METRICA).counter()).isNull();
+    }
+}
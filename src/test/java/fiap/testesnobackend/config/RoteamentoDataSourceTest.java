@@ -0,0 +1,136 @@
+package fiap.testesnobackend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class RoteamentoDataSourceTest {
+
+    @Mock
+    private DataSource primaria;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private Connection conexao;
+
+    AutoCloseable openMocks;
+
+    private RoteamentoDataSource roteamentoDataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        openMocks = MockitoAnnotations.openMocks(this);
+        var replicas = new LinkedHashMap<String, DataSource>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        // Atraso máximo zero: a verificação só testa a conexão
+        roteamentoDataSource = new RoteamentoDataSource(primaria, replicas, Duration.ZERO);
+
+        when(conexao.isValid(anyInt())).thenReturn(true);
+        when(replica1.getConnection()).thenReturn(conexao);
+        when(replica2.getConnection()).thenReturn(conexao);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RoteamentoDataSource.liberar();
+        openMocks.close();
+    }
+
+    @Test
+    void devePermitirRotearLeitura_ParaReplicasEmRodizio() {
+        // ARRANGE
+        roteamentoDataSource.verificarReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // ACT
+        var primeira = roteamentoDataSource.determineCurrentLookupKey();
+        var segunda = roteamentoDataSource.determineCurrentLookupKey();
+
+        // ASSERT
+        assertThat(primeira).isEqualTo("replica-1");
+        assertThat(segunda).isEqualTo("replica-2");
+    }
+
+    @Test
+    void devePermitirRotearEscrita_ParaPrimaria() {
+        // ARRANGE
+        roteamentoDataSource.verificarReplicas();
+
+        // ACT
+        var chave = roteamentoDataSource.determineCurrentLookupKey();
+
+        // ASSERT
+        assertThat(chave).isEqualTo(RoteamentoDataSource.PRIMARIA);
+    }
+
+    @Test
+    void devePermitirRotearLeitura_ParaPrimaria_QuandoFixadaNaPrimaria() {
+        // ARRANGE
+        roteamentoDataSource.verificarReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        RoteamentoDataSource.fixarNaPrimaria();
+
+        // ACT
+        var chave = roteamentoDataSource.determineCurrentLookupKey();
+
+        // ASSERT
+        assertThat(chave).isEqualTo(RoteamentoDataSource.PRIMARIA);
+    }
+
+    @Test
+    void devePermitirIgnorarReplica_QuandoNaoResponde() throws SQLException {
+        // ARRANGE
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        roteamentoDataSource.verificarReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // ACT
+        var primeira = roteamentoDataSource.determineCurrentLookupKey();
+        var segunda = roteamentoDataSource.determineCurrentLookupKey();
+
+        // ASSERT
+        assertThat(primeira).isEqualTo("replica-2");
+        assertThat(segunda).isEqualTo("replica-2");
+        assertThat(roteamentoDataSource.situacao())
+                .containsEntry("replica-1", false)
+                .containsEntry("replica-2", true);
+    }
+
+    @Test
+    void devePermitirRotearLeitura_ParaPrimaria_QuandoNenhumaReplicaSaudavel() {
+        // ARRANGE
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // ACT
+        var chave = roteamentoDataSource.determineCurrentLookupKey();
+
+        // ASSERT
+        assertThat(chave).isEqualTo(RoteamentoDataSource.PRIMARIA);
+    }
+}
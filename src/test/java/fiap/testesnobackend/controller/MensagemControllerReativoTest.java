@@ -0,0 +1,248 @@
+package fiap.testesnobackend.controller;
+
+import fiap.testesnobackend.exception.MensagemConflictException;
+import fiap.testesnobackend.exception.MensagemNotFoundException;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.PaginaCursor;
+import fiap.testesnobackend.service.LimitadorPorUsuario;
+import fiap.testesnobackend.service.MensagemServiceReativo;
+import fiap.testesnobackend.utils.MensagemHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class MensagemControllerReativoTest {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private MensagemServiceReativo mensagemServiceReativo;
+
+    @Mock
+    private LimitadorPorUsuario limitadorPorUsuario;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        webTestClient = WebTestClient.bindToController(new MensagemControllerReativo(mensagemServiceReativo, limitadorPorUsuario))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    void devePermitirRegistrarMensagem() {
+        var mensagem = MensagemHelper.gerarMensagem();
+
+        when(mensagemServiceReativo.registrarMensagem(any(Mensagem.class))).thenAnswer(i -> {
+            Mensagem recebida = i.getArgument(0);
+            recebida.setId(UUID.randomUUID());
+            return Mono.just(recebida);
+        });
+
+        webTestClient.post().uri("/mensagens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mensagem)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.usuario").isEqualTo(mensagem.getUsuario())
+                .jsonPath("$.conteudo").isEqualTo(mensagem.getConteudo());
+    }
+
+    @Test
+    void devePermitirBuscarMensagem() {
+        var id = UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d");
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(id);
+
+        when(mensagemServiceReativo.buscarMensagem(id)).thenReturn(Mono.just(mensagem));
+
+        webTestClient.get().uri("/mensagens/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(id.toString());
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoBuscarMensagem_IdNaoExiste() {
+        var id = UUID.fromString("16d50898-4321-4eb2-ade3-2bccb6718911");
+
+        when(mensagemServiceReativo.buscarMensagem(id))
+                .thenReturn(Mono.error(new MensagemNotFoundException("Mensagem não encontrada")));
+
+        webTestClient.get().uri("/mensagens/{id}", id)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("ID Inválido");
+    }
+
+    @Test
+    void devePermitirListarMensagens() {
+        var page = new PageImpl<>(Collections.singletonList(MensagemHelper.gerarMensagem()));
+
+        when(mensagemServiceReativo.listarMensagens(any(Pageable.class))).thenReturn(Mono.just(page));
+
+        webTestClient.get().uri("/mensagens?page=0&size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content").isNotEmpty()
+                .jsonPath("$.totalPages").isEqualTo(1)
+                .jsonPath("$.totalElements").isEqualTo(1);
+    }
+
+    @Test
+    void devePermitirListarMensagensPorCursor_PrimeiraPagina() {
+        var pagina = new PaginaCursor<>(Collections.singletonList(MensagemHelper.gerarMensagem()), 10, null, true);
+
+        when(mensagemServiceReativo.listarMensagens(null, 10)).thenReturn(Mono.just(pagina));
+
+        webTestClient.get().uri("/mensagens?after=")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.ultima").isEqualTo(true);
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoListarMensagensPorCursor_CursorInvalido() {
+        webTestClient.get().uri("/mensagens?after=invalido")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Cursor inválido");
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoAlterarMensagem_VersaoDesatualizada() {
+        var id = UUID.fromString("ef827641-526e-4e65-bb49-da0c6b9de56f");
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(id);
+        mensagem.setVersao(2L);
+
+        when(mensagemServiceReativo.alterarMensagem(any(UUID.class), any(Mensagem.class)))
+                .thenReturn(Mono.error(new MensagemConflictException("A mensagem foi alterada por outra requisição")));
+
+        webTestClient.put().uri("/mensagens/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mensagem)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void devePermitirRemoverMensagem() {
+        var id = UUID.fromString("8ac25ae6-6483-41d9-b0c8-0c98b0d10981");
+
+        when(mensagemServiceReativo.removerMensagem(id)).thenReturn(Mono.just(true));
+
+        webTestClient.delete().uri("/mensagens/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Mensagem removida");
+        verify(mensagemServiceReativo, times(1)).removerMensagem(id);
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoRemoverMensagem_IdNaoExiste() {
+        var id = UUID.fromString("c591475a-11e7-468f-bb23-c31e28a00a48");
+
+        when(mensagemServiceReativo.removerMensagem(id))
+                .thenReturn(Mono.error(new MensagemNotFoundException("Mensagem não encontrada")));
+
+        webTestClient.delete().uri("/mensagens/{id}", id)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Mensagem não encontrada");
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoRegistrarMensagem_LimiteExcedido() {
+        var mensagem = MensagemHelper.gerarMensagem();
+
+        when(limitadorPorUsuario.consumir(mensagem.getUsuario())).thenReturn(1_500_000_000L);
+
+        webTestClient.post().uri("/mensagens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mensagem)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "2");
+        verify(mensagemServiceReativo, never()).registrarMensagem(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoRegistrarMensagem_ComIdempotencyKey() {
+        var mensagem = MensagemHelper.gerarMensagem();
+
+        webTestClient.post().uri("/mensagens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", "chave-1")
+                .bodyValue(mensagem)
+                .exchange()
+                .expectStatus().isEqualTo(501);
+        verify(mensagemServiceReativo, never()).registrarMensagem(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoAlterarMensagem_LimiteExcedido() {
+        var id = UUID.fromString("5b0a3c1e-2f4d-4e6a-9b8c-7d1e0f2a3b4c");
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(id);
+
+        when(limitadorPorUsuario.consumir(mensagem.getUsuario())).thenReturn(1L);
+
+        webTestClient.put().uri("/mensagens/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mensagem)
+                .exchange()
+                .expectStatus().isEqualTo(429);
+        verify(mensagemServiceReativo, never()).alterarMensagem(any(UUID.class), any(Mensagem.class));
+    }
+
+    @Test
+    void naoDeveTratarBuscaComoId() {
+        webTestClient.get().uri("/mensagens/busca?q=teste")
+                .exchange()
+                .expectStatus().isEqualTo(501);
+        webTestClient.get().uri("/mensagens/usuario/{usuario}", "Bruno")
+                .exchange()
+                .expectStatus().isEqualTo(501);
+        verifyNoInteractions(mensagemServiceReativo);
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoBuscarMensagem_IdMalformado() {
+        webTestClient.get().uri("/mensagens/{id}", "nao-e-uuid")
+                .exchange()
+                .expectStatus().isNotFound();
+        verifyNoInteractions(mensagemServiceReativo);
+    }
+}
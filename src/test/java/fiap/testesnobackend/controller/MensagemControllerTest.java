@@ -2,25 +2,47 @@ package fiap.testesnobackend.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import fiap.testesnobackend.cache.MensagemJsonCache;
+import fiap.testesnobackend.config.ByteBufferHttpMessageConverter;
+import fiap.testesnobackend.exception.ChaveIdempotenciaInvalidaException;
+import fiap.testesnobackend.exception.FilaIngestaoCheiaException;
+import fiap.testesnobackend.exception.MensagemConflictException;
 import fiap.testesnobackend.exception.MensagemNotFoundException;
+import fiap.testesnobackend.exception.MensagemRemovidaException;
+import fiap.testesnobackend.model.BuscaCursor;
 import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.MensagemResumo;
+import fiap.testesnobackend.model.PaginaCursor;
+import fiap.testesnobackend.model.RespostaIdempotente;
+import fiap.testesnobackend.service.LimitadorPorUsuario;
 import fiap.testesnobackend.service.MensagemService;
 import fiap.testesnobackend.utils.MensagemHelper;
 import io.qameta.allure.Description;
 import org.junit.jupiter.api.*;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.accept.ContentNegotiationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.OptionalLong;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,13 +61,21 @@ public class MensagemControllerTest {
     @Mock
     private MensagemService mensagemService;
 
+    @Mock
+    private LimitadorPorUsuario limitadorPorUsuario;
+
     AutoCloseable mock;
 
     @BeforeEach
     void setup() {
         mock = MockitoAnnotations.openMocks(this);
-        MensagemController mensagemController = new MensagemController(mensagemService);
+        MensagemController mensagemController = new MensagemController(mensagemService, limitadorPorUsuario,
+                new MensagemJsonCache(Jackson2ObjectMapperBuilder.json().build(), 1_000_000, Duration.ofMinutes(1), false),
+                new ContentNegotiationManager(), false);
         mockMvc = MockMvcBuilders.standaloneSetup(mensagemController)
+                // Os conversores padrão mais o do corpo em ByteBuffer, como a aplicação os registra
+                .setMessageConverters(new HttpMessageConverters(new ByteBufferHttpMessageConverter())
+                        .getConverters().toArray(HttpMessageConverter[]::new))
                 .addFilter((request, response, chain) -> {
                     response.setCharacterEncoding("UTF-8");
                     chain.doFilter(request, response);
@@ -79,6 +109,108 @@ public class MensagemControllerTest {
             verify(mensagemService, times(1)).registrarMensagem(any(Mensagem.class));
         }
 
+        @Test
+        void devePermitirRegistrarMensagem_IngestaoAssincrona() throws Exception {
+            // ARRANGE
+            var mensagem = MensagemHelper.gerarMensagem();
+            var id = UUID.randomUUID();
+
+            when(mensagemService.ingestaoAssincrona()).thenReturn(true);
+            when(mensagemService.enfileirarMensagem(any(Mensagem.class))).thenAnswer(i -> {
+                Mensagem aceita = i.getArgument(0);
+                aceita.setId(id);
+                return aceita;
+            });
+
+            // ACT & ASSERT
+            mockMvc.perform(post("/mensagens")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "/mensagens/" + id))
+                    .andExpect(jsonPath("$.id").value(id.toString()));
+            verify(mensagemService, never()).registrarMensagem(any(Mensagem.class));
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoRegistrarMensagem_FilaDeIngestaoCheia() throws Exception {
+            // ARRANGE
+            when(mensagemService.ingestaoAssincrona()).thenReturn(true);
+            when(mensagemService.enfileirarMensagem(any(Mensagem.class)))
+                    .thenThrow(new FilaIngestaoCheiaException("Fila de ingestão cheia, tente novamente"));
+
+            // ACT & ASSERT
+            mockMvc.perform(post("/mensagens")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(MensagemHelper.gerarMensagem())))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"));
+        }
+
+        @Test
+        void devePermitirRegistrarMensagem_RepetindoIdempotencyKey() throws Exception {
+            // ARRANGE
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(UUID.randomUUID());
+
+            when(mensagemService.registrarMensagem(any(Mensagem.class), eq("chave-1")))
+                    .thenReturn(new RespostaIdempotente(mensagem, true));
+
+            // ACT & ASSERT
+            mockMvc.perform(post("/mensagens")
+                            .header("Idempotency-Key", "chave-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(MensagemHelper.gerarMensagem())))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(jsonPath("$.id").value(mensagem.getId().toString()));
+            verify(mensagemService, never()).registrarMensagem(any(Mensagem.class));
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoRegistrarMensagem_IdempotencyKeyComOutroConteudo() throws Exception {
+            // ARRANGE
+            when(mensagemService.registrarMensagem(any(Mensagem.class), anyString()))
+                    .thenThrow(new ChaveIdempotenciaInvalidaException("Idempotency-Key já utilizada com outro conteúdo"));
+
+            // ACT & ASSERT
+            mockMvc.perform(post("/mensagens")
+                            .header("Idempotency-Key", "chave-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(MensagemHelper.gerarMensagem())))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(content().string("Idempotency-Key já utilizada com outro conteúdo"));
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoRegistrarMensagem_IdempotencyKeyDeMensagemRemovida() throws Exception {
+            // ARRANGE
+            when(mensagemService.registrarMensagem(any(Mensagem.class), anyString()))
+                    .thenThrow(new MensagemRemovidaException("A mensagem registrada com esta Idempotency-Key foi removida"));
+
+            // ACT & ASSERT
+            mockMvc.perform(post("/mensagens")
+                            .header("Idempotency-Key", "chave-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(MensagemHelper.gerarMensagem())))
+                    .andExpect(status().isGone())
+                    .andExpect(content().string("A mensagem registrada com esta Idempotency-Key foi removida"));
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoRegistrarMensagem_LimiteDoUsuarioExcedido() throws Exception {
+            // ARRANGE
+            when(limitadorPorUsuario.consumir("Bruno")).thenReturn(1_500_000_000L);
+
+            // ACT & ASSERT
+            mockMvc.perform(post("/mensagens")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(MensagemHelper.gerarMensagem())))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "2"));
+            verify(mensagemService, never()).registrarMensagem(any(Mensagem.class));
+        }
+
         @Test
         void deveGerarExcecao_QuandoRegistrarMensagem_PayloadXML() throws Exception {
             String xmlPayload = "<mensagem><usuario>Ana</usuario><conteudo>Mensagem do Conteudo</conteudo></mensagem>";
@@ -108,6 +240,89 @@ public class MensagemControllerTest {
             verify(mensagemService, times(1)).buscarMensagem(any(UUID.class));
         }
 
+        @Test
+        void devePermitirBuscarMensagem_ComETag() throws Exception {
+            var id = UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setVersao(2L);
+            mensagem.setGostei(7);
+
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem);
+
+            mockMvc.perform(get("/mensagens/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"2-7\""));
+        }
+
+        @Test
+        void devePermitirBuscarMensagem_RenderizandoNovamenteAposAlteracao() throws Exception {
+            var id = UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+            mensagem.setVersao(0L);
+            var alterada = mensagem.toBuilder().conteudo("Conteúdo alterado").versao(1L).build();
+
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem, mensagem, alterada);
+
+            mockMvc.perform(get("/mensagens/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.conteudo").value(mensagem.getConteudo()));
+            mockMvc.perform(get("/mensagens/{id}", id))
+                    .andExpect(jsonPath("$.conteudo").value(mensagem.getConteudo()));
+            mockMvc.perform(get("/mensagens/{id}", id))
+                    .andExpect(header().string("ETag", "\"1-0\""))
+                    .andExpect(jsonPath("$.conteudo").value("Conteúdo alterado"));
+        }
+
+        @Test
+        void deveRetornarNaoModificado_QuandoBuscarMensagem_ETagNaoMudou() throws Exception {
+            var id = UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setVersao(2L);
+            mensagem.setGostei(7);
+
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem);
+
+            mockMvc.perform(get("/mensagens/{id}", id)
+                            .header("If-None-Match", "\"2-7\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        void naoDeveRenderizarJson_QuandoBuscarMensagem_ETagNaoMudou() throws Exception {
+            var id = UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setVersao(2L);
+            mensagem.setGostei(7);
+            var mensagemJsonCache = mock(MensagemJsonCache.class);
+            var mockMvcComCacheSimulado = MockMvcBuilders.standaloneSetup(new MensagemController(
+                            mensagemService, limitadorPorUsuario, mensagemJsonCache,
+                            new ContentNegotiationManager(), false))
+                    .build();
+
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem);
+
+            mockMvcComCacheSimulado.perform(get("/mensagens/{id}", id)
+                            .header("If-None-Match", "\"2-7\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"2-7\""))
+                    .andExpect(header().string("Vary", "Accept"));
+            verify(mensagemJsonCache, never()).renderizar(any(Mensagem.class));
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoBuscarMensagem_FormatoNaoSuportado() throws Exception {
+            var id = UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d");
+
+            when(mensagemService.buscarMensagem(id)).thenReturn(MensagemHelper.gerarMensagem());
+
+            mockMvc.perform(get("/mensagens/{id}", id)
+                            .accept(MediaType.APPLICATION_XML))
+                    .andExpect(status().isNotAcceptable());
+        }
+
         @Test
         @Description("Valida o cenário de exceção ao efetuar uma busca de mensagem quando o id não existir")
         void deveGerarExcecao_QuandoBuscarMensagem_IdNaoExiste() throws Exception {
@@ -180,6 +395,132 @@ public class MensagemControllerTest {
                     .alterarMensagem(any(UUID.class), any(Mensagem.class));
         }
 
+        @Test
+        void deveGerarExcecao_QuandoAlterarMensagem_VersaoDesatualizada() throws Exception {
+            var id = UUID.fromString("ef827641-526e-4e65-bb49-da0c6b9de56f");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+            mensagem.setVersao(2L);
+            var conteudoDaExcecao = "A mensagem foi alterada por outra requisição";
+
+            when(mensagemService.alterarMensagem(id, mensagem))
+                    .thenThrow(new MensagemConflictException(conteudoDaExcecao));
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isConflict())
+                    .andExpect(content().string(conteudoDaExcecao));
+            verify(mensagemService, times(1))
+                    .alterarMensagem(any(UUID.class), any(Mensagem.class));
+        }
+
+        @Test
+        void devePermitirAlterarMensagem_ComIfMatch() throws Exception {
+            var id = UUID.fromString("e932d556-c9c9-4636-acda-e0b345635859");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+            var mensagemNaVersao = mensagem.toBuilder().versao(3L).build();
+            var mensagemAtualizada = mensagem.toBuilder().versao(4L).build();
+
+            when(mensagemService.alterarMensagem(id, mensagemNaVersao))
+                    .thenReturn(mensagemAtualizada);
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .header("If-Match", "\"3-0\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("ETag", "\"4-0\""));
+            verify(mensagemService, times(1)).alterarMensagem(id, mensagemNaVersao);
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoAlterarMensagem_IfMatchDesatualizado() throws Exception {
+            var id = UUID.fromString("e932d556-c9c9-4636-acda-e0b345635859");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+
+            when(mensagemService.alterarMensagem(any(UUID.class), any(Mensagem.class)))
+                    .thenThrow(new MensagemConflictException("A mensagem foi alterada por outra requisição"));
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .header("If-Match", "\"1-0\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isPreconditionFailed());
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoAlterarMensagem_IfMatchInvalido() throws Exception {
+            var id = UUID.fromString("e932d556-c9c9-4636-acda-e0b345635859");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .header("If-Match", "W/\"abc\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(content().string("If-Match inválido"));
+            verify(mensagemService, never()).alterarMensagem(any(UUID.class), any(Mensagem.class));
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoAlterarMensagem_SemVersao_ComVersaoObrigatoria() throws Exception {
+            var id = UUID.fromString("e932d556-c9c9-4636-acda-e0b345635859");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+            var mockMvcExigindoVersao = MockMvcBuilders.standaloneSetup(new MensagemController(
+                            mensagemService, limitadorPorUsuario,
+                            new MensagemJsonCache(Jackson2ObjectMapperBuilder.json().build(), 1_000_000, Duration.ofMinutes(1), false),
+                            new ContentNegotiationManager(), true))
+                    .build();
+
+            mockMvcExigindoVersao.perform(put("/mensagens/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isPreconditionRequired());
+            verify(mensagemService, never()).alterarMensagem(any(UUID.class), any(Mensagem.class));
+        }
+
+        @Test
+        void devePermitirAlterarMensagem_ConsumindoLimiteDoUsuarioInformado() throws Exception {
+            // ARRANGE
+            var id = UUID.fromString("e932d556-c9c9-4636-acda-e0b345635859");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+
+            when(mensagemService.alterarMensagem(id, mensagem))
+                    .thenReturn(mensagem);
+
+            // ACT & ASSERT
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isAccepted());
+            verify(limitadorPorUsuario, times(1)).consumir("Bruno");
+            verify(mensagemService, never()).buscarMensagem(any(UUID.class));
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoAlterarMensagem_LimiteExcedido() throws Exception {
+            // ARRANGE
+            var id = UUID.fromString("e932d556-c9c9-4636-acda-e0b345635859");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+
+            when(limitadorPorUsuario.consumir("Bruno")).thenReturn(1_500_000_000L);
+
+            // ACT & ASSERT
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "2"));
+            verify(mensagemService, never()).alterarMensagem(any(UUID.class), any(Mensagem.class));
+        }
+
         @Test
         void deveGerarExcecao_QuandoAlterarMensagem_ApresentaPayloadComXML() throws Exception {
             var id = UUID.fromString("e932d556-c9c9-4636-acda-e0b345635859");
@@ -197,6 +538,38 @@ public class MensagemControllerTest {
         }
     }
 
+    @Nested
+    class RegistrarGostei {
+
+        @Test
+        void devePermitirRegistrarGostei() throws Exception {
+            var id = UUID.fromString("2f0c9a6e-7d41-4b3a-8e5f-c1d2e3f4a5b6");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+            mensagem.setGostei(1);
+
+            when(mensagemService.registrarGostei(id)).thenReturn(mensagem);
+
+            mockMvc.perform(post("/mensagens/{id}/gostei", id))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.gostei").value(1));
+            verify(mensagemService, times(1)).registrarGostei(id);
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoRegistrarGostei_IdNaoExiste() throws Exception {
+            var id = UUID.fromString("9a8b7c6d-5e4f-4a3b-9c2d-1e0f9a8b7c6d");
+            var mensagemDaExcecao = "Mensagem não encontrada";
+
+            when(mensagemService.registrarGostei(id))
+                    .thenThrow(new MensagemNotFoundException(mensagemDaExcecao));
+
+            mockMvc.perform(post("/mensagens/{id}/gostei", id))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string(mensagemDaExcecao));
+        }
+    }
+
     @Nested
     class RemoverMensagem {
 
@@ -225,6 +598,31 @@ public class MensagemControllerTest {
                     .andExpect(content().string(mensagemDaExcecao));
             verify(mensagemService, times(1)).removerMensagem(id);
         }
+
+        @Test
+        void devePermitirRemoverMensagem_ComIfMatch() throws Exception {
+            var id = UUID.fromString("8ac25ae6-6483-41d9-b0c8-0c98b0d10981");
+
+            when(mensagemService.removerMensagem(id, 3L)).thenReturn(true);
+
+            mockMvc.perform(delete("/mensagens/{id}", id)
+                            .header("If-Match", "\"3-12\""))
+                    .andExpect(status().isOk());
+            verify(mensagemService, times(1)).removerMensagem(id, 3L);
+            verify(mensagemService, never()).removerMensagem(id);
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoRemoverMensagem_IfMatchDesatualizado() throws Exception {
+            var id = UUID.fromString("8ac25ae6-6483-41d9-b0c8-0c98b0d10981");
+
+            when(mensagemService.removerMensagem(id, 3L))
+                    .thenThrow(new MensagemConflictException("A mensagem foi alterada por outra requisição"));
+
+            mockMvc.perform(delete("/mensagens/{id}", id)
+                            .header("If-Match", "\"3-0\""))
+                    .andExpect(status().isPreconditionFailed());
+        }
     }
 
     @Nested
@@ -261,6 +659,298 @@ public class MensagemControllerTest {
                     .andExpect(jsonPath("$.totalPages").value(1))
                     .andExpect(jsonPath("$.totalElements").value(1));
         }
+
+        @Test
+        void deveRetornarNaoModificado_QuandoListarMensagens_ETagNaoMudou() throws Exception {
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(UUID.fromString("a7d2f0c3-5b1e-4e8a-9f6d-2c4b8e1a3d5f"));
+            var page = new PageImpl<>(Collections.singletonList(mensagem));
+
+            when(mensagemService.listarMensagens(any(Pageable.class))).thenReturn(page);
+
+            var eTag = mockMvc.perform(get("/mensagens"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/mensagens")
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            mensagem.setGostei(1);
+
+            mockMvc.perform(get("/mensagens")
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(eTag)));
+        }
+
+        @Test
+        void devePermitirListarMensagensSemContagem() throws Exception {
+            var mensagem = MensagemHelper.gerarMensagem();
+            var fatia = new SliceImpl<>(Collections.singletonList(mensagem), Pageable.ofSize(10), false);
+
+            when(mensagemService.listarMensagensSemContagem(any(Pageable.class))).thenReturn(fatia);
+
+            mockMvc.perform(get("/mensagens/slice"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", not(empty())))
+                    .andExpect(jsonPath("$.last").value(true))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andExpect(header().doesNotExist("X-Total-Aproximado"));
+            verify(mensagemService, never()).totalMensagensAproximado();
+            verify(mensagemService, never()).listarMensagens(any(Pageable.class));
+        }
+
+        @Test
+        void devePermitirListarMensagensSemContagem_ComTotalAproximado() throws Exception {
+            var fatia = new SliceImpl<>(Collections.singletonList(MensagemHelper.gerarMensagem()));
+
+            when(mensagemService.listarMensagensSemContagem(any(Pageable.class))).thenReturn(fatia);
+            when(mensagemService.totalMensagensAproximado()).thenReturn(OptionalLong.of(1500));
+
+            mockMvc.perform(get("/mensagens/slice")
+                            .param("total", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Total-Aproximado", "1500"));
+            verify(mensagemService, times(1)).totalMensagensAproximado();
+        }
+
+        @Test
+        void devePermitirListarMensagensPorCursor() throws Exception {
+            var mensagem = MensagemHelper.gerarMensagem();
+            var cursor = new MensagemCursor(LocalDateTime.of(2023, 1, 15, 0, 0), UUID.randomUUID());
+            var pagina = new PaginaCursor<>(Collections.singletonList(mensagem), 1, "proximo", false);
+
+            when(mensagemService.listarMensagens(cursor, 1)).thenReturn(pagina);
+
+            mockMvc.perform(get("/mensagens")
+                            .param("after", cursor.codificar())
+                            .param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.proximo").value("proximo"))
+                    .andExpect(jsonPath("$.ultima").value(false));
+            verify(mensagemService, times(1)).listarMensagens(cursor, 1);
+            verify(mensagemService, never()).listarMensagens(any(Pageable.class));
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoListarMensagensPorCursor_CursorInvalido() throws Exception {
+            mockMvc.perform(get("/mensagens")
+                            .param("after", "cursor-invalido"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("Cursor inválido"));
+            verify(mensagemService, never()).listarMensagens(any(), anyInt());
+        }
+    }
+
+    @Nested
+    class ListarMensagensDoUsuario {
+
+        @Test
+        void devePermitirListarMensagensDoUsuario() throws Exception {
+            var resumo = new MensagemResumo(UUID.randomUUID(), "Conteudo", LocalDateTime.of(2023, 1, 15, 0, 0), 2, 1L);
+            var pagina = new PaginaCursor<>(Collections.singletonList(resumo), 10, null, true);
+
+            when(mensagemService.listarMensagensDoUsuario("Eva", null, 10)).thenReturn(pagina);
+
+            mockMvc.perform(get("/mensagens/usuario/{usuario}", "Eva"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andExpect(jsonPath("$.content[0].id").value(resumo.id().toString()))
+                    .andExpect(jsonPath("$.content[0].usuario").doesNotExist())
+                    .andExpect(jsonPath("$.ultima").value(true));
+            verify(mensagemService, times(1)).listarMensagensDoUsuario("Eva", null, 10);
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoListarMensagensDoUsuario_CursorInvalido() throws Exception {
+            mockMvc.perform(get("/mensagens/usuario/{usuario}", "Eva")
+                            .param("after", "cursor-invalido"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("Cursor inválido"));
+            verify(mensagemService, never()).listarMensagensDoUsuario(anyString(), any(), anyInt());
+        }
+    }
+
+    @Nested
+    class BuscarMensagens {
+
+        @Test
+        void devePermitirBuscarMensagens() throws Exception {
+            var mensagem = MensagemHelper.gerarMensagem();
+            var cursor = new BuscaCursor(0.5f, UUID.randomUUID());
+            var pagina = new PaginaCursor<>(Collections.singletonList(mensagem), 1, "proximo", false);
+
+            when(mensagemService.buscarMensagens("teste", cursor, 1)).thenReturn(pagina);
+
+            mockMvc.perform(get("/mensagens/busca")
+                            .param("q", "teste")
+                            .param("after", cursor.codificar())
+                            .param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.proximo").value("proximo"));
+            verify(mensagemService, times(1)).buscarMensagens("teste", cursor, 1);
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoBuscarMensagens_TermoVazio() throws Exception {
+            when(mensagemService.buscarMensagens(anyString(), any(), anyInt()))
+                    .thenThrow(new IllegalArgumentException("O termo de busca não pode estar vazio"));
+
+            mockMvc.perform(get("/mensagens/busca")
+                            .param("q", " "))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("O termo de busca não pode estar vazio"));
+        }
+    }
+
+    @Nested
+    class NegociarFormato {
+
+        @Test
+        void devePermitirBuscarMensagem_FormatoCbor() throws Exception {
+            // ARRANGE
+            var cbor = Jackson2ObjectMapperBuilder.cbor().build();
+            var id = UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+            mensagem.setVersao(2L);
+
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem);
+
+            // ACT
+            var resposta = mockMvc.perform(get("/mensagens/{id}", id)
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                    .andExpect(header().string("ETag", "\"2-0-cbor\""))
+                    .andExpect(header().string("Vary", "Accept"))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsByteArray();
+
+            // ASSERT
+            var mensagemRecebida = cbor.readValue(resposta, Mensagem.class);
+            assertThat(mensagemRecebida.getId()).isEqualTo(id);
+            assertThat(mensagemRecebida.getConteudo()).isEqualTo(mensagem.getConteudo());
+            assertThat(resposta.length).isLessThan(asJsonString(mensagem).length());
+        }
+
+        @Test
+        void devePermitirBuscarMensagem_PreferindoJsonPelaQualidadeDoAccept() throws Exception {
+            var id = UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem);
+
+            mockMvc.perform(get("/mensagens/{id}", id)
+                            .header("Accept", "application/cbor;q=0.5, application/json"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.conteudo").value(mensagem.getConteudo()));
+        }
+
+        @Test
+        void devePermitirBuscarMensagem_NegociandoComoOSpring() throws Exception {
+            var id = UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem);
+
+            mockMvc.perform(get("/mensagens/{id}", id)
+                            .header("Accept", "*/*;q=0.1, application/x-jackson-smile"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MensagemController.APPLICATION_SMILE_VALUE));
+            // O tipo exato é mais específico que o curinga de mesma qualidade
+            mockMvc.perform(get("/mensagens/{id}", id)
+                            .header("Accept", "application/*, application/cbor"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+            mockMvc.perform(get("/mensagens/{id}", id)
+                            .header("Accept", "*/*"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        void devePermitirBuscarMensagem_OutroFormatoComETagDoJson() throws Exception {
+            // ARRANGE
+            var id = UUID.fromString("f3a04364-be8a-4682-b467-abde4189574d");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+            mensagem.setVersao(2L);
+            mensagem.setGostei(7);
+
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem);
+
+            var eTagJson = mockMvc.perform(get("/mensagens/{id}", id)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // ACT & ASSERT
+            mockMvc.perform(get("/mensagens/{id}", id)
+                            .accept(MediaType.APPLICATION_CBOR)
+                            .header("If-None-Match", eTagJson))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                    .andExpect(header().string("ETag", "\"2-7-cbor\""));
+            mockMvc.perform(get("/mensagens/{id}", id)
+                            .accept(MensagemController.APPLICATION_SMILE_VALUE)
+                            .header("If-None-Match", "\"2-7-smile\""))
+                    .andExpect(status().isNotModified());
+            assertThat(eTagJson).isEqualTo("\"2-7\"");
+        }
+
+        @Test
+        void devePermitirListarMensagens_FormatoSmile() throws Exception {
+            // ARRANGE
+            var smile = Jackson2ObjectMapperBuilder.smile().build();
+            var page = new PageImpl<>(Collections.singletonList(MensagemHelper.gerarMensagem()));
+
+            when(mensagemService.listarMensagens(any(Pageable.class))).thenReturn(page);
+
+            // ACT
+            var resposta = mockMvc.perform(get("/mensagens")
+                            .accept(MensagemController.APPLICATION_SMILE_VALUE))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MensagemController.APPLICATION_SMILE_VALUE))
+                    .andExpect(header().string("ETag", endsWith("-smile\"")))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsByteArray();
+
+            // ASSERT
+            var pagina = smile.readTree(resposta);
+            assertThat(pagina.get("content")).hasSize(1);
+            assertThat(pagina.get("totalElements").asLong()).isEqualTo(1);
+        }
+
+        @Test
+        void devePermitirRegistrarMensagem_FormatoCbor() throws Exception {
+            // ARRANGE
+            var cbor = Jackson2ObjectMapperBuilder.cbor().build();
+            var mensagem = MensagemHelper.gerarMensagem();
+
+            when(mensagemService.registrarMensagem(any(Mensagem.class)))
+                    .thenAnswer(i -> i.getArgument(0));
+
+            // ACT & ASSERT
+            mockMvc.perform(post("/mensagens")
+                            .contentType(MediaType.APPLICATION_CBOR)
+                            .accept(MediaType.APPLICATION_CBOR)
+                            .content(cbor.writeValueAsBytes(mensagem)))
+                    .andExpect(status().isCreated())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+            verify(mensagemService, times(1)).registrarMensagem(argThat(recebida ->
+                    recebida.getConteudo().equals(mensagem.getConteudo())));
+        }
     }
 
     public static String asJsonString(final Object object) throws JsonProcessingException {
@@ -0,0 +1,100 @@
+package fiap.testesnobackend.controller;
+
+import fiap.testesnobackend.service.MensagemServiceReativo;
+import fiap.testesnobackend.utils.MensagemHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class MensagemExportControllerReativoTest {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private MensagemServiceReativo mensagemServiceReativo;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        webTestClient = WebTestClient.bindToController(new MensagemExportControllerReativo(
+                        mensagemServiceReativo, Jackson2ObjectMapperBuilder.json().build()))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    void devePermitirExportarMensagensEmNdjson() {
+        // ARRANGE
+        var primeira = MensagemHelper.gerarMensagem();
+        primeira.setId(UUID.fromString("5f0d1b9e-3c2a-4d8b-9e7f-1a2b3c4d5e6f"));
+        var segunda = MensagemHelper.gerarMensagem();
+        segunda.setId(UUID.fromString("6a1e2c0f-4d3b-4e9c-8f0a-2b3c4d5e6f70"));
+
+        when(mensagemServiceReativo.exportarMensagens()).thenReturn(Flux.just(primeira, segunda));
+
+        // ACT
+        var corpo = webTestClient.get().uri("/mensagens/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // ASSERT
+        var linhas = corpo.split("\n");
+        assertThat(linhas).hasSize(2);
+        assertThat(linhas[0]).startsWith("{").contains(primeira.getId().toString());
+        assertThat(linhas[1]).startsWith("{").contains(segunda.getId().toString());
+    }
+
+    @Test
+    void devePermitirExportarMensagensEmCsv_EscapandoCampos() {
+        // ARRANGE
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UUID.fromString("5f0d1b9e-3c2a-4d8b-9e7f-1a2b3c4d5e6f"));
+        mensagem.setConteudo("olá, \"mundo\"");
+
+        when(mensagemServiceReativo.exportarMensagens()).thenReturn(Flux.just(mensagem));
+
+        // ACT & ASSERT
+        webTestClient.get().uri("/mensagens/export?formato=csv")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Content-Type", MensagemExportController.TEXT_CSV_VALUE)
+                .expectBody(String.class)
+                .isEqualTo("id,usuario,conteudo,dataCriacaoMensagem,gostei,versao\n" +
+                        "5f0d1b9e-3c2a-4d8b-9e7f-1a2b3c4d5e6f,Bruno,\"olá, \"\"mundo\"\"\",,0,\n");
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoExportarMensagens_FormatoInvalido() {
+        webTestClient.get().uri("/mensagens/export?formato=xml")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(mensagemServiceReativo, never()).exportarMensagens();
+    }
+}
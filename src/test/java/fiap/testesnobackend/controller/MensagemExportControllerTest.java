@@ -0,0 +1,140 @@
+package fiap.testesnobackend.controller;
+
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.service.MensagemService;
+import fiap.testesnobackend.utils.MensagemHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class MensagemExportControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private MensagemService mensagemService;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        var mensagemExportController = new MensagemExportController(
+                mensagemService, Jackson2ObjectMapperBuilder.json().build());
+        mockMvc = MockMvcBuilders.standaloneSetup(mensagemExportController).build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void devePermitirExportarMensagensEmNdjson() throws Exception {
+        // ARRANGE
+        var primeira = MensagemHelper.gerarMensagem();
+        primeira.setId(UUID.fromString("5f0d1b9e-3c2a-4d8b-9e7f-1a2b3c4d5e6f"));
+        var segunda = MensagemHelper.gerarMensagem();
+        segunda.setId(UUID.fromString("6a1e2c0f-4d3b-4e9c-8f0a-2b3c4d5e6f70"));
+
+        doAnswer(i -> {
+            List.of(primeira, segunda).forEach(i.<Consumer<Mensagem>>getArgument(0));
+            return null;
+        }).when(mensagemService).exportarMensagens(any(Consumer.class));
+
+        // ACT
+        var resposta = mockMvc.perform(get("/mensagens/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        var linhas = resposta.getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(linhas).hasSize(2);
+        assertThat(linhas[0]).startsWith("{").contains(primeira.getId().toString());
+        assertThat(linhas[1]).startsWith("{").contains(segunda.getId().toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void devePermitirExportarMensagensEmCsv_EscapandoCampos() throws Exception {
+        // ARRANGE
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UUID.fromString("5f0d1b9e-3c2a-4d8b-9e7f-1a2b3c4d5e6f"));
+        mensagem.setConteudo("olá, \"mundo\"");
+
+        doAnswer(i -> {
+            i.<Consumer<Mensagem>>getArgument(0).accept(mensagem);
+            return null;
+        }).when(mensagemService).exportarMensagens(any(Consumer.class));
+
+        // ACT & ASSERT
+        var resposta = mockMvc.perform(get("/mensagens/export").param("formato", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MensagemExportController.TEXT_CSV_VALUE))
+                .andReturn().getResponse();
+
+        assertThat(resposta.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,usuario,conteudo,dataCriacaoMensagem,gostei,versao\n" +
+                        "5f0d1b9e-3c2a-4d8b-9e7f-1a2b3c4d5e6f,Bruno,\"olá, \"\"mundo\"\"\",,0,\n");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void devePermitirExportarMensagens_ComGzip() throws Exception {
+        // ARRANGE
+        var mensagem = MensagemHelper.gerarMensagem();
+
+        doAnswer(i -> {
+            i.<Consumer<Mensagem>>getArgument(0).accept(mensagem);
+            return null;
+        }).when(mensagemService).exportarMensagens(any(Consumer.class));
+
+        // ACT
+        var resposta = mockMvc.perform(get("/mensagens/export")
+                        .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse();
+
+        // ASSERT
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(resposta.getContentAsByteArray()))) {
+            var conteudo = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(conteudo).contains(mensagem.getConteudo()).endsWith("\n");
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveGerarExcecao_QuandoExportarMensagens_FormatoInvalido() throws Exception {
+        mockMvc.perform(get("/mensagens/export").param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+        verify(mensagemService, never()).exportarMensagens(any(Consumer.class));
+    }
+}
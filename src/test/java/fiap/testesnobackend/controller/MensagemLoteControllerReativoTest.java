@@ -0,0 +1,147 @@
+package fiap.testesnobackend.controller;
+
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.ResultadoLote;
+import fiap.testesnobackend.service.LimitadorPorUsuario;
+import fiap.testesnobackend.service.MensagemServiceReativo;
+import fiap.testesnobackend.utils.MensagemHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+import static fiap.testesnobackend.controller.MensagemControllerTest.asJsonString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class MensagemLoteControllerReativoTest {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private MensagemServiceReativo mensagemServiceReativo;
+
+    @Mock
+    private LimitadorPorUsuario limitadorPorUsuario;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        webTestClient = WebTestClient.bindToController(new MensagemLoteControllerReativo(mensagemServiceReativo, limitadorPorUsuario, 2))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote() {
+        when(mensagemServiceReativo.registrarMensagens(anyList())).thenReturn(Mono.just(List.of(
+                ResultadoLote.registrado(0, UUID.randomUUID()),
+                ResultadoLote.rejeitado(1, 400, "O conteúdo não pode estar vazio"))));
+
+        webTestClient.post().uri("/mensagens/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(MensagemHelper.gerarMensagem(), new Mensagem()))
+                .exchange()
+                .expectStatus().isEqualTo(207)
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo(201)
+                .jsonPath("$[1].status").isEqualTo(400);
+    }
+
+    @Test
+    void deveRecusarLote_QuandoAcimaDoTamanhoMaximo() {
+        webTestClient.post().uri("/mensagens/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(MensagemHelper.gerarMensagem(),
+                        MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem()))
+                .exchange()
+                .expectStatus().isEqualTo(413);
+        verify(mensagemServiceReativo, never()).registrarMensagens(anyList());
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote_FormatoNdjson() throws Exception {
+        when(mensagemServiceReativo.registrarMensagens(anyList())).thenReturn(Mono.just(List.of(
+                ResultadoLote.registrado(0, UUID.randomUUID()),
+                ResultadoLote.registrado(1, UUID.randomUUID()))));
+
+        var corpo = asJsonString(MensagemHelper.gerarMensagem()) + "\n"
+                + asJsonString(MensagemHelper.gerarMensagem()) + "\n";
+
+        webTestClient.post().uri("/mensagens/lote")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(corpo)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+        verify(mensagemServiceReativo, times(1)).registrarMensagens(anyList());
+    }
+
+    @Test
+    void deveReportarLinhaInvalida_QuandoRegistrarMensagensEmLote_FormatoNdjson() throws Exception {
+        when(mensagemServiceReativo.registrarMensagens(anyList())).thenReturn(Mono.just(List.of(
+                ResultadoLote.registrado(0, UUID.randomUUID()))));
+
+        var corpo = asJsonString(MensagemHelper.gerarMensagem()) + "\n{\"usuario\": ]}\n";
+
+        webTestClient.post().uri("/mensagens/lote")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(corpo)
+                .exchange()
+                .expectStatus().isEqualTo(207)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].indice").isEqualTo(1)
+                .jsonPath("$[1].status").isEqualTo(400);
+    }
+
+    @Test
+    void deveRecusarLote_QuandoLimiteDoUsuarioExcedido() {
+        when(limitadorPorUsuario.consumirLote(anyList())).thenReturn(1_500_000_000L);
+
+        webTestClient.post().uri("/mensagens/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem()))
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals("Retry-After", "2");
+        verify(mensagemServiceReativo, never()).registrarMensagens(anyList());
+    }
+
+    @Test
+    void deveReportarLimiteExcedido_QuandoRegistrarMensagensEmLote_FormatoNdjson() throws Exception {
+        when(limitadorPorUsuario.consumirLote(anyList())).thenReturn(1L);
+
+        var corpo = asJsonString(MensagemHelper.gerarMensagem()) + "\n";
+
+        webTestClient.post().uri("/mensagens/lote")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(corpo)
+                .exchange()
+                .expectStatus().isEqualTo(207)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].status").isEqualTo(429);
+        verify(mensagemServiceReativo, never()).registrarMensagens(anyList());
+    }
+}
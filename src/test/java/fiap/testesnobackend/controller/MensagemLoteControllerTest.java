@@ -0,0 +1,186 @@
+package fiap.testesnobackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.ResultadoLote;
+import fiap.testesnobackend.service.LimitadorPorUsuario;
+import fiap.testesnobackend.service.MensagemService;
+import fiap.testesnobackend.utils.MensagemHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static fiap.testesnobackend.controller.MensagemControllerTest.asJsonString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class MensagemLoteControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private MensagemService mensagemService;
+
+    @Mock
+    private LimitadorPorUsuario limitadorPorUsuario;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        var mensagemLoteController = new MensagemLoteController(mensagemService, limitadorPorUsuario, new ObjectMapper(), 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(mensagemLoteController).build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void devePermitirRegistrarMensagensEmLote() throws Exception {
+        when(mensagemService.registrarMensagens(anyList())).thenAnswer(i -> {
+            List<Mensagem> mensagens = i.getArgument(0);
+            return mensagens.stream()
+                    .map(mensagem -> ResultadoLote.registrado(mensagens.indexOf(mensagem), UUID.randomUUID()))
+                    .toList();
+        });
+
+        mockMvc.perform(post("/mensagens/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(List.of(MensagemHelper.gerarMensagem()))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].erro").doesNotExist());
+        verify(mensagemService, times(1)).registrarMensagens(anyList());
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote_ComFalhaParcial() throws Exception {
+        when(mensagemService.registrarMensagens(anyList())).thenReturn(List.of(
+                ResultadoLote.registrado(0, UUID.randomUUID()),
+                ResultadoLote.rejeitado(1, 400, "O conteúdo não pode estar vazio")));
+
+        mockMvc.perform(post("/mensagens/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(List.of(MensagemHelper.gerarMensagem(), new Mensagem()))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[1].status").value(400));
+    }
+
+    @Test
+    void deveRecusarLote_QuandoAcimaDoTamanhoMaximo() throws Exception {
+        mockMvc.perform(post("/mensagens/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(List.of(MensagemHelper.gerarMensagem(),
+                                MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem()))))
+                .andExpect(status().isPayloadTooLarge());
+        verify(mensagemService, never()).registrarMensagens(anyList());
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote_FormatoCbor() throws Exception {
+        var cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        var id = UUID.randomUUID();
+        when(mensagemService.registrarMensagens(anyList())).thenReturn(List.of(ResultadoLote.registrado(0, id)));
+
+        var resposta = mockMvc.perform(post("/mensagens/lote")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(List.of(MensagemHelper.gerarMensagem()))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        var resultados = cbor.readValue(resposta, ResultadoLote[].class);
+        assertThat(resultados).hasSize(1);
+        assertThat(resultados[0].id()).isEqualTo(id);
+        assertThat(resultados[0].status()).isEqualTo(201);
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote_FormatoNdjson() throws Exception {
+        when(mensagemService.registrarMensagens(anyList())).thenReturn(List.of(
+                ResultadoLote.registrado(0, UUID.randomUUID()),
+                ResultadoLote.registrado(1, UUID.randomUUID())));
+
+        var corpo = asJsonString(MensagemHelper.gerarMensagem()) + "\n"
+                + asJsonString(MensagemHelper.gerarMensagem()) + "\n";
+
+        mockMvc.perform(post("/mensagens/lote")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)));
+        verify(mensagemService, times(1)).registrarMensagens(anyList());
+    }
+
+    @Test
+    void deveReportarLinhaInvalida_QuandoRegistrarMensagensEmLote_FormatoNdjson() throws Exception {
+        when(mensagemService.registrarMensagens(anyList())).thenReturn(List.of(
+                ResultadoLote.registrado(0, UUID.randomUUID())));
+
+        var corpo = asJsonString(MensagemHelper.gerarMensagem()) + "\n{\"usuario\": \n";
+
+        mockMvc.perform(post("/mensagens/lote")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(corpo))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].indice").value(1))
+                .andExpect(jsonPath("$[1].status").value(400));
+    }
+
+    @Test
+    void deveRecusarLote_QuandoLimiteDoUsuarioExcedido() throws Exception {
+        when(limitadorPorUsuario.consumirLote(anyList())).thenReturn(1_500_000_000L);
+
+        mockMvc.perform(post("/mensagens/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(List.of(MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem()))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+        verify(limitadorPorUsuario, times(1)).consumirLote(anyList());
+        verify(mensagemService, never()).registrarMensagens(anyList());
+    }
+
+    @Test
+    void deveReportarLimiteExcedido_QuandoRegistrarMensagensEmLote_FormatoNdjson() throws Exception {
+        when(limitadorPorUsuario.consumirLote(anyList())).thenReturn(1L);
+
+        var corpo = asJsonString(MensagemHelper.gerarMensagem()) + "\n";
+
+        mockMvc.perform(post("/mensagens/lote")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(corpo))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].indice").value(0))
+                .andExpect(jsonPath("$[0].status").value(429));
+        verify(mensagemService, never()).registrarMensagens(anyList());
+    }
+}
@@ -0,0 +1,142 @@
+package fiap.testesnobackend.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Resume o js/stats.json da execução mais recente do Gatling (p95, p99, erro e vazão por
+ * requisição) em resumo.json e compara com a baseline guardada. Termina com código 1 se
+ * alguma requisição piorou além da tolerância.
+ * <p>
+ * Os percentis vêm de percentiles3 e percentiles4, que no gatling.conf padrão são p95 e p99.
+ */
+public class ComparacaoBaseline {
+
+    private static final Path RELATORIOS = Path.of(System.getProperty("relatorios", "target/gatling"));
+
+    private static final Path BASELINE = Path.of(System.getProperty("baseline", "src/test/resources/performance/baseline.json"));
+
+    /**
+     * Piora relativa aceita nos percentis (0.10 = 10%).
+     */
+    private static final double TOLERANCIA = Double.parseDouble(System.getProperty("tolerancia", "0.10"));
+
+    /**
+     * Aumento aceito na taxa de erro, em pontos percentuais.
+     */
+    private static final double TOLERANCIA_ERRO = Double.parseDouble(System.getProperty("toleranciaErro", "0.5"));
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] args) throws IOException {
+        var execucao = execucaoMaisRecente();
+        var resumo = resumir(OBJECT_MAPPER.readTree(execucao.resolve("js/stats.json").toFile()));
+        OBJECT_MAPPER.writeValue(execucao.resolve("resumo.json").toFile(), resumo);
+        System.out.println("Resumo gravado em " + execucao.resolve("resumo.json"));
+
+        if (args.length > 0 && "--atualizar".equals(args[0])) {
+            Files.createDirectories(BASELINE.getParent());
+            OBJECT_MAPPER.writeValue(BASELINE.toFile(), resumo);
+            System.out.println("Baseline atualizada em " + BASELINE);
+            return;
+        }
+
+        if (!Files.exists(BASELINE)) {
+            System.out.println("Sem baseline em " + BASELINE + "; grave uma com --atualizar");
+            return;
+        }
+
+        var baseline = OBJECT_MAPPER.readValue(BASELINE.toFile(), Resumo.class);
+        if (comparar(baseline, resumo) > 0) {
+            System.exit(1);
+        }
+    }
+
+    static Resumo resumir(JsonNode stats) {
+        var requisicoes = new LinkedHashMap<String, Medida>();
+        requisicoes.put(stats.path("name").asText(), medir(stats.path("stats")));
+        coletar(stats.path("contents"), requisicoes);
+        return new Resumo(requisicoes);
+    }
+
+    /**
+     * @return quantidade de requisições que pioraram
+     */
+    static int comparar(Resumo baseline, Resumo atual) {
+        var regressoes = 0;
+
+        System.out.printf("%-40s %12s %12s %12s%n", "requisição", "p95 (ms)", "p99 (ms)", "erro (%)");
+        for (var entrada : atual.requisicoes().entrySet()) {
+            var medida = entrada.getValue();
+            var referencia = baseline.requisicoes().get(entrada.getKey());
+            if (referencia == null) {
+                System.out.printf("%-40s %12d %12d %12.2f  (nova)%n", entrada.getKey(), medida.p95(), medida.p99(), medida.erroPercentual());
+                continue;
+            }
+
+            var piorou = medida.p95() > referencia.p95() * (1 + TOLERANCIA)
+                    || medida.p99() > referencia.p99() * (1 + TOLERANCIA)
+                    || medida.erroPercentual() > referencia.erroPercentual() + TOLERANCIA_ERRO;
+            if (piorou) {
+                regressoes++;
+            }
+
+            System.out.printf("%-40s %5d → %-5d %5d → %-5d %5.2f → %-5.2f%s%n", entrada.getKey(),
+                    referencia.p95(), medida.p95(), referencia.p99(), medida.p99(),
+                    referencia.erroPercentual(), medida.erroPercentual(), piorou ? "  REGRESSÃO" : "");
+        }
+
+        return regressoes;
+    }
+
+    private static void coletar(JsonNode conteudo, Map<String, Medida> requisicoes) {
+        conteudo.forEach(no -> {
+            if ("REQUEST".equals(no.path("type").asText())) {
+                requisicoes.put(no.path("name").asText(), medir(no.path("stats")));
+            }
+            coletar(no.path("contents"), requisicoes);
+        });
+    }
+
+    private static Medida medir(JsonNode stats) {
+        var total = stats.path("numberOfRequests").path("total").asLong();
+        var falhas = stats.path("numberOfRequests").path("ko").asLong();
+
+        return new Medida(
+                total,
+                total == 0 ? 0 : 100.0 * falhas / total,
+                stats.path("percentiles3").path("total").asLong(),
+                stats.path("percentiles4").path("total").asLong(),
+                stats.path("meanNumberOfRequestsPerSecond").path("total").asDouble());
+    }
+
+    private static Path execucaoMaisRecente() throws IOException {
+        try (Stream<Path> execucoes = Files.list(RELATORIOS)) {
+            return execucoes
+                    .filter(execucao -> Files.exists(execucao.resolve("js/stats.json")))
+                    .max(Comparator.comparing(execucao -> execucao.toFile().lastModified()))
+                    .orElseThrow(() -> new IllegalStateException("Nenhum relatório do Gatling em " + RELATORIOS));
+        }
+    }
+
+    record Resumo(Map<String, Medida> requisicoes) {
+    }
+
+    record Medida(long total, double erroPercentual, long p95, long p99, double requisicoesPorSegundo) {
+    }
+}
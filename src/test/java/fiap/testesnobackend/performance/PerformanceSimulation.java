@@ -1,13 +1,29 @@
 package fiap.testesnobackend.performance;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.gatling.javaapi.core.ActionBuilder;
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.Choice;
+import io.gatling.javaapi.core.PopulationBuilder;
 import io.gatling.javaapi.core.ScenarioBuilder;
 import io.gatling.javaapi.core.Simulation;
 import io.gatling.javaapi.http.HttpProtocolBuilder;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.header;
 import static io.gatling.javaapi.http.HttpDsl.http;
 import static io.gatling.javaapi.http.HttpDsl.status;
 
@@ -17,58 +33,270 @@ import static io.gatling.javaapi.http.HttpDsl.status;
  * Project Name: testes-no-backend
  */
 
+/**
+ * Carga parametrizada de /mensagens. Três cenários rodam juntos:
+ * <ul>
+ *     <li>misto: leitura, escrita, listagem, alteração e "gostei" na proporção dos pesos;</li>
+ *     <li>paginação profunda: segue o cursor por várias páginas e compara com um OFFSET alto;</li>
+ *     <li>alteração concorrente: poucas mensagens disputadas com If-Match (412 é resposta esperada).</li>
+ * </ul>
+ * Tudo é configurável por propriedade de sistema ({@code -Dmodelo=fechado -Dtaxa=2000 ...}).
+ * As assertions são SLOs de p95, p99 e taxa de erro; o ComparacaoBaseline compara o
+ * stats.json gerado pelo Gatling com uma execução de referência.
+ */
 public class PerformanceSimulation extends Simulation {
 
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+
+    /**
+     * aberto (usuários por segundo), fechado (usuários simultâneos) ou degraus (aberto, em patamares).
+     */
+    private static final String MODELO = System.getProperty("modelo", "aberto");
+
+    private static final double TAXA = Double.parseDouble(System.getProperty("taxa", "200"));
+
+    private static final int USUARIOS_SIMULTANEOS = Integer.getInteger("usuarios", 200);
+
+    private static final Duration RAMPA = Duration.ofSeconds(Long.getLong("rampaSegundos", 10));
+
+    private static final Duration DURACAO = Duration.ofSeconds(Long.getLong("duracaoSegundos", 60));
+
+    private static final int DEGRAUS = Integer.getInteger("degraus", 5);
+
+    private static final double PESO_LEITURA = Double.parseDouble(System.getProperty("peso.leitura", "60"));
+
+    private static final double PESO_ESCRITA = Double.parseDouble(System.getProperty("peso.escrita", "15"));
+
+    private static final double PESO_LISTAGEM = Double.parseDouble(System.getProperty("peso.listagem", "15"));
+
+    private static final double PESO_ALTERACAO = Double.parseDouble(System.getProperty("peso.alteracao", "5"));
+
+    private static final double PESO_GOSTEI = Double.parseDouble(System.getProperty("peso.gostei", "5"));
+
+    /**
+     * Quantidade de autores distintos; poucos autores concentram boa parte das escritas.
+     */
+    private static final int CARDINALIDADE_USUARIOS = Integer.getInteger("cardinalidadeUsuarios", 10_000);
+
+    /**
+     * Mensagens gravadas antes da carga, alvo das leituras, alterações e "gostei".
+     */
+    private static final int MENSAGENS_INICIAIS = Integer.getInteger("mensagensIniciais", 1_000);
+
+    private static final int PROFUNDIDADE = Integer.getInteger("profundidade", 50);
+
+    private static final int TAMANHO_PAGINA = Integer.getInteger("tamanhoPagina", 20);
+
+    private static final double TAXA_PAGINACAO = Double.parseDouble(System.getProperty("taxaPaginacao", "2"));
+
+    private static final int MENSAGENS_DISPUTADAS = Integer.getInteger("mensagensDisputadas", 5);
+
+    private static final double TAXA_DISPUTA = Double.parseDouble(System.getProperty("taxaDisputa", "20"));
+
+    private static final int SLO_P95_MS = Integer.getInteger("slo.p95", 100);
+
+    private static final int SLO_P99_MS = Integer.getInteger("slo.p99", 250);
+
+    private static final double SLO_ERRO_PERCENTUAL = Double.parseDouble(System.getProperty("slo.erro", "1"));
+
+    private static final String[] PALAVRAS = ("mensagem teste backend desempenho latência cache banco índice " +
+            "cursor página usuário conteúdo servidor requisição resposta carga fila lote versão gostei").split(" ");
+
+    private final List<String> mensagensIniciais = new CopyOnWriteArrayList<>();
+
     private final HttpProtocolBuilder httpProtocol =
-            http.baseUrl("http://localhost:8080")
-                    .header("Content-Type", "application/json");
+            http.baseUrl(BASE_URL)
+                    .header("Content-Type", "application/json")
+                    .shareConnections();
+
+    private final Iterator<Map<String, Object>> autores =
+            Stream.generate(() -> Map.<String, Object>of(
+                    "usuario", usuario(),
+                    "conteudo", conteudo())).iterator();
+
+    private final Iterator<Map<String, Object>> existentes =
+            Stream.generate(() -> Map.<String, Object>of(
+                    "mensagemId", sortear(mensagensIniciais, mensagensIniciais.size()))).iterator();
+
+    private final Iterator<Map<String, Object>> disputadas =
+            Stream.generate(() -> Map.<String, Object>of(
+                    "mensagemId", sortear(mensagensIniciais, MENSAGENS_DISPUTADAS))).iterator();
 
     ActionBuilder adicionarMensagemRequest = http("request: adicionar mensagem")
             .post("/mensagens")
-            .body(StringBody("{\"usuario\": \"user\", \"conteudo\": \"Conteudo da mensagem\"}"))
-            .check(status().is(201))
-            .check(jsonPath("$.id").saveAs("mensagemId"));
+            .body(StringBody("{\"usuario\": \"#{usuario}\", \"conteudo\": \"#{conteudo}\"}"))
+            // 202 quando a ingestão assíncrona está ligada
+            .check(status().in(201, 202));
 
     ActionBuilder buscarMensagemRequest = http("request: buscar mensagem")
             .get("/mensagens/#{mensagemId}")
             .check(status().is(200));
 
-    ActionBuilder removeMensagemRequest = http("request: remover mensagem")
-            .delete("/mensagens/#{mensagemId}")
+    ActionBuilder listarMensagensRequest = http("request: listar mensagens")
+            .get("/mensagens?after=&size=" + TAMANHO_PAGINA)
+            .check(status().is(200));
+
+    ActionBuilder alterarMensagemRequest = http("request: alterar mensagem")
+            .put("/mensagens/#{mensagemId}")
+            .body(StringBody("{\"id\": \"#{mensagemId}\", \"usuario\": \"#{usuario}\", \"conteudo\": \"#{conteudo}\"}"))
+            .check(status().is(202));
+
+    ActionBuilder registrarGosteiRequest = http("request: registrar gostei")
+            .post("/mensagens/#{mensagemId}/gostei")
+            .check(status().is(200));
+
+    ActionBuilder listarPorCursorRequest = http("request: listar por cursor")
+            .get("/mensagens")
+            .queryParam("after", "#{after}")
+            .queryParam("size", TAMANHO_PAGINA)
+            .check(status().is(200))
+            .check(jsonPath("$.ultima").ofBoolean().saveAs("ultima"))
+            .check(jsonPath("$.proximo").optional().saveAs("after"));
+
+    ActionBuilder listarPorOffsetRequest = http("request: listar por offset profundo")
+            .get("/mensagens")
+            .queryParam("page", PROFUNDIDADE)
+            .queryParam("size", TAMANHO_PAGINA)
             .check(status().is(200));
 
-    ScenarioBuilder cenarioAdicionarMensagem = scenario("adicionar mensagem")
-            .exec(adicionarMensagemRequest);
+    ActionBuilder lerVersaoRequest = http("request: ler versão disputada")
+            .get("/mensagens/#{mensagemId}")
+            .check(status().is(200))
+            .check(header("ETag").saveAs("etag"));
+
+    ActionBuilder alterarNaVersaoRequest = http("request: alterar na versão")
+            .put("/mensagens/#{mensagemId}")
+            .header("If-Match", "#{etag}")
+            .body(StringBody("{\"id\": \"#{mensagemId}\", \"usuario\": \"#{usuario}\", \"conteudo\": \"#{conteudo}\"}"))
+            // 412: outra requisição alterou a mensagem entre o GET e o PUT
+            .check(status().in(202, 412));
+
+    ChainBuilder requisicaoMista = feed(autores)
+            .feed(existentes)
+            .randomSwitch().on(
+                    Choice.withWeight(percentual(PESO_LEITURA), exec(buscarMensagemRequest)),
+                    Choice.withWeight(percentual(PESO_ESCRITA), exec(adicionarMensagemRequest)),
+                    Choice.withWeight(percentual(PESO_LISTAGEM), exec(listarMensagensRequest)),
+                    Choice.withWeight(percentual(PESO_ALTERACAO), exec(alterarMensagemRequest)),
+                    Choice.withWeight(percentual(PESO_GOSTEI), exec(registrarGosteiRequest))
+            );
+
+    ScenarioBuilder cenarioMisto = "fechado".equals(MODELO)
+            ? scenario("misto").during(DURACAO.plus(RAMPA)).on(requisicaoMista)
+            : scenario("misto").exec(requisicaoMista);
 
-    ScenarioBuilder cenarioBuscarMensagem = scenario("buscar mensagem")
-            .exec(adicionarMensagemRequest)
-            .exec(buscarMensagemRequest);
+    ScenarioBuilder cenarioPaginacaoProfunda = scenario("paginação profunda")
+            .exec(session -> session.set("after", "").set("ultima", false))
+            .asLongAs(session -> !session.getBoolean("ultima") && session.getInt("pagina") < PROFUNDIDADE, "pagina")
+            .on(exec(listarPorCursorRequest))
+            .exec(listarPorOffsetRequest);
 
-    ScenarioBuilder cenarioRemoverMensagem = scenario("remover mensagem")
-            .exec(adicionarMensagemRequest)
-            .exec(removeMensagemRequest);
+    ScenarioBuilder cenarioAlteracaoConcorrente = scenario("alteração concorrente")
+            .feed(autores)
+            .feed(disputadas)
+            .exec(lerVersaoRequest)
+            .exec(alterarNaVersaoRequest);
 
     {
         setUp(
-                cenarioAdicionarMensagem.injectOpen(
-                        rampUsersPerSec(1).to(2).during(Duration.ofSeconds(10)),
-                        constantUsersPerSec(2).during(Duration.ofSeconds(20)),
-                        rampUsersPerSec(2).to(1).during(Duration.ofSeconds(10))
+                injetar(cenarioMisto),
+                cenarioPaginacaoProfunda.injectOpen(
+                        rampUsersPerSec(0.1).to(TAXA_PAGINACAO).during(RAMPA),
+                        constantUsersPerSec(TAXA_PAGINACAO).during(DURACAO)
                 ),
-                cenarioBuscarMensagem.injectOpen(
-                        rampUsersPerSec(1).to(10).during(Duration.ofSeconds(10)),
-                        constantUsersPerSec(10).during(Duration.ofSeconds(20)),
-                        rampUsersPerSec(10).to(1).during(Duration.ofSeconds(10))
-                ),
-                cenarioRemoverMensagem.injectOpen(
-                        rampUsersPerSec(1).to(5).during(Duration.ofSeconds(10)),
-                        constantUsersPerSec(5).during(Duration.ofSeconds(20)),
-                        rampUsersPerSec(5).to(1).during(Duration.ofSeconds(10))
+                cenarioAlteracaoConcorrente.injectOpen(
+                        rampUsersPerSec(1).to(TAXA_DISPUTA).during(RAMPA),
+                        constantUsersPerSec(TAXA_DISPUTA).during(DURACAO)
                 )
         )
                 .protocols(httpProtocol)
                 .assertions(
-                        global().responseTime().max().lt(50)
+                        global().responseTime().percentile(95).lt(SLO_P95_MS),
+                        global().responseTime().percentile(99).lt(SLO_P99_MS),
+                        global().failedRequests().percent().lt(SLO_ERRO_PERCENTUAL),
+                        details("request: buscar mensagem").responseTime().percentile(99).lt(SLO_P99_MS),
+                        details("request: listar por cursor").responseTime().percentile(99).lt(SLO_P99_MS)
                 );
     }
+
+    /**
+     * Grava as mensagens iniciais antes da carga, fora das estatísticas do Gatling.
+     */
+    @Override
+    public void before() {
+        var cliente = HttpClient.newHttpClient();
+        var objectMapper = new ObjectMapper();
+
+        for (int i = 0; i < MENSAGENS_INICIAIS; i++) {
+            var corpo = "{\"usuario\": \"semente-" + i + "\", \"conteudo\": \"" + conteudo() + "\"}";
+            var requisicao = HttpRequest.newBuilder(URI.create(BASE_URL + "/mensagens"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build();
+
+            try {
+                var resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+                mensagensIniciais.add(objectMapper.readTree(resposta.body()).get("id").asText());
+            } catch (IOException ioException) {
+                throw new IllegalStateException("Não foi possível gravar as mensagens iniciais em " + BASE_URL, ioException);
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(interruptedException);
+            }
+        }
+    }
+
+    private static PopulationBuilder injetar(ScenarioBuilder cenario) {
+        return switch (MODELO) {
+            case "fechado" -> cenario.injectClosed(
+                    rampConcurrentUsers(1).to(USUARIOS_SIMULTANEOS).during(RAMPA),
+                    constantConcurrentUsers(USUARIOS_SIMULTANEOS).during(DURACAO));
+            case "degraus" -> cenario.injectOpen(
+                    incrementUsersPerSec(TAXA / DEGRAUS)
+                            .times(DEGRAUS)
+                            .eachLevelLasting(DURACAO.dividedBy(DEGRAUS))
+                            .separatedByRampsLasting(RAMPA)
+                            .startingFrom(0));
+            case "aberto" -> cenario.injectOpen(
+                    rampUsersPerSec(1).to(TAXA).during(RAMPA),
+                    constantUsersPerSec(TAXA).during(DURACAO));
+            default -> throw new IllegalArgumentException("Modelo de carga desconhecido: " + MODELO);
+        };
+    }
+
+    private static double percentual(double peso) {
+        var total = PESO_LEITURA + PESO_ESCRITA + PESO_LISTAGEM + PESO_ALTERACAO + PESO_GOSTEI;
+        return 100.0 * peso / total;
+    }
+
+    /**
+     * Distribuição enviesada: o quadrado do sorteio concentra as escritas nos primeiros autores,
+     * como em uma rede em que poucos usuários publicam muito.
+     */
+    private static String usuario() {
+        var sorteio = ThreadLocalRandom.current().nextDouble();
+        return "user-" + (int) (sorteio * sorteio * CARDINALIDADE_USUARIOS);
+    }
+
+    /**
+     * Tamanhos próximos dos de mensagens reais: a maioria curta e poucas perto do limite
+     * de 255 caracteres da coluna.
+     */
+    private static String conteudo() {
+        var aleatorio = ThreadLocalRandom.current();
+        var faixa = aleatorio.nextInt(100);
+        var tamanho = faixa < 60 ? aleatorio.nextInt(10, 80)
+                : faixa < 90 ? aleatorio.nextInt(80, 200)
+                : aleatorio.nextInt(200, 255);
+
+        var conteudo = new StringBuilder(tamanho + 16);
+        while (conteudo.length() < tamanho) {
+            conteudo.append(PALAVRAS[aleatorio.nextInt(PALAVRAS.length)]).append(' ');
+        }
+        return conteudo.substring(0, tamanho).trim();
+    }
+
+    private static String sortear(List<String> ids, int limite) {
+        return ids.get(ThreadLocalRandom.current().nextInt(Math.min(limite, ids.size())));
+    }
 }
@@ -0,0 +1,69 @@
+package fiap.testesnobackend.performance;
+
+import io.gatling.javaapi.core.ActionBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * Carga de alta concorrência para comparar o modo padrão (pool do Tomcat) com o perfil
+ * virtual-threads. A mesma simulação roda contra cada modo; o Makefile identifica o
+ * relatório pelo runDescription.
+ */
+public class ThreadsVirtuaisSimulation extends Simulation {
+
+    private static final int USUARIOS = Integer.getInteger("usuarios", 400);
+
+    private static final Duration DURACAO = Duration.ofSeconds(Long.getLong("duracaoSegundos", 60));
+
+    private final HttpProtocolBuilder httpProtocol =
+            http.baseUrl(System.getProperty("baseUrl", "http://localhost:8080"))
+                    .header("Content-Type", "application/json");
+
+    ActionBuilder adicionarMensagemRequest = http("request: adicionar mensagem")
+            .post("/mensagens")
+            .body(StringBody("{\"usuario\": \"user-#{randomInt(0,10000)}\", \"conteudo\": \"Conteudo da mensagem\"}"))
+            .check(status().is(201))
+            .check(jsonPath("$.id").saveAs("mensagemId"));
+
+    ActionBuilder buscarMensagemRequest = http("request: buscar mensagem")
+            .get("/mensagens/#{mensagemId}")
+            .check(status().is(200));
+
+    ActionBuilder listarMensagensRequest = http("request: listar mensagens")
+            .get("/mensagens?page=0&size=20")
+            .check(status().is(200));
+
+    ScenarioBuilder cenarioMisto = scenario("misto com alta concorrência")
+            .exec(adicionarMensagemRequest)
+            .repeat(5).on(
+                    exec(buscarMensagemRequest)
+                            .exec(listarMensagensRequest)
+            );
+
+    {
+        setUp(
+                cenarioMisto.injectClosed(
+                        rampConcurrentUsers(1).to(USUARIOS).during(Duration.ofSeconds(10)),
+                        constantConcurrentUsers(USUARIOS).during(DURACAO)
+                )
+        )
+                .protocols(httpProtocol)
+                .assertions(
+                        global().successfulRequests().percent().gt(95.0),
+                        global().responseTime().percentile(95).lt(1000)
+                );
+    }
+}
@@ -1,14 +1,17 @@
 package fiap.testesnobackend.repository;
 
 import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemResumo;
 import fiap.testesnobackend.utils.MensagemHelper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -84,6 +87,22 @@ class MensagemRepositoryIT {
         assertThat(mensagemRecebidaOptional).isEmpty();
     }
 
+    @Test
+    void devePermitirAlterarConteudo_DevolvendoMensagemAlterada() {
+        // ARRANGE
+        var id = UUID.fromString("22940b60-002f-466c-871b-6b134d0e288c");
+        var versao = mensagemRepository.findById(id).orElseThrow().getVersao();
+
+        // ACT
+        var mensagemAlterada = mensagemRepository.alterarConteudo(id, "conteudo alterado", versao);
+
+        // ASSERT
+        assertThat(mensagemAlterada).isPresent();
+        assertThat(mensagemAlterada.get().getConteudo()).isEqualTo("conteudo alterado");
+        assertThat(mensagemAlterada.get().getVersao()).isEqualTo(versao + 1);
+        assertThat(mensagemRepository.alterarConteudo(id, "outro conteudo", versao)).isEmpty();
+    }
+
     @Test
     void devePermitirListarMensagens() {
         // ACT
@@ -92,4 +111,66 @@ class MensagemRepositoryIT {
         // ASSERT
         assertThat(resultadosObtidos).hasSizeGreaterThan(0);
     }
+
+    @Test
+    void devePermitirListarMensagensSemContagem() {
+        // ACT
+        var resultadoObtido = mensagemRepository.listarMensagensSemContagem(PageRequest.of(0, 2));
+
+        // ASSERT
+        assertThat(resultadoObtido.getContent()).hasSize(2);
+        assertThat(resultadoObtido.hasNext()).isTrue();
+    }
+
+    @Test
+    void devePermitirListarMensagensAposCursor() {
+        // ARRANGE
+        var recentes = mensagemRepository.listarMensagensRecentes(PageRequest.of(0, 1));
+        var ultimaEntregue = recentes.get(0);
+
+        // ACT
+        var resultadosObtidos = mensagemRepository.listarMensagensApos(
+                ultimaEntregue.getDataCriacaoMensagem(), ultimaEntregue.getId(), PageRequest.of(0, 10));
+
+        // ASSERT
+        assertThat(resultadosObtidos)
+                .isNotEmpty()
+                .doesNotContain(ultimaEntregue)
+                .allSatisfy(mensagem -> assertThat(mensagem.getDataCriacaoMensagem())
+                        .isBeforeOrEqualTo(ultimaEntregue.getDataCriacaoMensagem()));
+    }
+
+    @Test
+    void devePermitirExportarMensagens() {
+        // ARRANGE
+        var exportadas = new ArrayList<Mensagem>();
+
+        // ACT
+        mensagemRepository.exportarMensagens(exportadas::add);
+
+        // ASSERT
+        assertThat(exportadas).hasSize((int) mensagemRepository.count());
+        assertThat(exportadas).extracting(Mensagem::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void devePermitirListarMensagensDoUsuario() {
+        // ARRANGE
+        var outraMensagem = MensagemHelper.gerarMensagem();
+        outraMensagem.setId(UUID.randomUUID());
+        outraMensagem.setUsuario("Eva");
+        mensagemRepository.saveAndFlush(outraMensagem);
+
+        // ACT
+        var primeiraPagina = mensagemRepository.listarMensagensDoUsuario("Eva", PageRequest.of(0, 1));
+        var ultimaEntregue = primeiraPagina.get(0);
+        var segundaPagina = mensagemRepository.listarMensagensDoUsuarioApos(
+                "Eva", ultimaEntregue.dataCriacaoMensagem(), ultimaEntregue.id(), PageRequest.of(0, 10));
+
+        // ASSERT
+        assertThat(ultimaEntregue.id()).isEqualTo(outraMensagem.getId());
+        assertThat(segundaPagina)
+                .extracting(MensagemResumo::id)
+                .containsExactly(UUID.fromString("59502d64-c3f7-41c3-a74c-8cfcbf0ea893"));
+    }
 }
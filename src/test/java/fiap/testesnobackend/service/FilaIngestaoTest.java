@@ -0,0 +1,246 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.cache.MensagemCache;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import fiap.testesnobackend.repository.MensagemRepositoryEmMemoria;
+import fiap.testesnobackend.utils.MensagemHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class FilaIngestaoTest {
+
+    private FilaIngestao filaIngestao;
+
+    private MensagemCache mensagemCache;
+
+    @Mock
+    private MensagemArmazenamento mensagemArmazenamento;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        mensagemCache = new MensagemCache(100_000, Duration.ofMinutes(1));
+        // Espera longa: a escritora quase não acorda sozinha e o stop() é quem esvazia o anel
+        filaIngestao = new FilaIngestao(mensagemArmazenamento, mensagemCache, true, 16_384, 500, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        filaIngestao.stop();
+        mock.close();
+    }
+
+    @Test
+    void devePermitirEnfileirarMensagens_GravandoTodasNoEncerramento() throws Exception {
+        // ARRANGE
+        var gravadas = Collections.synchronizedList(new ArrayList<UUID>());
+        var executor = Executors.newFixedThreadPool(8);
+
+        doAnswer(i -> {
+            List<Mensagem> lote = i.getArgument(0);
+            lote.forEach(mensagem -> gravadas.add(mensagem.getId()));
+            return null;
+        }).when(mensagemArmazenamento).inserirEmLote(anyList());
+
+        filaIngestao.start();
+
+        // ACT
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> {
+                var mensagem = MensagemHelper.gerarMensagem();
+                mensagem.setId(UUID.randomUUID());
+                assertThat(filaIngestao.enfileirar(mensagem)).isTrue();
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        filaIngestao.stop();
+
+        // ASSERT
+        assertThat(gravadas)
+                .hasSize(10_000)
+                .doesNotHaveDuplicates();
+        assertThat(filaIngestao.quantidadePendente()).isZero();
+        assertThat(filaIngestao.enfileirar(MensagemHelper.gerarMensagem())).isFalse();
+    }
+
+    @Test
+    void devePermitirBuscarMensagemPendente_AteSerGravada() {
+        // ARRANGE
+        var id = UUID.randomUUID();
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(id);
+
+        filaIngestao.start();
+
+        // ACT
+        filaIngestao.enfileirar(mensagem);
+        var pendente = filaIngestao.pendente(id);
+        filaIngestao.stop();
+
+        // ASSERT
+        assertThat(pendente).contains(mensagem);
+        assertThat(filaIngestao.pendente(id)).isEmpty();
+        assertThat(mensagemCache.obter(id)).isPresent();
+    }
+
+    @Test
+    void devePermitirGravarMensagensIndividualmente_QuandoLoteFalha() {
+        // ARRANGE
+        var problematica = MensagemHelper.gerarMensagem();
+        problematica.setId(UUID.randomUUID());
+        var valida = MensagemHelper.gerarMensagem();
+        valida.setId(UUID.randomUUID());
+
+        doAnswer(i -> {
+            List<Mensagem> lote = i.getArgument(0);
+            if (lote.size() > 1 || lote.get(0).getId().equals(problematica.getId())) {
+                throw new DataIntegrityViolationException("falha simulada");
+            }
+            return null;
+        }).when(mensagemArmazenamento).inserirEmLote(anyList());
+
+        filaIngestao.start();
+        filaIngestao.enfileirar(problematica);
+        filaIngestao.enfileirar(valida);
+
+        // ACT
+        filaIngestao.stop();
+
+        // ASSERT
+        assertThat(mensagemCache.obter(valida.getId())).isPresent();
+        assertThat(mensagemCache.obter(problematica.getId())).isEmpty();
+        assertThat(filaIngestao.quantidadePendente()).isZero();
+    }
+
+    @Test
+    void deveContinuarGravando_QuandoBancoFalhaTemporariamente() {
+        // ARRANGE
+        filaIngestao = new FilaIngestao(mensagemArmazenamento, mensagemCache, true, 16_384, 500, 1);
+
+        var primeira = MensagemHelper.gerarMensagem();
+        primeira.setId(UUID.randomUUID());
+        var segunda = MensagemHelper.gerarMensagem();
+        segunda.setId(UUID.randomUUID());
+
+        doThrow(new CannotCreateTransactionException("banco indisponível"))
+                .doThrow(new CannotCreateTransactionException("banco indisponível"))
+                .doNothing()
+                .when(mensagemArmazenamento).inserirEmLote(anyList());
+
+        filaIngestao.start();
+
+        // ACT
+        filaIngestao.enfileirar(primeira);
+        verify(mensagemArmazenamento, timeout(5_000).times(3)).inserirEmLote(anyList());
+        filaIngestao.enfileirar(segunda);
+        verify(mensagemArmazenamento, timeout(5_000).times(4)).inserirEmLote(anyList());
+
+        // ASSERT
+        assertThat(filaIngestao.isRunning()).isTrue();
+        filaIngestao.stop();
+        assertThat(mensagemCache.obter(primeira.getId())).isPresent();
+        assertThat(mensagemCache.obter(segunda.getId())).isPresent();
+        assertThat(filaIngestao.quantidadePendente()).isZero();
+    }
+
+    @Test
+    void deveGravarMensagensNoEncerramento_QuandoBancoFalhaVariasVezes() {
+        // ARRANGE
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UUID.randomUUID());
+
+        doThrow(new CannotCreateTransactionException("banco indisponível"))
+                .doThrow(new CannotCreateTransactionException("banco indisponível"))
+                .doThrow(new CannotCreateTransactionException("banco indisponível"))
+                .doThrow(new CannotCreateTransactionException("banco indisponível"))
+                .doThrow(new CannotCreateTransactionException("banco indisponível"))
+                .doNothing()
+                .when(mensagemArmazenamento).inserirEmLote(anyList());
+
+        filaIngestao.start();
+        filaIngestao.enfileirar(mensagem);
+
+        // ACT
+        filaIngestao.stop();
+
+        // ASSERT
+        verify(mensagemArmazenamento, times(6)).inserirEmLote(anyList());
+        assertThat(mensagemCache.obter(mensagem.getId())).isPresent();
+        assertThat(filaIngestao.quantidadePendente()).isZero();
+    }
+
+    @Test
+    void devePermitirGravarMensagem_ComDataDoEnfileiramento() {
+        // ARRANGE
+        var mensagemRepositoryEmMemoria = new MensagemRepositoryEmMemoria();
+        filaIngestao = new FilaIngestao(mensagemRepositoryEmMemoria, mensagemCache, true, 16, 500, 60_000);
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UUID.randomUUID());
+        var aceitaEm = LocalDateTime.of(2026, 10, 18, 10, 15, 30);
+        mensagem.setDataCriacaoMensagem(aceitaEm);
+
+        filaIngestao.start();
+        filaIngestao.enfileirar(mensagem);
+
+        // ACT
+        filaIngestao.stop();
+
+        // ASSERT
+        assertThat(mensagemRepositoryEmMemoria.buscar(mensagem.getId()))
+                .hasValueSatisfying(gravada -> assertThat(gravada.getDataCriacaoMensagem()).isEqualTo(aceitaEm));
+    }
+
+    @Test
+    void devePermitirParar_DepoisDoServidorWeb() {
+        // O servidor web para nas fases DEFAULT_PHASE - 1024 e - 2048; a ordem de parada é decrescente
+        assertThat(filaIngestao.getPhase()).isLessThan(SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+
+    @Test
+    void deveRecusarMensagem_QuandoAnelCheio() {
+        // ARRANGE
+        var anel = new FilaIngestao.Anel(4);
+        var retiradas = new ArrayList<Mensagem>();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(anel.oferecer(MensagemHelper.gerarMensagem())).isTrue();
+        }
+
+        // ACT & ASSERT
+        assertThat(anel.oferecer(MensagemHelper.gerarMensagem())).isFalse();
+        assertThat(anel.retirar(retiradas, 2)).isEqualTo(2);
+        assertThat(anel.oferecer(MensagemHelper.gerarMensagem())).isTrue();
+        assertThat(anel.retirar(retiradas, 10)).isEqualTo(3);
+        assertThat(anel.retirar(retiradas, 10)).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package fiap.testesnobackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class GeradorDeIdUuidV7Test {
+
+    @Test
+    void deveGerarUuidVersao7_ComInstanteDeCriacao() {
+        var instante = 1_700_000_000_000L;
+        var geradorDeId = new GeradorDeIdUuidV7(() -> instante);
+
+        var id = geradorDeId.gerar();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(instante);
+    }
+
+    @Test
+    void deveGerarIdsCrescentes_NoMesmoMilissegundo() {
+        var geradorDeId = new GeradorDeIdUuidV7(() -> 1_700_000_000_000L);
+        var ids = new ArrayList<UUID>();
+
+        // Mais ids do que cabem no contador de 12 bits
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(geradorDeId.gerar());
+        }
+
+        assertThat(ids).isSortedAccordingTo(GeradorDeIdUuidV7Test::compararSemSinal);
+    }
+
+    @Test
+    void deveGerarIdsUnicos_EntreThreads() throws Exception {
+        var geradorDeId = new GeradorDeIdUuidV7();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        var executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    ids.add(geradorDeId.gerar());
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    void deveManterOrdem_QuandoRelogioRetroceder() {
+        var instantes = new ArrayDeque<>(List.of(1_700_000_000_005L, 1_700_000_000_001L));
+        var geradorDeId = new GeradorDeIdUuidV7(instantes::pop);
+
+        var primeiro = geradorDeId.gerar();
+        var segundo = geradorDeId.gerar();
+
+        assertThat(compararSemSinal(primeiro, segundo)).isNegative();
+    }
+
+    /**
+     * Ordem dos bytes, a mesma usada pelo Postgres para colunas uuid.
+     */
+    private static int compararSemSinal(UUID a, UUID b) {
+        var comparacao = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return comparacao != 0
+                ? comparacao
+                : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
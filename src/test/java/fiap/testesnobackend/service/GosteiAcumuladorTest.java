@@ -0,0 +1,118 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.cache.MensagemCache;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class GosteiAcumuladorTest {
+
+    private GosteiAcumulador gosteiAcumulador;
+
+    @Mock
+    private MensagemArmazenamento mensagemArmazenamento;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        gosteiAcumulador = new GosteiAcumulador(mensagemArmazenamento,
+                new MensagemCache(100, Duration.ofMinutes(1)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void devePermitirDescarregarGostei_SemPerderIncrementosConcorrentes() throws Exception {
+        // ARRANGE
+        var id = UUID.randomUUID();
+        var executor = Executors.newFixedThreadPool(8);
+
+        // ACT
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> gosteiAcumulador.incrementar(id));
+            if (i % 1_000 == 0) {
+                executor.execute(gosteiAcumulador::descarregar);
+            }
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        gosteiAcumulador.descarregar();
+
+        // ASSERT
+        ArgumentCaptor<Map<UUID, Long>> lotes = ArgumentCaptor.forClass(Map.class);
+        verify(mensagemArmazenamento, atLeastOnce()).somarGostei(lotes.capture());
+        assertThat(lotes.getAllValues().stream().mapToLong(lote -> lote.getOrDefault(id, 0L)).sum())
+                .isEqualTo(10_000);
+        assertThat(gosteiAcumulador.pendente(id)).isZero();
+    }
+
+    @Test
+    void devePermitirConsultarGosteiPendente() {
+        var id = UUID.randomUUID();
+
+        gosteiAcumulador.incrementar(id);
+        gosteiAcumulador.incrementar(id);
+
+        assertThat(gosteiAcumulador.pendente(id)).isEqualTo(2);
+        verify(mensagemArmazenamento, never()).somarGostei(anyMap());
+    }
+
+    @Test
+    void deveManterGosteiPendente_QuandoDescargaFalhar() {
+        var id = UUID.randomUUID();
+        gosteiAcumulador.incrementar(id);
+
+        doThrow(new IllegalStateException("banco indisponível"))
+                .when(mensagemArmazenamento).somarGostei(anyMap());
+
+        assertThatThrownBy(() -> gosteiAcumulador.descarregar())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(gosteiAcumulador.pendente(id)).isEqualTo(1);
+    }
+
+    @Test
+    void deveManterGosteiPendente_AteGravarNoBanco() {
+        var id = UUID.randomUUID();
+        gosteiAcumulador.incrementar(id);
+        gosteiAcumulador.incrementar(id);
+        var pendenteDuranteAGravacao = new AtomicLong(-1);
+
+        doAnswer(invocacao -> {
+            pendenteDuranteAGravacao.set(gosteiAcumulador.pendente(id));
+            return null;
+        }).when(mensagemArmazenamento).somarGostei(anyMap());
+
+        gosteiAcumulador.descarregar();
+
+        assertThat(pendenteDuranteAGravacao).hasValue(2);
+        assertThat(gosteiAcumulador.pendente(id)).isZero();
+    }
+}
@@ -0,0 +1,178 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.exception.ChaveIdempotenciaInvalidaException;
+import fiap.testesnobackend.model.ChaveIdempotencia;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import fiap.testesnobackend.utils.MensagemHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class IndiceIdempotenciaTest {
+
+    private IndiceIdempotencia indiceIdempotencia;
+
+    @Mock
+    private MensagemArmazenamento mensagemArmazenamento;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        when(mensagemArmazenamento.buscarChave(anyString())).thenReturn(Optional.empty());
+        indiceIdempotencia = new IndiceIdempotencia(mensagemArmazenamento, transactionManager,
+                100, Duration.ofMinutes(1), 5_000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    void devePermitirRegistrarUmaVez_QuandoRequisicoesConcorrentesComMesmaChave() throws Exception {
+        // ARRANGE
+        var registros = new AtomicInteger();
+        var inicio = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(8);
+        var tarefas = new ArrayList<Callable<UUID>>();
+
+        for (int i = 0; i < 8; i++) {
+            tarefas.add(() -> {
+                inicio.await();
+                return indiceIdempotencia.executar("chave-1", MensagemHelper.gerarMensagem(),
+                        () -> registrar(registros), id -> null).mensagem().getId();
+            });
+        }
+
+        // ACT
+        var futuros = tarefas.stream().map(executor::submit).toList();
+        inicio.countDown();
+        var ids = new ArrayList<UUID>();
+        for (var futuro : futuros) {
+            ids.add(futuro.get());
+        }
+        executor.shutdown();
+
+        // ASSERT
+        assertThat(registros).hasValue(1);
+        assertThat(ids).containsOnly(ids.get(0));
+        verify(mensagemArmazenamento, times(1)).inserirChave(any(ChaveIdempotencia.class));
+    }
+
+    @Test
+    void devePermitirRepetirResposta_QuandoChaveGravadaNoBanco() {
+        // ARRANGE
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UUID.randomUUID());
+        var gravada = new ChaveIdempotencia("chave-2", IndiceIdempotencia.impressao(mensagem),
+                mensagem.getId(), LocalDateTime.now());
+
+        when(mensagemArmazenamento.buscarChave("chave-2")).thenReturn(Optional.of(gravada));
+
+        // ACT
+        var resposta = indiceIdempotencia.executar("chave-2", MensagemHelper.gerarMensagem(),
+                () -> {
+                    throw new AssertionError("Não deveria registrar outra mensagem");
+                },
+                id -> mensagem);
+
+        // ASSERT
+        assertThat(resposta.repetida()).isTrue();
+        assertThat(resposta.mensagem().getId()).isEqualTo(mensagem.getId());
+        verify(mensagemArmazenamento, never()).inserirChave(any(ChaveIdempotencia.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoMesmaChaveComOutroConteudo() {
+        // ARRANGE
+        var registros = new AtomicInteger();
+        var outroConteudo = MensagemHelper.gerarMensagem();
+        outroConteudo.setConteudo("Outro conteudo");
+
+        indiceIdempotencia.executar("chave-3", MensagemHelper.gerarMensagem(),
+                () -> registrar(registros), id -> null);
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> indiceIdempotencia.executar("chave-3", outroConteudo,
+                () -> registrar(registros), id -> null))
+                .isInstanceOf(ChaveIdempotenciaInvalidaException.class)
+                .hasMessage("Idempotency-Key já utilizada com outro conteúdo");
+        assertThat(registros).hasValue(1);
+    }
+
+    @Test
+    void devePermitirNovaTentativa_QuandoPrimeiraRequisicaoFalha() {
+        // ARRANGE
+        var registros = new AtomicInteger();
+
+        assertThatThrownBy(() -> indiceIdempotencia.executar("chave-4", MensagemHelper.gerarMensagem(),
+                () -> {
+                    throw new IllegalStateException("falha simulada");
+                }, id -> null))
+                .isInstanceOf(IllegalStateException.class);
+
+        // ACT
+        var resposta = indiceIdempotencia.executar("chave-4", MensagemHelper.gerarMensagem(),
+                () -> registrar(registros), id -> null);
+
+        // ASSERT
+        assertThat(resposta.repetida()).isFalse();
+        assertThat(registros).hasValue(1);
+    }
+
+    @Test
+    void devePermitirRegistrarMensagem_SemGerenciadorDeTransacoes() {
+        // ARRANGE
+        var registros = new AtomicInteger();
+        var indiceSemTransacao = new IndiceIdempotencia(mensagemArmazenamento, null,
+                100, Duration.ofMinutes(1), 5_000);
+
+        // ACT
+        var resposta = indiceSemTransacao.executar("chave-5", MensagemHelper.gerarMensagem(),
+                () -> registrar(registros), id -> null);
+
+        // ASSERT
+        assertThat(resposta.repetida()).isFalse();
+        assertThat(registros).hasValue(1);
+        verify(mensagemArmazenamento, times(1)).inserirChave(any(ChaveIdempotencia.class));
+        verifyNoInteractions(transactionManager);
+    }
+
+    private static Mensagem registrar(AtomicInteger registros) {
+        registros.incrementAndGet();
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UUID.randomUUID());
+        return mensagem;
+    }
+}
@@ -0,0 +1,143 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.model.Mensagem;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class LimitadorPorUsuarioTest {
+
+    private final AtomicLong relogio = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void devePermitirRajada_ERecusarExcedente() {
+        // ARRANGE
+        var limitador = new LimitadorPorUsuario(10, 5, 100, Duration.ofMinutes(1), relogio::get);
+
+        // ACT
+        for (int i = 0; i < 5; i++) {
+            assertThat(limitador.consumir("Ana")).isZero();
+        }
+        var espera = limitador.consumir("Ana");
+
+        // ASSERT
+        assertThat(espera).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(LimitadorPorUsuario.segundosDeEspera(espera)).isEqualTo(1);
+    }
+
+    @Test
+    void devePermitirNovaEscrita_AposReposicaoDaFicha() {
+        // ARRANGE
+        var limitador = new LimitadorPorUsuario(10, 1, 100, Duration.ofMinutes(1), relogio::get);
+        limitador.consumir("Ana");
+
+        // ACT
+        var antes = limitador.consumir("Ana");
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        var depois = limitador.consumir("Ana");
+
+        // ASSERT
+        assertThat(antes).isPositive();
+        assertThat(depois).isZero();
+    }
+
+    @Test
+    void devePermitirEscritas_DeOutrosUsuarios() {
+        // ARRANGE
+        var limitador = new LimitadorPorUsuario(10, 1, 100, Duration.ofMinutes(1), relogio::get);
+        limitador.consumir("Ana");
+
+        // ACT & ASSERT
+        assertThat(limitador.consumir("Ana")).isPositive();
+        assertThat(limitador.consumir("Bia")).isZero();
+    }
+
+    @Test
+    void deveRecusarExcedente_QuandoUsuarioNaoInformado() {
+        // ARRANGE
+        var limitador = new LimitadorPorUsuario(10, 1, 100, Duration.ofMinutes(1), relogio::get);
+        limitador.consumir(null);
+
+        // ACT & ASSERT
+        assertThat(limitador.consumir(null)).isPositive();
+        assertThat(limitador.consumir(" ")).isPositive();
+        assertThat(limitador.consumir("Ana")).isZero();
+    }
+
+    @Test
+    void devePermitirEscritas_QuandoTaxaDesligada() {
+        // ARRANGE
+        var limitador = new LimitadorPorUsuario(0, 1, 100, Duration.ofMinutes(1), relogio::get);
+
+        // ACT & ASSERT
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(limitador.consumir("Ana")).isZero();
+        }
+    }
+
+    @Test
+    void deveConcederExatamenteARajada_ComConsumoConcorrente() throws Exception {
+        // ARRANGE
+        var limitador = new LimitadorPorUsuario(1, 100, 100, Duration.ofMinutes(1), relogio::get);
+        var permitidas = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(8);
+
+        // ACT
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> {
+                if (limitador.consumir("Ana") == 0) {
+                    permitidas.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // ASSERT
+        assertThat(permitidas).hasValue(100);
+    }
+
+    @Test
+    void deveCobrarUmaFichaPorMensagem_QuandoConsumirLote() {
+        // ARRANGE
+        var limitador = new LimitadorPorUsuario(10, 5, 100, Duration.ofMinutes(1), relogio::get);
+        var ana = Mensagem.builder().usuario("Ana").build();
+        var bia = Mensagem.builder().usuario("Bia").build();
+
+        // ACT
+        var lote = limitador.consumirLote(List.of(ana, ana, ana, ana, ana, bia));
+
+        // ASSERT
+        assertThat(lote).isZero();
+        assertThat(limitador.consumir("Ana")).isPositive();
+        assertThat(limitador.consumir("Bia")).isZero();
+    }
+
+    @Test
+    void deveRecusarLote_QuandoAutorSemFicha() {
+        // ARRANGE
+        var limitador = new LimitadorPorUsuario(10, 2, 100, Duration.ofMinutes(1), relogio::get);
+        var ana = Mensagem.builder().usuario("Ana").build();
+
+        // ACT
+        var primeiro = limitador.consumirLote(List.of(ana, ana, ana, ana));
+        var segundo = limitador.consumirLote(List.of(ana));
+
+        // ASSERT
+        assertThat(primeiro).isZero();
+        assertThat(segundo).isEqualTo(TimeUnit.MILLISECONDS.toNanos(300));
+    }
+}
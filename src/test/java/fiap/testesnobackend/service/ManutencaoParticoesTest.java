@@ -0,0 +1,200 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.repository.MensagemParticaoRepository;
+import fiap.testesnobackend.repository.MensagemParticaoRepository.Particao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class ManutencaoParticoesTest {
+
+    private static final YearMonth OUTUBRO = YearMonth.of(2026, 10);
+
+    @Mock
+    private MensagemParticaoRepository mensagemParticaoRepository;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    void devePermitirCriarParticoes_DoMesAtualEDosProximos() {
+        // ARRANGE
+        var manutencaoParticoes = new ManutencaoParticoes(mensagemParticaoRepository, 3, 0, false);
+
+        // ACT
+        manutencaoParticoes.manter(OUTUBRO);
+
+        // ASSERT
+        verify(mensagemParticaoRepository).criarParticao("mensagem_p2026_10", LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1));
+        verify(mensagemParticaoRepository).criarParticao("mensagem_p2026_11", LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1));
+        verify(mensagemParticaoRepository).criarParticao("mensagem_p2026_12", LocalDate.of(2026, 12, 1), LocalDate.of(2027, 1, 1));
+        verify(mensagemParticaoRepository).criarParticao("mensagem_p2027_01", LocalDate.of(2027, 1, 1), LocalDate.of(2027, 2, 1));
+        verify(mensagemParticaoRepository, never()).desanexarParticao(anyString());
+    }
+
+    @Test
+    void devePermitirDesanexarParticoes_QuandoForaDaRetencao() {
+        // ARRANGE
+        var manutencaoParticoes = new ManutencaoParticoes(mensagemParticaoRepository, 1, 12, false);
+        when(mensagemParticaoRepository.listarParticoes()).thenReturn(particoes(
+                "mensagem_p2025_09", "mensagem_p2025_10", "mensagem_p2026_10", "mensagem_arquivo"));
+
+        // ACT
+        manutencaoParticoes.manter(OUTUBRO);
+
+        // ASSERT
+        verify(mensagemParticaoRepository).desanexarParticao("mensagem_p2025_09");
+        verify(mensagemParticaoRepository, times(1)).desanexarParticao(anyString());
+        verify(mensagemParticaoRepository, never()).removerParticao(anyString());
+    }
+
+    @Test
+    void devePermitirRemoverParticoes_QuandoRemoverExpiradas() {
+        // ARRANGE
+        var manutencaoParticoes = new ManutencaoParticoes(mensagemParticaoRepository, 1, 1, true);
+        when(mensagemParticaoRepository.listarParticoes()).thenReturn(particoes("mensagem_p2026_08", "mensagem_p2026_09"));
+
+        // ACT
+        manutencaoParticoes.manter(OUTUBRO);
+
+        // ASSERT
+        InOrder ordem = inOrder(mensagemParticaoRepository);
+        ordem.verify(mensagemParticaoRepository).desanexarParticao("mensagem_p2026_08");
+        ordem.verify(mensagemParticaoRepository).removerParticao("mensagem_p2026_08");
+        verify(mensagemParticaoRepository, never()).desanexarParticao("mensagem_p2026_09");
+    }
+
+    @Test
+    void devePermitirFinalizarDesanexacao_QuandoPendente() {
+        // ARRANGE
+        var manutencaoParticoes = new ManutencaoParticoes(mensagemParticaoRepository, 1, 1, true);
+        when(mensagemParticaoRepository.listarParticoes()).thenReturn(List.of(
+                new Particao("mensagem_p2026_08", true), new Particao("mensagem_p2026_09", false)));
+
+        // ACT
+        manutencaoParticoes.manter(OUTUBRO);
+
+        // ASSERT
+        InOrder ordem = inOrder(mensagemParticaoRepository);
+        ordem.verify(mensagemParticaoRepository).finalizarDesanexacao("mensagem_p2026_08");
+        ordem.verify(mensagemParticaoRepository).removerParticao("mensagem_p2026_08");
+        verify(mensagemParticaoRepository, never()).desanexarParticao(anyString());
+    }
+
+    @Test
+    void devePermitirFinalizarDesanexacao_QuandoPendente_SemRetencao() {
+        // ARRANGE
+        var manutencaoParticoes = new ManutencaoParticoes(mensagemParticaoRepository, 0, 0, true);
+        when(mensagemParticaoRepository.listarParticoes()).thenReturn(List.of(new Particao("mensagem_p2020_01", true)));
+
+        // ACT
+        manutencaoParticoes.manter(OUTUBRO);
+
+        // ASSERT
+        verify(mensagemParticaoRepository).finalizarDesanexacao("mensagem_p2020_01");
+        verify(mensagemParticaoRepository, never()).removerParticao(anyString());
+    }
+
+    @Test
+    void devePermitirDesanexarParticoes_QuandoOutraFalha() {
+        // ARRANGE
+        var manutencaoParticoes = new ManutencaoParticoes(mensagemParticaoRepository, 0, 1, false);
+        when(mensagemParticaoRepository.listarParticoes()).thenReturn(particoes("mensagem_p2026_07", "mensagem_p2026_08"));
+        doThrow(new DataAccessResourceFailureException("DETACH em andamento"))
+                .when(mensagemParticaoRepository).desanexarParticao("mensagem_p2026_07");
+        doThrow(new DataAccessResourceFailureException("CREATE falhou"))
+                .when(mensagemParticaoRepository).criarParticao(eq("mensagem_p2026_10"), any(), any());
+
+        // ACT
+        manutencaoParticoes.manter(OUTUBRO);
+
+        // ASSERT
+        verify(mensagemParticaoRepository).desanexarParticao("mensagem_p2026_08");
+    }
+
+    @Test
+    void devePermitirManterParticoes_ComTravaDaInstancia() {
+        // ARRANGE
+        var manutencaoParticoes = new ManutencaoParticoes(mensagemParticaoRepository, 0, 0, false);
+        when(mensagemParticaoRepository.isParticionada()).thenReturn(true);
+        when(mensagemParticaoRepository.executarComTrava(any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return true;
+        });
+
+        // ACT
+        manutencaoParticoes.manter();
+
+        // ASSERT
+        verify(mensagemParticaoRepository).criarParticao(eq(ManutencaoParticoes.nome(YearMonth.now())), any(), any());
+    }
+
+    @Test
+    void naoDeveManterParticoes_QuandoOutraInstanciaComATrava() {
+        // ARRANGE
+        var manutencaoParticoes = new ManutencaoParticoes(mensagemParticaoRepository, 3, 12, true);
+        when(mensagemParticaoRepository.isParticionada()).thenReturn(true);
+        when(mensagemParticaoRepository.executarComTrava(any(Runnable.class))).thenReturn(false);
+
+        // ACT
+        manutencaoParticoes.manter();
+
+        // ASSERT
+        verify(mensagemParticaoRepository, never()).criarParticao(anyString(), any(), any());
+        verify(mensagemParticaoRepository, never()).listarParticoes();
+    }
+
+    @Test
+    void naoDeveManterParticoes_QuandoTabelaNaoParticionada() {
+        // ARRANGE
+        var manutencaoParticoes = new ManutencaoParticoes(mensagemParticaoRepository, 3, 12, true);
+        when(mensagemParticaoRepository.isParticionada()).thenReturn(false);
+
+        // ACT
+        manutencaoParticoes.manter();
+
+        // ASSERT
+        verify(mensagemParticaoRepository, never()).criarParticao(anyString(), any(), any());
+        verify(mensagemParticaoRepository, never()).executarComTrava(any(Runnable.class));
+    }
+
+    @Test
+    void devePermitirLerMes_PeloNomeDaParticao() {
+        assertThat(ManutencaoParticoes.mes("mensagem_p2026_03")).contains(YearMonth.of(2026, 3));
+        assertThat(ManutencaoParticoes.mes("mensagem_p2026_3")).isEmpty();
+        assertThat(ManutencaoParticoes.mes("mensagem_arquivo")).isEmpty();
+        assertThat(ManutencaoParticoes.nome(YearMonth.of(2026, 3))).isEqualTo("mensagem_p2026_03");
+    }
+
+    private static List<Particao> particoes(String... nomes) {
+        return Arrays.stream(nomes).map(nome -> new Particao(nome, false)).toList();
+    }
+}
@@ -0,0 +1,235 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.cache.MensagemCache;
+import fiap.testesnobackend.exception.ChaveIdempotenciaInvalidaException;
+import fiap.testesnobackend.exception.MensagemConflictException;
+import fiap.testesnobackend.exception.MensagemNotFoundException;
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.MensagemResumo;
+import fiap.testesnobackend.model.ResultadoLote;
+import fiap.testesnobackend.repository.MensagemRepositoryEmMemoria;
+import fiap.testesnobackend.utils.MensagemHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+/**
+ * O MensagemServiceImpl e seus colaboradores reais sobre o {@link MensagemRepositoryEmMemoria},
+ * como o perfil {@code memory} os monta.
+ */
+class MensagemServiceEmMemoriaTest {
+
+    private MensagemService mensagemService;
+
+    private TotalMensagensAproximado totalMensagensAproximado;
+
+    private GosteiAcumulador gosteiAcumulador;
+
+    @BeforeEach
+    void setup() {
+        var mensagemArmazenamento = new MensagemRepositoryEmMemoria();
+        var mensagemCache = new MensagemCache(100, Duration.ofMinutes(1));
+        var geradorDeId = new GeradorDeIdUuidV7();
+        totalMensagensAproximado = new TotalMensagensAproximado(mensagemArmazenamento);
+        gosteiAcumulador = new GosteiAcumulador(mensagemArmazenamento, mensagemCache);
+
+        mensagemService = new MensagemServiceImpl(mensagemArmazenamento, totalMensagensAproximado, mensagemCache,
+                gosteiAcumulador, new RegistroEmLote(mensagemArmazenamento, geradorDeId, 2), geradorDeId,
+                new FilaIngestao(mensagemArmazenamento, mensagemCache, false, 2, 1, 1),
+                new IndiceIdempotencia(mensagemArmazenamento, null, 100, Duration.ofMinutes(1), 5_000));
+    }
+
+    @Test
+    void devePermitirRegistrarEBuscarMensagem() {
+        // ARRANGE
+        var mensagem = MensagemHelper.gerarMensagem();
+
+        // ACT
+        var mensagemRegistrada = mensagemService.registrarMensagem(mensagem);
+        var mensagemEncontrada = mensagemService.buscarMensagem(mensagemRegistrada.getId());
+
+        // ASSERT
+        assertThat(mensagemEncontrada.getId()).isEqualTo(mensagemRegistrada.getId());
+        assertThat(mensagemEncontrada.getConteudo()).isEqualTo(mensagem.getConteudo());
+        assertThat(mensagemEncontrada.getDataCriacaoMensagem()).isNotNull();
+        assertThat(mensagemEncontrada.getVersao()).isZero();
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoBuscarMensagem_IdNaoExiste() {
+        // ACT & ASSERT
+        assertThatThrownBy(() -> mensagemService.buscarMensagem(UUID.randomUUID()))
+                .isInstanceOf(MensagemNotFoundException.class);
+    }
+
+    @Test
+    void devePermitirAlterarMensagem_SomenteNaVersaoInformada() {
+        // ARRANGE
+        var id = mensagemService.registrarMensagem(MensagemHelper.gerarMensagem()).getId();
+        var alteracao = Mensagem.builder().id(id).conteudo("Conteúdo alterado").versao(0L).build();
+
+        // ACT
+        var mensagemAlterada = mensagemService.alterarMensagem(id, alteracao);
+
+        // ASSERT
+        assertThat(mensagemAlterada.getConteudo()).isEqualTo("Conteúdo alterado");
+        assertThat(mensagemAlterada.getVersao()).isEqualTo(1L);
+        assertThatThrownBy(() -> mensagemService.alterarMensagem(id, alteracao))
+                .isInstanceOf(MensagemConflictException.class);
+        assertThatThrownBy(() -> mensagemService.removerMensagem(id, 0L))
+                .isInstanceOf(MensagemConflictException.class);
+    }
+
+    @Test
+    void devePermitirRemoverMensagem_RetirandoDasListagens() {
+        // ARRANGE
+        var mensagem = mensagemService.registrarMensagem(MensagemHelper.gerarMensagem());
+
+        // ACT
+        mensagemService.removerMensagem(mensagem.getId());
+
+        // ASSERT
+        assertThat(mensagemService.listarMensagens(null, 10).content()).isEmpty();
+        assertThat(mensagemService.listarMensagensDoUsuario(mensagem.getUsuario(), null, 10).content()).isEmpty();
+        assertThatThrownBy(() -> mensagemService.removerMensagem(mensagem.getId()))
+                .isInstanceOf(MensagemNotFoundException.class);
+    }
+
+    @Test
+    void devePermitirListarPorCursor_PercorrendoTodasAsMensagensEmOrdem() {
+        // ARRANGE
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(mensagemService.registrarMensagem(MensagemHelper.gerarMensagem()).getId());
+        }
+        Collections.reverse(ids);
+
+        // ACT
+        var percorridas = new ArrayList<UUID>();
+        MensagemCursor cursor = null;
+        while (true) {
+            var pagina = mensagemService.listarMensagens(cursor, 10);
+            pagina.content().forEach(mensagem -> percorridas.add(mensagem.getId()));
+            if (pagina.ultima()) {
+                break;
+            }
+            cursor = MensagemCursor.decodificar(pagina.proximo());
+        }
+
+        // ASSERT
+        assertThat(percorridas).containsExactlyElementsOf(ids);
+        assertThat(mensagemService.listarMensagens(PageRequest.of(2, 10)).getContent())
+                .extracting(Mensagem::getId)
+                .containsExactlyElementsOf(ids.subList(20, 25));
+        assertThat(mensagemService.listarMensagensSemContagem(PageRequest.of(1, 10)).hasNext()).isTrue();
+        totalMensagensAproximado.atualizar();
+        assertThat(mensagemService.totalMensagensAproximado()).hasValue(25);
+    }
+
+    @Test
+    void devePermitirListarMensagensDoUsuario() {
+        // ARRANGE
+        var outroUsuario = MensagemHelper.gerarMensagem();
+        outroUsuario.setUsuario("Outro");
+        mensagemService.registrarMensagem(outroUsuario);
+        var id = mensagemService.registrarMensagem(MensagemHelper.gerarMensagem()).getId();
+
+        // ACT
+        var pagina = mensagemService.listarMensagensDoUsuario("Bruno", null, 10);
+
+        // ASSERT
+        assertThat(pagina.content()).extracting(MensagemResumo::id).containsExactly(id);
+        assertThat(pagina.ultima()).isTrue();
+    }
+
+    @Test
+    void devePermitirBuscarMensagensPorTermo() {
+        // ARRANGE
+        var procurada = MensagemHelper.gerarMensagem();
+        procurada.setConteudo("Benchmark sem banco");
+        var id = mensagemService.registrarMensagem(procurada).getId();
+        mensagemService.registrarMensagem(MensagemHelper.gerarMensagem());
+
+        // ACT
+        var pagina = mensagemService.buscarMensagens("BANCO", null, 10);
+
+        // ASSERT
+        assertThat(pagina.content()).extracting(Mensagem::getId).containsExactly(id);
+    }
+
+    @Test
+    void devePermitirRepetirResposta_QuandoMesmaIdempotencyKey() {
+        // ARRANGE
+        var primeira = mensagemService.registrarMensagem(MensagemHelper.gerarMensagem(), "chave-1");
+
+        // ACT
+        var repetida = mensagemService.registrarMensagem(MensagemHelper.gerarMensagem(), "chave-1");
+
+        // ASSERT
+        assertThat(primeira.repetida()).isFalse();
+        assertThat(repetida.repetida()).isTrue();
+        assertThat(repetida.mensagem().getId()).isEqualTo(primeira.mensagem().getId());
+        totalMensagensAproximado.atualizar();
+        assertThat(mensagemService.totalMensagensAproximado()).hasValue(1);
+
+        var outroConteudo = MensagemHelper.gerarMensagem();
+        outroConteudo.setConteudo("Outro conteudo");
+        assertThatThrownBy(() -> mensagemService.registrarMensagem(outroConteudo, "chave-1"))
+                .isInstanceOf(ChaveIdempotenciaInvalidaException.class);
+    }
+
+    @Test
+    void devePermitirRegistrarGostei_SemPerderIncrementosConcorrentes() throws Exception {
+        // ARRANGE
+        var id = mensagemService.registrarMensagem(MensagemHelper.gerarMensagem()).getId();
+        var executor = Executors.newFixedThreadPool(8);
+
+        // ACT
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> mensagemService.registrarGostei(id));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // ASSERT
+        assertThat(mensagemService.buscarMensagem(id).getGostei()).isEqualTo(1_000);
+        gosteiAcumulador.descarregar();
+        var mensagem = mensagemService.buscarMensagem(id);
+        assertThat(mensagem.getGostei()).isEqualTo(1_000);
+        assertThat(mensagem.getVersao()).isZero();
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote() {
+        // ARRANGE
+        var semConteudo = MensagemHelper.gerarMensagem();
+        semConteudo.setConteudo(null);
+        var mensagens = List.of(MensagemHelper.gerarMensagem(), semConteudo, MensagemHelper.gerarMensagem());
+
+        // ACT
+        var resultados = mensagemService.registrarMensagens(mensagens);
+
+        // ASSERT
+        assertThat(resultados).extracting(ResultadoLote::status).containsExactly(201, 400, 201);
+        assertThat(mensagemService.buscarMensagem(resultados.get(2).id()).getVersao()).isZero();
+        assertThat(mensagemService.listarMensagens(null, 10).content()).hasSize(2);
+    }
+}
@@ -1,6 +1,8 @@
 package fiap.testesnobackend.service;
 
+import fiap.testesnobackend.exception.MensagemConflictException;
 import fiap.testesnobackend.exception.MensagemNotFoundException;
+import fiap.testesnobackend.model.BuscaCursor;
 import fiap.testesnobackend.model.Mensagem;
 import fiap.testesnobackend.repository.MensagemRepository;
 import fiap.testesnobackend.utils.MensagemHelper;
@@ -14,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -53,6 +56,38 @@ class MensagemServiceIT {
             assertThat(resultadoObtido.getDataCriacaoMensagem()).isNotNull();
             assertThat(resultadoObtido.getGostei()).isZero();
         }
+
+        @Test
+        void devePermitirRegistrarMensagem_RepetindoIdempotencyKey() {
+            var chave = UUID.randomUUID().toString();
+            var totalAntes = mensagemRepository.count();
+
+            var primeira = mensagemService.registrarMensagem(MensagemHelper.gerarMensagem(), chave);
+            var repetida = mensagemService.registrarMensagem(MensagemHelper.gerarMensagem(), chave);
+
+            assertThat(primeira.repetida()).isFalse();
+            assertThat(repetida.repetida()).isTrue();
+            assertThat(repetida.mensagem().getId()).isEqualTo(primeira.mensagem().getId());
+            assertThat(mensagemRepository.count()).isEqualTo(totalAntes + 1);
+        }
+    }
+
+    @Nested
+    class RegistrarMensagensEmLote {
+
+        @Test
+        void devePermitirRegistrarMensagensEmLote() {
+            var mensagens = List.of(MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem());
+            var totalAnterior = mensagemRepository.count();
+
+            var resultadosObtidos = mensagemService.registrarMensagens(mensagens);
+
+            assertThat(resultadosObtidos)
+                    .hasSize(2)
+                    .allSatisfy(resultado -> assertThat(resultado.id()).isNotNull());
+            assertThat(mensagemRepository.count()).isEqualTo(totalAnterior + 2);
+            assertThat(mensagemRepository.findById(resultadosObtidos.get(0).id())).isPresent();
+        }
     }
 
     @Nested
@@ -118,6 +153,19 @@ class MensagemServiceIT {
                     .hasMessage("Mensagem não encontrada");
         }
 
+        @Test
+        void deveGerarExcecao_QuandoAlterarMensagem_VersaoDesatualizada() {
+            var id = UUID.fromString("59502d64-c3f7-41c3-a74c-8cfcbf0ea893");
+
+            var mensagemAtualizada = MensagemHelper.gerarMensagem();
+            mensagemAtualizada.setId(id);
+            mensagemAtualizada.setVersao(5L);
+
+            assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagemAtualizada))
+                    .isInstanceOf(MensagemConflictException.class)
+                    .hasMessage("A mensagem foi alterada por outra requisição");
+        }
+
         @Test
         void deveGerarExcecao_QuandoAlterarMensagem_IdDaMensagemNovaApresentaValorDiferente() {
             var id = UUID.fromString("59502d64-c3f7-41c3-a74c-8cfcbf0ea893");
@@ -165,4 +213,32 @@ class MensagemServiceIT {
                     .allSatisfy(mensagem -> assertThat(mensagem).isNotNull());
         }
     }
+
+    @Nested
+    class BuscarMensagens {
+
+        @Test
+        void devePermitirBuscarMensagensPorConteudo() {
+            var resultadoObtido = mensagemService.buscarMensagens("mensagem 02", null, 10);
+
+            assertThat(resultadoObtido.content())
+                    .extracting(Mensagem::getId)
+                    .containsExactly(UUID.fromString("59502d64-c3f7-41c3-a74c-8cfcbf0ea893"));
+            assertThat(resultadoObtido.ultima()).isTrue();
+        }
+
+        @Test
+        void devePermitirBuscarMensagensPorCursor() {
+            var primeiraPagina = mensagemService.buscarMensagens("conteudo", null, 2);
+            var segundaPagina = mensagemService.buscarMensagens("conteudo",
+                    BuscaCursor.decodificar(primeiraPagina.proximo()), 2);
+
+            assertThat(primeiraPagina.content()).hasSize(2);
+            assertThat(primeiraPagina.ultima()).isFalse();
+            assertThat(segundaPagina.content())
+                    .hasSize(1)
+                    .doesNotContainAnyElementsOf(primeiraPagina.content());
+            assertThat(segundaPagina.ultima()).isTrue();
+        }
+    }
 }
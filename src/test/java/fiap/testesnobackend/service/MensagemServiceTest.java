@@ -1,8 +1,17 @@
 package fiap.testesnobackend.service;
 
+import fiap.testesnobackend.cache.MensagemCache;
+import fiap.testesnobackend.exception.FilaIngestaoCheiaException;
+import fiap.testesnobackend.exception.MensagemConflictException;
 import fiap.testesnobackend.exception.MensagemNotFoundException;
+import fiap.testesnobackend.exception.MensagemRemovidaException;
+import fiap.testesnobackend.model.BuscaCursor;
 import fiap.testesnobackend.model.Mensagem;
-import fiap.testesnobackend.repository.MensagemRepository;
+import fiap.testesnobackend.model.MensagemCursor;
+import fiap.testesnobackend.model.MensagemResumo;
+import fiap.testesnobackend.model.RespostaIdempotente;
+import fiap.testesnobackend.model.ResultadoLote;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
 import fiap.testesnobackend.utils.MensagemHelper;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
@@ -14,14 +23,23 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -35,14 +53,32 @@ class MensagemServiceTest {
     private MensagemService mensagemService;
 
     @Mock
-    private MensagemRepository mensagemRepository;
+    private MensagemArmazenamento mensagemArmazenamento;
+
+    @Mock
+    private TotalMensagensAproximado totalMensagensAproximado;
+
+    @Mock
+    private GosteiAcumulador gosteiAcumulador;
+
+    @Mock
+    private RegistroEmLote registroEmLote;
+
+    @Mock
+    private FilaIngestao filaIngestao;
+
+    @Mock
+    private IndiceIdempotencia indiceIdempotencia;
 
     AutoCloseable mock;
 
     @BeforeEach
     void setup() {
         mock = MockitoAnnotations.openMocks(this);
-        mensagemService = new MensagemServiceImpl(mensagemRepository);
+        mensagemService = new MensagemServiceImpl(mensagemArmazenamento, totalMensagensAproximado,
+                new MensagemCache(100, Duration.ofMinutes(1)), gosteiAcumulador, registroEmLote,
+                new GeradorDeIdUuidV7(), filaIngestao,
+                indiceIdempotencia);
     }
 
     @AfterEach
@@ -57,7 +93,7 @@ class MensagemServiceTest {
         // ARRANGE
         var mensagem = MensagemHelper.gerarMensagem();
 
-        when(mensagemRepository.save(any(Mensagem.class))).thenAnswer(i -> i.getArgument(0));
+        when(mensagemArmazenamento.inserir(any(Mensagem.class))).thenAnswer(i -> i.getArgument(0));
 
         // ACT
         var mensagemRegistrada = mensagemService.registrarMensagem(mensagem);
@@ -69,7 +105,70 @@ class MensagemServiceTest {
         assertThat(mensagemRegistrada.getConteudo()).isEqualTo(mensagem.getConteudo());
         assertThat(mensagemRegistrada.getUsuario()).isEqualTo(mensagem.getUsuario());
         assertThat(mensagem.getId()).isNotNull();
-        verify(mensagemRepository, times(1)).save(any(Mensagem.class));
+        assertThat(mensagem.getId().version()).isEqualTo(7);
+        verify(mensagemArmazenamento, times(1)).inserir(any(Mensagem.class));
+    }
+
+    @Test
+    void devePermitirEnfileirarMensagem() {
+        // ARRANGE
+        var mensagem = MensagemHelper.gerarMensagem();
+
+        when(filaIngestao.enfileirar(any(Mensagem.class))).thenReturn(true);
+
+        // ACT
+        var mensagemAceita = mensagemService.enfileirarMensagem(mensagem);
+
+        // ASSERT
+        assertThat(mensagemAceita.getId()).isNotNull();
+        assertThat(mensagemAceita.getVersao()).isNull();
+        verify(filaIngestao, times(1)).enfileirar(mensagem);
+        verify(mensagemArmazenamento, never()).inserir(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoEnfileirarMensagem_FilaCheia() {
+        // ARRANGE
+        when(filaIngestao.enfileirar(any(Mensagem.class))).thenReturn(false);
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> mensagemService.enfileirarMensagem(MensagemHelper.gerarMensagem()))
+                .isInstanceOf(FilaIngestaoCheiaException.class);
+    }
+
+    @Test
+    void devePermitirBuscarMensagem_AindaNaFilaDeIngestao() {
+        // ARRANGE
+        var id = UUID.randomUUID();
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(id);
+
+        when(filaIngestao.pendente(id)).thenReturn(Optional.of(mensagem));
+
+        // ACT
+        var mensagemObtida = mensagemService.buscarMensagem(id);
+
+        // ASSERT
+        assertThat(mensagemObtida).isEqualTo(mensagem);
+        verify(mensagemArmazenamento, never()).buscarNaPrimaria(any(UUID.class));
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote() {
+        // ARRANGE
+        var mensagens = List.of(MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem());
+        var resultados = List.of(
+                ResultadoLote.registrado(0, UUID.randomUUID()),
+                ResultadoLote.registrado(1, UUID.randomUUID()));
+
+        when(registroEmLote.registrar(mensagens)).thenReturn(resultados);
+
+        // ACT
+        var resultadosObtidos = mensagemService.registrarMensagens(mensagens);
+
+        // ASSERT
+        assertThat(resultadosObtidos).isEqualTo(resultados);
+        verify(mensagemArmazenamento, never()).inserir(any(Mensagem.class));
     }
 
     @Test
@@ -80,14 +179,71 @@ class MensagemServiceTest {
         var mensagem = MensagemHelper.gerarMensagem();
 
         mensagem.setId(id);
-        when(mensagemRepository.findById(id)).thenReturn(Optional.of(mensagem));
+        when(mensagemArmazenamento.buscarNaPrimaria(id)).thenReturn(Optional.of(mensagem));
+
+        // ACT
+        var mensagemRecebida = mensagemService.buscarMensagem(id);
+
+        // ASSERT
+        assertThat(mensagemRecebida).isEqualTo(mensagem);
+        verify(mensagemArmazenamento, times(1)).buscarNaPrimaria(any(UUID.class));
+    }
+
+    @Test
+    @Severity(SeverityLevel.CRITICAL)
+    void devePermitirBuscarMensagens_SemConsultarBancoNovamente() {
+        // ARRANGE
+        var id = UUID.fromString("5d4a0e3a-56d4-4a5c-9b0e-3f3f1e1f7c21");
+        var mensagem = MensagemHelper.gerarMensagem();
+
+        mensagem.setId(id);
+        when(mensagemArmazenamento.buscarNaPrimaria(id)).thenReturn(Optional.of(mensagem));
 
         // ACT
+        mensagemService.buscarMensagem(id);
         var mensagemRecebida = mensagemService.buscarMensagem(id);
 
         // ASSERT
         assertThat(mensagemRecebida).isEqualTo(mensagem);
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
+        verify(mensagemArmazenamento, times(1)).buscarNaPrimaria(any(UUID.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void devePermitirRegistrarMensagemComIdempotencyKey_SemPassarPelaFila_QuandoIngestaoAssincrona() {
+        // ARRANGE
+        var mensagem = MensagemHelper.gerarMensagem();
+
+        when(filaIngestao.isRunning()).thenReturn(true);
+        when(mensagemArmazenamento.inserir(any(Mensagem.class))).thenAnswer(i -> i.getArgument(0));
+        when(indiceIdempotencia.executar(eq("chave-1"), any(Mensagem.class), any(Supplier.class), any(Function.class)))
+                .thenAnswer(i -> new RespostaIdempotente(i.<Supplier<Mensagem>>getArgument(2).get(), false));
+
+        // ACT
+        var resposta = mensagemService.registrarMensagem(mensagem, "chave-1");
+
+        // ASSERT
+        assertThat(resposta.repetida()).isFalse();
+        assertThat(resposta.mensagem().getId()).isNotNull();
+        verify(mensagemArmazenamento, times(1)).inserir(any(Mensagem.class));
+        verify(filaIngestao, never()).enfileirar(any(Mensagem.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveGerarExcecao_QuandoRepetirIdempotencyKey_MensagemRemovida() {
+        // ARRANGE
+        var id = UUID.fromString("0c9d8e7f-6a5b-4c3d-8e2f-1a0b9c8d7e6f");
+
+        when(indiceIdempotencia.executar(eq("chave-1"), any(Mensagem.class), any(Supplier.class), any(Function.class)))
+                .thenAnswer(i -> new RespostaIdempotente(
+                        i.<Function<UUID, Mensagem>>getArgument(3).apply(id), true));
+        when(mensagemArmazenamento.buscarNaPrimaria(id)).thenReturn(Optional.empty());
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> mensagemService.registrarMensagem(MensagemHelper.gerarMensagem(), "chave-1"))
+                .isInstanceOf(MensagemRemovidaException.class)
+                .hasMessage("A mensagem registrada com esta Idempotency-Key foi removida");
     }
 
     @Test
@@ -95,12 +251,12 @@ class MensagemServiceTest {
     void deveGerarExcecao_QuandoBuscarMensagem_IdNaoExiste() {
         var id = UUID.fromString("b55fda17-8192-4d05-be22-8f66ecb1af54");
 
-        when(mensagemRepository.findById(id)).thenReturn(Optional.empty());
+        when(mensagemArmazenamento.buscarNaPrimaria(id)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> mensagemService.buscarMensagem(id))
                 .isInstanceOf(MensagemNotFoundException.class)
                 .hasMessage("Mensagem não encontrada");
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
+        verify(mensagemArmazenamento, times(1)).buscarNaPrimaria(any(UUID.class));
     }
 
     @Test
@@ -108,16 +264,18 @@ class MensagemServiceTest {
         // ARRANGE
         var id = UUID.fromString("282c928d-1d38-4a31-ae00-189516929909");
 
-        var mensagemAntiga = MensagemHelper.gerarMensagem();
-        mensagemAntiga.setId(id);
-
         var mensagemNova = new Mensagem();
-        mensagemNova.setId(mensagemAntiga.getId());
-        mensagemNova.setUsuario(mensagemAntiga.getUsuario());
+        mensagemNova.setId(id);
+        mensagemNova.setUsuario("Bruno");
         mensagemNova.setConteudo("ABCD 12345");
 
-        when(mensagemRepository.findById(id)).thenReturn(Optional.of(mensagemAntiga));
-        when(mensagemRepository.save(any(Mensagem.class))).thenAnswer(i -> i.getArgument(0));
+        var mensagemGravada = MensagemHelper.gerarMensagem();
+        mensagemGravada.setId(id);
+        mensagemGravada.setConteudo(mensagemNova.getConteudo());
+        mensagemGravada.setVersao(1L);
+
+        when(mensagemArmazenamento.alterarConteudo(id, mensagemNova.getConteudo(), null))
+                .thenReturn(Optional.of(mensagemGravada));
 
         // ACT
         var mensagemObtida = mensagemService.alterarMensagem(id, mensagemNova);
@@ -127,8 +285,55 @@ class MensagemServiceTest {
         assertThat(mensagemObtida.getId()).isEqualTo(mensagemNova.getId());
         assertThat(mensagemObtida.getUsuario()).isEqualTo(mensagemNova.getUsuario());
         assertThat(mensagemObtida.getConteudo()).isEqualTo(mensagemNova.getConteudo());
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
-        verify(mensagemRepository, times(1)).save(any(Mensagem.class));
+        verify(mensagemArmazenamento, times(1)).alterarConteudo(id, mensagemNova.getConteudo(), null);
+        verify(mensagemArmazenamento, never()).buscarNaPrimaria(any(UUID.class));
+        verify(mensagemArmazenamento, never()).inserir(any(Mensagem.class));
+    }
+
+    @Test
+    void devePermitirAlterarMensagem_NaVersaoInformada_AtualizandoCache() {
+        // ARRANGE
+        var id = UUID.fromString("7a4e0c1b-2d3f-4a5b-8c6d-9e0f1a2b3c4d");
+
+        var mensagemAntiga = MensagemHelper.gerarMensagem();
+        mensagemAntiga.setId(id);
+        mensagemAntiga.setVersao(3L);
+
+        var mensagemNova = mensagemAntiga.toBuilder().conteudo("ABCD 12345").build();
+
+        when(mensagemArmazenamento.buscarNaPrimaria(id)).thenReturn(Optional.of(mensagemAntiga));
+        when(mensagemArmazenamento.alterarConteudo(id, "ABCD 12345", 3L))
+                .thenReturn(Optional.of(mensagemNova.toBuilder().versao(4L).build()));
+        mensagemService.buscarMensagem(id);
+
+        // ACT
+        var mensagemObtida = mensagemService.alterarMensagem(id, mensagemNova);
+
+        // ASSERT
+        assertThat(mensagemObtida.getConteudo()).isEqualTo("ABCD 12345");
+        assertThat(mensagemObtida.getVersao()).isEqualTo(4L);
+        assertThat(mensagemService.buscarMensagem(id).getConteudo()).isEqualTo("ABCD 12345");
+        verify(mensagemArmazenamento, times(1)).buscarNaPrimaria(any(UUID.class));
+        verify(mensagemArmazenamento, times(1)).alterarConteudo(id, "ABCD 12345", 3L);
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoAlterarMensagem_VersaoDesatualizada() {
+        // ARRANGE
+        var id = UUID.fromString("b2c3d4e5-f6a7-4b8c-9d0e-1f2a3b4c5d6e");
+
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(id);
+        mensagem.setVersao(1L);
+
+        when(mensagemArmazenamento.alterarConteudo(id, mensagem.getConteudo(), 1L)).thenReturn(Optional.empty());
+        when(mensagemArmazenamento.existe(id)).thenReturn(true);
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagem))
+                .isInstanceOf(MensagemConflictException.class)
+                .hasMessage("A mensagem foi alterada por outra requisição");
+        verify(mensagemArmazenamento, never()).buscarNaPrimaria(any(UUID.class));
     }
 
     @Test
@@ -139,14 +344,15 @@ class MensagemServiceTest {
         var mensagem = MensagemHelper.gerarMensagem();
         mensagem.setId(id);
 
-        when(mensagemRepository.findById(id)).thenReturn(Optional.empty());
+        when(mensagemArmazenamento.alterarConteudo(id, mensagem.getConteudo(), null)).thenReturn(Optional.empty());
 
         // ACT & ASSERT
         assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagem))
                 .isInstanceOf(MensagemNotFoundException.class)
                 .hasMessage("Mensagem não encontrada");
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
-        verify(mensagemRepository, never()).save(any(Mensagem.class));
+        verify(mensagemArmazenamento, times(1)).alterarConteudo(any(UUID.class), anyString(), isNull());
+        verify(mensagemArmazenamento, never()).buscarNaPrimaria(any(UUID.class));
+        verify(mensagemArmazenamento, never()).inserir(any(Mensagem.class));
     }
 
     @Test
@@ -154,21 +360,16 @@ class MensagemServiceTest {
         // ARRANGE
         var id = UUID.fromString("da0b811b-66ef-439b-8de4-318a758efc00");
 
-        var mensagemAntiga = MensagemHelper.gerarMensagem();
-        mensagemAntiga.setId(id);
-
         var mensagemNova = MensagemHelper.gerarMensagem();
         mensagemNova.setId(UUID.randomUUID());
         mensagemNova.setConteudo("ABCD 123");
 
-        when(mensagemRepository.findById(id)).thenReturn(Optional.of(mensagemAntiga));
-
         // ACT & ASSERT
         assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagemNova))
                 .isInstanceOf(MensagemNotFoundException.class)
-                .hasMessage("Mensagem atualizada não apresenta o ID correto");
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
-        verify(mensagemRepository, never()).save(any(Mensagem.class));
+                .hasMessage("Mensagem atualizada não apresenta o ID correto");
+        verify(mensagemArmazenamento, never()).alterarConteudo(any(UUID.class), anyString(), any());
+        verify(mensagemArmazenamento, never()).inserir(any(Mensagem.class));
     }
 
     @Test
@@ -176,19 +377,39 @@ class MensagemServiceTest {
         // ARRANGE
         var id = UUID.fromString("cb1acf9b-c025-4309-b9d1-f4e240df8810");
 
+        when(mensagemArmazenamento.remover(id, null)).thenReturn(true);
+
+        // ACT
+        var mensagemFoiRemovida = mensagemService.removerMensagem(id);
+
+        // ASSERT
+        assertThat(mensagemFoiRemovida).isTrue();
+        verify(mensagemArmazenamento, times(1)).remover(id, null);
+        verify(mensagemArmazenamento, never()).buscarNaPrimaria(any(UUID.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoBuscarMensagem_AposRemoverMensagem() {
+        // ARRANGE
+        var id = UUID.fromString("0f7d8a55-1b64-4d1e-a2f4-57a8e2a4d3b0");
+
         var mensagem = MensagemHelper.gerarMensagem();
         mensagem.setId(id);
 
-        when(mensagemRepository.findById(id)).thenReturn(Optional.of(mensagem));
-        doNothing().when(mensagemRepository).deleteById(id);
+        when(mensagemArmazenamento.buscarNaPrimaria(id))
+                .thenReturn(Optional.of(mensagem))
+                .thenReturn(Optional.empty());
+        when(mensagemArmazenamento.remover(id, null)).thenReturn(true);
+        mensagemService.buscarMensagem(id);
 
         // ACT
-        var mensagemFoiRemovida = mensagemService.removerMensagem(id);
+        mensagemService.removerMensagem(id);
 
         // ASSERT
-        assertThat(mensagemFoiRemovida).isTrue();
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
-        verify(mensagemRepository, times(1)).deleteById(any(UUID.class));
+        assertThatThrownBy(() -> mensagemService.buscarMensagem(id))
+                .isInstanceOf(MensagemNotFoundException.class)
+                .hasMessage("Mensagem não encontrada");
+        verify(mensagemArmazenamento, times(2)).buscarNaPrimaria(any(UUID.class));
     }
 
     @Test
@@ -196,14 +417,78 @@ class MensagemServiceTest {
         // ARRANGE
         var id = UUID.fromString("21cf771d-4a30-4915-9b7d-c9cacf2e817c");
 
-        when(mensagemRepository.findById(id)).thenReturn(Optional.empty());
+        when(mensagemArmazenamento.remover(id, null)).thenReturn(false);
 
         // ACT & ASSERT
         assertThatThrownBy(() -> mensagemService.removerMensagem(id))
                 .isInstanceOf(MensagemNotFoundException.class)
                 .hasMessage("Mensagem não encontrada");
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
-        verify(mensagemRepository, never()).deleteById(any(UUID.class));
+        verify(mensagemArmazenamento, times(1)).remover(id, null);
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoRemoverMensagem_VersaoDesatualizada() {
+        // ARRANGE
+        var id = UUID.fromString("5d0c6f1e-8a3b-4c7d-9e2f-0a1b2c3d4e5f");
+
+        when(mensagemArmazenamento.remover(id, 2L)).thenReturn(false);
+        when(mensagemArmazenamento.existe(id)).thenReturn(true);
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> mensagemService.removerMensagem(id, 2L))
+                .isInstanceOf(MensagemConflictException.class)
+                .hasMessage("A mensagem foi alterada por outra requisição");
+        verify(mensagemArmazenamento, never()).remover(any(UUID.class), isNull());
+    }
+
+    @Test
+    void devePermitirBuscarMensagens_SomandoGosteiPendente() {
+        // ARRANGE
+        var id = UUID.fromString("c6f1d2a4-8e0b-4f6e-9d3a-2b7c5e1f0a98");
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(id);
+        mensagem.setGostei(10);
+
+        when(mensagemArmazenamento.buscarNaPrimaria(id)).thenReturn(Optional.of(mensagem));
+        when(gosteiAcumulador.pendente(id)).thenReturn(5L);
+
+        // ACT
+        var mensagemRecebida = mensagemService.buscarMensagem(id);
+
+        // ASSERT
+        assertThat(mensagemRecebida.getGostei()).isEqualTo(15);
+        assertThat(mensagem.getGostei()).isEqualTo(10);
+    }
+
+    @Test
+    void devePermitirRegistrarGostei() {
+        // ARRANGE
+        var id = UUID.fromString("4b8e2f71-03a9-4c55-b6de-7a1c9f3e2d10");
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(id);
+
+        when(mensagemArmazenamento.buscarNaPrimaria(id)).thenReturn(Optional.of(mensagem));
+
+        // ACT
+        var mensagemCurtida = mensagemService.registrarGostei(id);
+
+        // ASSERT
+        assertThat(mensagemCurtida.getGostei()).isEqualTo(1);
+        verify(gosteiAcumulador, times(1)).incrementar(id);
+        verify(mensagemArmazenamento, never()).inserir(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoRegistrarGostei_IdNaoExiste() {
+        // ARRANGE
+        var id = UUID.fromString("e1a7c3d9-5b2f-4e80-a6c4-98d0f1b2e3a7");
+
+        when(mensagemArmazenamento.buscarNaPrimaria(id)).thenReturn(Optional.empty());
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> mensagemService.registrarGostei(id))
+                .isInstanceOf(MensagemNotFoundException.class);
+        verify(gosteiAcumulador, never()).incrementar(any(UUID.class));
     }
 
     @Test
@@ -214,7 +499,7 @@ class MensagemServiceTest {
                 MensagemHelper.gerarMensagem()
         ));
 
-        when(mensagemRepository.listarMensagens(any(Pageable.class))).thenReturn(listaDeMensagens);
+        when(mensagemArmazenamento.listarMensagens(any(Pageable.class))).thenReturn(listaDeMensagens);
 
         // ACT
         var resultadoObtido = mensagemService.listarMensagens(Pageable.unpaged());
@@ -228,6 +513,140 @@ class MensagemServiceTest {
                             .isNotNull()
                             .isInstanceOf(Mensagem.class);
                 });
-        verify(mensagemRepository, times(1)).listarMensagens(any(Pageable.class));
+        verify(mensagemArmazenamento, times(1)).listarMensagens(any(Pageable.class));
+    }
+
+    @Test
+    void devePermitirListarMensagensPorCursor() {
+        // ARRANGE
+        var mensagens = List.of(
+                gerarMensagem(LocalDateTime.of(2023, 1, 15, 0, 0, 3)),
+                gerarMensagem(LocalDateTime.of(2023, 1, 15, 0, 0, 2)),
+                gerarMensagem(LocalDateTime.of(2023, 1, 15, 0, 0, 1))
+        );
+
+        when(mensagemArmazenamento.listarMensagens(null, 3)).thenReturn(mensagens);
+
+        // ACT
+        var resultadoObtido = mensagemService.listarMensagens(null, 2);
+
+        // ASSERT
+        assertThat(resultadoObtido.content()).containsExactly(mensagens.get(0), mensagens.get(1));
+        assertThat(resultadoObtido.ultima()).isFalse();
+        assertThat(MensagemCursor.decodificar(resultadoObtido.proximo()))
+                .isEqualTo(MensagemCursor.de(mensagens.get(1)));
+        verify(mensagemArmazenamento, times(1)).listarMensagens(null, 3);
+    }
+
+    @Test
+    void devePermitirListarMensagensPorCursor_AposUltimaMensagemEntregue() {
+        // ARRANGE
+        var cursor = new MensagemCursor(LocalDateTime.of(2023, 1, 15, 0, 0, 2), UUID.randomUUID());
+        var mensagem = gerarMensagem(LocalDateTime.of(2023, 1, 15, 0, 0, 1));
+
+        when(mensagemArmazenamento.listarMensagens(cursor, 3)).thenReturn(List.of(mensagem));
+
+        // ACT
+        var resultadoObtido = mensagemService.listarMensagens(cursor, 2);
+
+        // ASSERT
+        assertThat(resultadoObtido.content()).containsExactly(mensagem);
+        assertThat(resultadoObtido.ultima()).isTrue();
+        assertThat(resultadoObtido.proximo()).isNull();
+        verify(mensagemArmazenamento, times(1)).listarMensagens(cursor, 3);
+        verify(mensagemArmazenamento, never()).listarMensagens(isNull(), anyInt());
+    }
+
+    @Test
+    void devePermitirListarMensagensDoUsuario() {
+        // ARRANGE
+        var resumos = List.of(
+                new MensagemResumo(UUID.randomUUID(), "03", LocalDateTime.of(2023, 1, 15, 0, 0, 3), 0, 0L),
+                new MensagemResumo(UUID.randomUUID(), "02", LocalDateTime.of(2023, 1, 15, 0, 0, 2), 0, 0L),
+                new MensagemResumo(UUID.randomUUID(), "01", LocalDateTime.of(2023, 1, 15, 0, 0, 1), 0, 0L)
+        );
+
+        when(mensagemArmazenamento.listarMensagensDoUsuario(anyString(), isNull(), anyInt())).thenReturn(resumos);
+
+        // ACT
+        var resultadoObtido = mensagemService.listarMensagensDoUsuario("Eva", null, 2);
+
+        // ASSERT
+        assertThat(resultadoObtido.content()).containsExactly(resumos.get(0), resumos.get(1));
+        assertThat(resultadoObtido.ultima()).isFalse();
+        assertThat(MensagemCursor.decodificar(resultadoObtido.proximo()))
+                .isEqualTo(MensagemCursor.de(resumos.get(1)));
+        verify(mensagemArmazenamento, times(1)).listarMensagensDoUsuario("Eva", null, 3);
+        verify(mensagemArmazenamento, never()).listarMensagens(any(), anyInt());
+    }
+
+    @Test
+    void devePermitirBuscarMensagens() {
+        // ARRANGE
+        var mensagens = List.of(
+                gerarMensagem(LocalDateTime.of(2023, 1, 15, 0, 0, 3)),
+                gerarMensagem(LocalDateTime.of(2023, 1, 15, 0, 0, 2)),
+                gerarMensagem(LocalDateTime.of(2023, 1, 15, 0, 0, 1))
+        );
+        mensagens.forEach(mensagem -> mensagem.setId(UUID.randomUUID()));
+
+        when(mensagemArmazenamento.buscar("teste", null, 3)).thenReturn(List.of(
+                new MensagemArmazenamento.Encontrada(mensagens.get(0), 0.9f),
+                new MensagemArmazenamento.Encontrada(mensagens.get(1), 0.5f),
+                new MensagemArmazenamento.Encontrada(mensagens.get(2), 0.1f)));
+
+        // ACT
+        var resultadoObtido = mensagemService.buscarMensagens(" teste ", null, 2);
+
+        // ASSERT
+        assertThat(resultadoObtido.content()).containsExactly(mensagens.get(0), mensagens.get(1));
+        assertThat(resultadoObtido.ultima()).isFalse();
+        assertThat(BuscaCursor.decodificar(resultadoObtido.proximo()))
+                .isEqualTo(new BuscaCursor(0.5f, mensagens.get(1).getId()));
+        verify(mensagemArmazenamento, times(1)).buscar("teste", null, 3);
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoBuscarMensagens_TermoVazio() {
+        // ACT & ASSERT
+        assertThatThrownBy(() -> mensagemService.buscarMensagens("  ", null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("O termo de busca não pode estar vazio");
+        verifyNoInteractions(mensagemArmazenamento);
+    }
+
+    @Test
+    void devePermitirListarMensagensSemContagem() {
+        // ARRANGE
+        var fatia = new SliceImpl<>(List.of(MensagemHelper.gerarMensagem()), Pageable.ofSize(1), true);
+
+        when(mensagemArmazenamento.listarMensagensSemContagem(any(Pageable.class))).thenReturn(fatia);
+
+        // ACT
+        var resultadoObtido = mensagemService.listarMensagensSemContagem(Pageable.ofSize(1));
+
+        // ASSERT
+        assertThat(resultadoObtido.getContent()).hasSize(1);
+        assertThat(resultadoObtido.hasNext()).isTrue();
+        verify(mensagemArmazenamento, times(1)).listarMensagensSemContagem(any(Pageable.class));
+        verify(mensagemArmazenamento, never()).estimarTotalMensagens();
+        verify(mensagemArmazenamento, never()).listarMensagens(any(Pageable.class));
+    }
+
+    @Test
+    void devePermitirObterTotalMensagensAproximado() {
+        when(totalMensagensAproximado.obter()).thenReturn(OptionalLong.of(42));
+
+        var resultadoObtido = mensagemService.totalMensagensAproximado();
+
+        assertThat(resultadoObtido).hasValue(42);
+        verify(mensagemArmazenamento, never()).estimarTotalMensagens();
+    }
+
+    private Mensagem gerarMensagem(LocalDateTime dataCriacaoMensagem) {
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UUID.randomUUID());
+        mensagem.setDataCriacaoMensagem(dataCriacaoMensagem);
+        return mensagem;
     }
 }
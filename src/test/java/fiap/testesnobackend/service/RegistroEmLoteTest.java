@@ -0,0 +1,108 @@
+package fiap.testesnobackend.service;
+
+import fiap.testesnobackend.model.Mensagem;
+import fiap.testesnobackend.model.ResultadoLote;
+import fiap.testesnobackend.repository.MensagemArmazenamento;
+import fiap.testesnobackend.utils.MensagemHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Bruno Gomes Damascena dos santos (bruno-gds) < brunog.damascena@gmail.com >
+ * Date: 18/10/2026
+ * Project Name: testes-no-backend
+ */
+
+class RegistroEmLoteTest {
+
+    private RegistroEmLote registroEmLote;
+
+    @Mock
+    private MensagemArmazenamento mensagemArmazenamento;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        registroEmLote = new RegistroEmLote(mensagemArmazenamento, new GeradorDeIdUuidV7(), 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    void devePermitirRegistrarMensagens_EmTransacoesLimitadas() {
+        // ARRANGE
+        var mensagens = List.of(
+                MensagemHelper.gerarMensagem(),
+                MensagemHelper.gerarMensagem(),
+                MensagemHelper.gerarMensagem());
+
+        // ACT
+        var resultados = registroEmLote.registrar(mensagens);
+
+        // ASSERT
+        assertThat(resultados)
+                .hasSize(3)
+                .allSatisfy(resultado -> {
+                    assertThat(resultado.status()).isEqualTo(201);
+                    assertThat(resultado.id()).isNotNull();
+                });
+        assertThat(resultados).extracting(ResultadoLote::indice).containsExactly(0, 1, 2);
+        verify(mensagemArmazenamento, times(2)).inserirEmLote(anyList());
+    }
+
+    @Test
+    void deveRejeitarMensagemInvalida_SemAfetarAsDemais() {
+        // ARRANGE
+        var mensagemInvalida = new Mensagem();
+        var mensagens = new ArrayList<Mensagem>();
+        mensagens.add(MensagemHelper.gerarMensagem());
+        mensagens.add(mensagemInvalida);
+        mensagens.add(null);
+
+        // ACT
+        var resultados = registroEmLote.registrar(mensagens);
+
+        // ASSERT
+        assertThat(resultados.get(0).status()).isEqualTo(201);
+        assertThat(resultados.get(1).status()).isEqualTo(400);
+        assertThat(resultados.get(1).erro()).isEqualTo("O usuário não pode estar vazio");
+        assertThat(resultados.get(2).status()).isEqualTo(400);
+        assertThat(mensagemInvalida.getId()).isNull();
+        verify(mensagemArmazenamento, times(1)).inserirEmLote(List.of(mensagens.get(0)));
+    }
+
+    @Test
+    void deveReportarFalha_ApenasDaTransacaoQueFalhou() {
+        // ARRANGE
+        var mensagens = List.of(
+                MensagemHelper.gerarMensagem(),
+                MensagemHelper.gerarMensagem(),
+                MensagemHelper.gerarMensagem());
+
+        doThrow(new DataIntegrityViolationException("falha"))
+                .doNothing()
+                .when(mensagemArmazenamento).inserirEmLote(anyList());
+
+        // ACT
+        var resultados = registroEmLote.registrar(mensagens);
+
+        // ASSERT
+        assertThat(resultados).extracting(ResultadoLote::status).containsExactly(500, 500, 201);
+    }
+}
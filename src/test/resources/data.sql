@@ -1,6 +1,6 @@
 INSERT INTO MENSAGEM
-    (ID, USUARIO, CONTEUDO, DATA_CRIACAO_MENSAGEM, GOSTEI)
+    (ID, USUARIO, CONTEUDO, DATA_CRIACAO_MENSAGEM, GOSTEI, VERSAO)
 VALUES
-    ('22940b60-002f-466c-871b-6b134d0e288c', 'Adam', 'Conteudo da mensagem 01', '2023-01-15 00:00:00.10000', 0),
-    ('59502d64-c3f7-41c3-a74c-8cfcbf0ea893', 'Eva', 'Conteudo da mensagem 02', '2023-01-15 00:00:00.20000', 0),
-    ('97e1b03e-e0e0-4c2b-bca8-840e2110a385', 'John', 'Conteudo da mensagem 03', '2023-01-15 00:00:00.30000', 0);
\ No newline at end of file
+    ('22940b60-002f-466c-871b-6b134d0e288c', 'Adam', 'Conteudo da mensagem 01', '2023-01-15 00:00:00.10000', 0, 0),
+    ('59502d64-c3f7-41c3-a74c-8cfcbf0ea893', 'Eva', 'Conteudo da mensagem 02', '2023-01-15 00:00:00.20000', 0, 0),
+    ('97e1b03e-e0e0-4c2b-bca8-840e2110a385', 'John', 'Conteudo da mensagem 03', '2023-01-15 00:00:00.30000', 0, 0);
\ No newline at end of file